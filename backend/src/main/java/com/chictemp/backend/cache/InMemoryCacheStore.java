@@ -0,0 +1,54 @@
+package com.chictemp.backend.cache;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 内存版远程缓存存储，行为与Redis实现一致，用于测试和没有Redis的单机环境
+ */
+public class InMemoryCacheStore implements RemoteCacheStore {
+    private final ConcurrentHashMap<String, Item> items = new ConcurrentHashMap<>();
+
+    @Override
+    public String get(String key) {
+        Item item = items.get(key);
+        if (item == null) {
+            return null;
+        }
+        if (item.expiresAt != 0 && item.expiresAt - System.nanoTime() < 0) {
+            items.remove(key, item);
+            return null;
+        }
+        return item.value;
+    }
+
+    @Override
+    public void set(String key, String value, Duration ttl) {
+        items.put(key, new Item(value, System.nanoTime() + ttl.toNanos()));
+    }
+
+    @Override
+    public void delete(String key) {
+        items.remove(key);
+    }
+
+    @Override
+    public long increment(String key) {
+        Item updated = items.compute(key, (k, item) -> {
+            long current = item != null && item.value != null ? Long.parseLong(item.value) : 0;
+            return new Item(String.valueOf(current + 1), 0);
+        });
+        return Long.parseLong(updated.value);
+    }
+
+    private static final class Item {
+        private final String value;
+        // 0 表示永不过期
+        private final long expiresAt;
+
+        private Item(String value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.chictemp.backend.cache;
+
+import java.time.Duration;
+
+/**
+ * 远程（二级）缓存存储，值统一为JSON字符串
+ * 生产环境由Redis实现，测试和单机调试可使用 InMemoryCacheStore
+ */
+public interface RemoteCacheStore {
+
+    /**
+     * 获取缓存值，不存在返回null
+     */
+    String get(String key);
+
+    /**
+     * 写入缓存值并设置过期时间
+     */
+    void set(String key, String value, Duration ttl);
+
+    /**
+     * 删除缓存值
+     */
+    void delete(String key);
+
+    /**
+     * 原子自增计数，key不存在时从0开始
+     * @return 自增后的值
+     */
+    long increment(String key);
+}
@@ -1,15 +1,19 @@
 package com.chictemp.backend.config;
 
-import org.springframework.cache.annotation.EnableCaching;
+import com.chictemp.backend.cache.RedisCacheStore;
+import com.chictemp.backend.cache.RemoteCacheStore;
+import com.chictemp.backend.ratelimit.RateLimitStore;
+import com.chictemp.backend.ratelimit.RedisRateLimitStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
-//@Configuration
-//@EnableCaching
+@Configuration
 public class RedisConfig {
 //    @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory factory) {
@@ -22,4 +26,22 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
-}
\ No newline at end of file
+
+    /**
+     * 二级缓存，只有配置 blog.cache.redis.enabled=true 时才启用Redis
+     */
+    @Bean
+    @ConditionalOnProperty(name = "blog.cache.redis.enabled", havingValue = "true")
+    public RemoteCacheStore redisCacheStore(StringRedisTemplate stringRedisTemplate) {
+        return new RedisCacheStore(stringRedisTemplate);
+    }
+
+    /**
+     * 多节点共享的摘要限流令牌桶，只有配置 summary.rate-limit.redis.enabled=true 时才启用
+     */
+    @Bean
+    @ConditionalOnProperty(name = "summary.rate-limit.redis.enabled", havingValue = "true")
+    public RateLimitStore redisRateLimitStore(StringRedisTemplate stringRedisTemplate) {
+        return new RedisRateLimitStore(stringRedisTemplate);
+    }
+}
@@ -0,0 +1,59 @@
+package com.chictemp.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 摘要生成专用线程池，调用DeepSeek API的阻塞请求在这里执行，不占用Web请求线程
+ */
+@Configuration
+public class SummaryExecutorConfig {
+
+    /**
+     * 摘要线程，队列有界：队列满时拒绝新任务，流式摘要提示服务繁忙，同步摘要回退到本地摘要
+     */
+    @Bean(name = "summaryExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService summaryExecutor(@Value("${summary.executor.threads:8}") int threads,
+                                           @Value("${summary.executor.queue-capacity:100}") int queueCapacity) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), namedThreads("summary-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 异步摘要任务的工作线程，队列有界：队列满时任务留在数据库中，由定时任务稍后投递
+     */
+    @Bean(name = "summaryJobExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService summaryJobExecutor(@Value("${summary.jobs.threads:4}") int threads,
+                                              @Value("${summary.jobs.queue-capacity:100}") int queueCapacity) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), namedThreads("summary-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 长文分段摘要的段摘要线程，与摘要线程池分开，避免分段任务在摘要线程池里互相等待
+     */
+    @Bean(name = "summaryChunkExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService summaryChunkExecutor(@Value("${deepseek.chunk.concurrency:4}") int threads) {
+        return Executors.newFixedThreadPool(threads, namedThreads("summary-chunk-"));
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,11 +1,19 @@
 package com.chictemp.backend.config;
 
+import com.chictemp.backend.ratelimit.SummaryRateLimitInterceptor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
+    private final SummaryRateLimitInterceptor summaryRateLimitInterceptor;
+
+    public WebConfig(SummaryRateLimitInterceptor summaryRateLimitInterceptor) {
+        this.summaryRateLimitInterceptor = summaryRateLimitInterceptor;
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
@@ -14,4 +22,13 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(true);
     }
+
+    /**
+     * 会调用DeepSeek API的摘要接口需要限流
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(summaryRateLimitInterceptor)
+                .addPathPatterns("/api/summary/**");
+    }
 }
\ No newline at end of file
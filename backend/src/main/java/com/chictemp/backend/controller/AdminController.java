@@ -0,0 +1,84 @@
+package com.chictemp.backend.controller;
+
+import com.chictemp.backend.dto.ApiResponse;
+import com.chictemp.backend.dto.BackfillStatus;
+import com.chictemp.backend.service.SearchService;
+import com.chictemp.backend.service.SummaryBackfillService;
+import com.chictemp.backend.service.TagService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 管理操作接口，/admin/** 需要ADMIN角色
+ */
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+    private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
+
+    @Autowired
+    private SummaryBackfillService summaryBackfillService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private TagService tagService;
+
+    /**
+     * 开始或继续为缺少摘要的文章批量生成摘要
+     */
+    @PostMapping("/summary/backfill/start")
+    public ApiResponse<BackfillStatus> startBackfill() {
+        try {
+            return ApiResponse.success(summaryBackfillService.start(), "摘要补全已开始");
+        } catch (Exception e) {
+            return ApiResponse.error("启动摘要补全失败: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/summary/backfill/stop")
+    public ApiResponse<BackfillStatus> stopBackfill() {
+        try {
+            return ApiResponse.success(summaryBackfillService.stop(), "摘要补全将在当前批次完成后停止");
+        } catch (Exception e) {
+            return ApiResponse.error("停止摘要补全失败: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/summary/backfill")
+    public ApiResponse<BackfillStatus> backfillStatus() {
+        try {
+            return ApiResponse.success(summaryBackfillService.status());
+        } catch (Exception e) {
+            return ApiResponse.error("获取摘要补全进度失败: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/posts/search/rebuild")
+    public ApiResponse<Integer> rebuildSearchIndex() {
+        try {
+            logger.info("重建检索索引");
+            return ApiResponse.success(searchService.rebuild());
+        } catch (Exception e) {
+            logger.error("重建检索索引失败", e);
+            return ApiResponse.error("重建检索索引失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 按文章标签关联重新统计标签的文章数
+     */
+    @PostMapping("/tags/repair-counts")
+    public ApiResponse<Integer> repairTagPostCounts() {
+        try {
+            logger.info("修复标签文章数");
+            return ApiResponse.success(tagService.repairPostCounts());
+        } catch (Exception e) {
+            logger.error("修复标签文章数失败", e);
+            return ApiResponse.error("修复标签文章数失败: " + e.getMessage());
+        }
+    }
+}
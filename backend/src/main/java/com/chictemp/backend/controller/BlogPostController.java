@@ -1,12 +1,17 @@
 package com.chictemp.backend.controller;
 
 import com.chictemp.backend.dto.ApiResponse;
+import com.chictemp.backend.dto.BlogPostCard;
 import com.chictemp.backend.dto.BlogPostRequest;
+import com.chictemp.backend.dto.CursorPage;
 import com.chictemp.backend.dto.MusicPostResponse;
+import com.chictemp.backend.dto.SearchResult;
 import com.chictemp.backend.entity.BlogPost;
 import com.chictemp.backend.entity.MusicBlog;
 import com.chictemp.backend.service.BlogPostService;
 import com.chictemp.backend.service.MusicBlogService;
+import com.chictemp.backend.service.RecommendService;
+import com.chictemp.backend.service.SearchService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,11 +31,18 @@ public class BlogPostController {
     @Autowired
     private MusicBlogService musicBlogService;
 
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private RecommendService recommendService;
+
     @GetMapping
-    public ApiResponse<List<BlogPost>> getAll() {
+    public ApiResponse<List<BlogPostCard>> getAll(@RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer limit) {
         try {
-            logger.info("获取所有博客");
-            return ApiResponse.success(blogPostService.findAll());
+            logger.info("获取博客列表, cursor={}, limit={}", cursor, limit);
+            return ApiResponse.page(blogPostService.findAll(cursor, limit));
         } catch (Exception e) {
             logger.error("获取所有博客失败", e);
             return ApiResponse.error("获取博客列表失败: " + e.getMessage());
@@ -127,35 +139,52 @@ public class BlogPostController {
     }
 
     @GetMapping("/author/{authorId}")
-    public ApiResponse<List<BlogPost>> getByAuthorId(@PathVariable Integer authorId) {
-        return ApiResponse.success(blogPostService.findByAuthorId(authorId));
+    public ApiResponse<List<BlogPostCard>> getByAuthorId(@PathVariable Integer authorId,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer limit) {
+        try {
+            return ApiResponse.page(blogPostService.findByAuthorId(authorId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.error(e.getMessage());
+        }
     }
 
     @GetMapping("/tag/{tagId}")
-    public ApiResponse<List<BlogPost>> getByTagId(@PathVariable Integer tagId) {
-        return ApiResponse.success(blogPostService.findByTagId(tagId));
+    public ApiResponse<List<BlogPostCard>> getByTagId(@PathVariable Integer tagId,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer limit) {
+        try {
+            return ApiResponse.page(blogPostService.findByTagId(tagId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.error(e.getMessage());
+        }
     }
 
     @GetMapping("/type/{contentType}")
-    public ApiResponse<?> getByContentType(@PathVariable String contentType) {
+    public ApiResponse<?> getByContentType(@PathVariable String contentType,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer limit) {
         try {
             logger.info("获取特定类型的内容: contentType=" + contentType);
             
             // 如果是音乐类型，优先使用music_blogs表
             if ("music".equalsIgnoreCase(contentType)) {
                 logger.info("查询music_blogs表获取音乐数据");
-                List<MusicBlog> musicBlogs = musicBlogService.findAll();
-                if (musicBlogs != null && !musicBlogs.isEmpty()) {
-                    List<MusicPostResponse> musicPosts = musicBlogService.convertToMusicPostResponse(musicBlogs);
+                CursorPage<MusicBlog> musicPage = musicBlogService.findCards(cursor, limit);
+                // 翻到最后一页之后也是空页，只有music_blogs表本身为空时才改查博客表
+                if (!musicPage.getItems().isEmpty()
+                        || (cursor != null && !musicBlogService.findCards(null, 1).getItems().isEmpty())) {
+                    List<MusicPostResponse> musicPosts = musicBlogService.convertToMusicPostResponse(musicPage.getItems());
                     logger.info("从music_blogs表转换数据成功，条数: " + musicPosts.size());
-                    return ApiResponse.success(musicPosts);
+                    return ApiResponse.page(new CursorPage<>(musicPosts, musicPage.getNext()));
                 }
                 
                 logger.info("music_blogs表为空，尝试从传统博客表获取");
             }
             
             // 获取博客表中的数据
-            List<BlogPost> posts = blogPostService.findByContentType(contentType);
+            CursorPage<BlogPostCard> page = blogPostService.findByContentType(contentType, cursor, limit);
+            List<BlogPostCard> posts = page.getItems();
             logger.info("从博客表获取到的数据数量: " + posts.size());
             
             // 如果是音乐类型，需要手动转换为MusicPostResponse格式
@@ -167,7 +196,8 @@ public class BlogPostController {
                     MusicPostResponse response = new MusicPostResponse();
                     response.setId(post.getId().toString());
                     response.setTitle(post.getTitle());
-                    response.setContent(post.getContent());
+                    // 列表不加载正文，使用摘要代替
+                    response.setContent(post.getSummary());
                     response.setCover_image_url(post.getAlbumImageUrl() != null ? 
                                                post.getAlbumImageUrl() : post.getCoverImageUrl());
                     response.setCoverImageUrl(response.getCover_image_url());
@@ -184,26 +214,38 @@ public class BlogPostController {
                     return response;
                 }).collect(Collectors.toList());
                 
-                return ApiResponse.success(musicPosts);
+                return ApiResponse.page(new CursorPage<>(musicPosts, page.getNext()));
             }
             
             // 其他类型返回原始格式
-            return ApiResponse.success(posts);
+            return ApiResponse.page(page);
         } catch (Exception e) {
             logger.error("获取特定类型内容失败: contentType=" + contentType, e);
             return ApiResponse.error("获取内容失败: " + e.getMessage());
         }
     }
 
+    @GetMapping("/search")
+    public ApiResponse<SearchResult> search(@RequestParam("q") String query,
+                                            @RequestParam(defaultValue = "1") Integer page,
+                                            @RequestParam(defaultValue = "10") Integer size) {
+        try {
+            logger.info("检索博客, q={}, page={}, size={}", query, page, size);
+            return ApiResponse.success(searchService.search(query, page, size));
+        } catch (Exception e) {
+            logger.error("检索博客失败, q={}", query, e);
+            return ApiResponse.error("检索失败: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/recommend")
-    public ApiResponse<List<BlogPost>> getRecommendPosts(@RequestParam(defaultValue = "5") Integer limit) {
+    public ApiResponse<List<BlogPostCard>> getRecommendPosts(@RequestParam(required = false) Integer postId,
+                                                             @RequestParam(defaultValue = "5") Integer limit) {
         try {
-            logger.info("获取推荐博客, limit={}", limit);
-            // 简单实现：返回最新的几篇文章作为推荐
-            List<BlogPost> posts = blogPostService.findAll();
-            // 限制返回数量
-            int size = Math.min(limit, posts.size());
-            return ApiResponse.success(posts.subList(0, size));
+            logger.info("获取推荐博客, postId={}, limit={}", postId, limit);
+            // 推荐结果已预先计算，这里只按ID取卡片
+            List<Integer> ids = recommendService.recommend(postId, limit);
+            return ApiResponse.success(blogPostService.findCardsByIds(ids));
         } catch (Exception e) {
             logger.error("获取推荐博客失败", e);
             return ApiResponse.error("获取推荐博客列表失败: " + e.getMessage());
@@ -251,8 +293,8 @@ public class BlogPostController {
         try {
             logger.info("增加文章浏览量, id={}", id);
             // 调用服务层方法增加浏览量
-            Integer newViewCount = blogPostService.incrementViewCount(id);
-            logger.info("文章浏览量已增加, id={}, 新浏览量={}", id, newViewCount);
+            Integer pendingViews = blogPostService.incrementViewCount(id);
+            logger.info("文章浏览量已记录, id={}, 待写入浏览量={}", id, pendingViews);
             return ApiResponse.success(true);
         } catch (Exception e) {
             logger.error("增加文章浏览量失败, id={}", id, e);
@@ -157,6 +157,10 @@ public class MovieController {
             response.put("success", true);
             response.put("message", "浏览量增加成功");
             return ResponseEntity.ok(response);
+        } else if (result == 0) {
+            response.put("success", false);
+            response.put("message", "浏览量暂时无法记录");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
         } else {
             response.put("success", false);
             response.put("message", "电影不存在");
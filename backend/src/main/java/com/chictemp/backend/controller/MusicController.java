@@ -24,7 +24,7 @@ public class MusicController {
     public ApiResponse<List<MusicPostResponse>> getMusicForPage() {
         try {
             logger.info("获取所有音乐博客给前端页面");
-            List<MusicBlog> blogs = musicBlogService.findAll();
+            List<MusicBlog> blogs = musicBlogService.findAllCards();
             
             if (blogs == null || blogs.isEmpty()) {
                 logger.info("没有找到任何音乐博客数据");
@@ -45,7 +45,7 @@ public class MusicController {
     public ApiResponse<List<MusicPostResponse>> getAllMusic() {
         try {
             logger.info("获取所有音乐博客");
-            List<MusicBlog> blogs = musicBlogService.findAll();
+            List<MusicBlog> blogs = musicBlogService.findAllCards();
             List<MusicPostResponse> response = musicBlogService.convertToMusicPostResponse(blogs);
             logger.info("成功获取音乐博客，数量: " + response.size());
             return ApiResponse.success(response);
@@ -127,8 +127,8 @@ public class MusicController {
     public ApiResponse<Boolean> incrementViewCount(@PathVariable Integer id) {
         try {
             logger.info("增加音乐博客浏览量, id=" + id);
-            Integer newViewCount = musicBlogService.incrementViewCount(id);
-            logger.info("音乐博客浏览量已增加, id=" + id + ", 新浏览量=" + newViewCount);
+            Integer pendingViews = musicBlogService.incrementViewCount(id);
+            logger.info("音乐博客浏览量已记录, id=" + id + ", 待写入浏览量=" + pendingViews);
             return ApiResponse.success(true);
         } catch (Exception e) {
             logger.log(Level.SEVERE, "增加音乐博客浏览量失败, id=" + id + ", 错误: " + e.getMessage(), e);
@@ -1,10 +1,17 @@
 package com.chictemp.backend.controller;
 
+import com.chictemp.backend.dto.ApiResponse;
+import com.chictemp.backend.entity.SummaryJob;
 import com.chictemp.backend.service.DeepSeekService;
+import com.chictemp.backend.service.SummaryJobService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
 
@@ -17,6 +24,9 @@ public class SummaryController {
     @Autowired
     private DeepSeekService deepSeekService;
 
+    @Autowired
+    private SummaryJobService summaryJobService;
+
     @PostMapping("/generate")
     public String generateSummary(@RequestBody Map<String, Object> request) {
         String content = (String) request.get("content");
@@ -37,6 +47,60 @@ public class SummaryController {
         }
     }
     
+    /**
+     * 流式生成摘要，收到一段模型输出就推送一段；长度不合法时直接返回400，不建立SSE连接
+     */
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSummary(@RequestBody Map<String, Object> request) {
+        String content = (String) request.get("content");
+        Object maxLength = request.get("maxLength");
+        int length = maxLength instanceof Number ? ((Number) maxLength).intValue() : 30;
+        if (length <= 0 || length > SummaryJobService.MAX_SUMMARY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "摘要长度需在1到" + SummaryJobService.MAX_SUMMARY_LENGTH + "之间");
+        }
+        logger.info("收到流式摘要请求，内容长度: {} 字符，最大摘要长度: {}",
+                content != null ? content.length() : 0, length);
+        return deepSeekService.streamSummary(content, length);
+    }
+
+    /**
+     * 创建异步摘要任务，立即返回任务id，通过轮询或订阅获取结果
+     */
+    @PostMapping("/jobs")
+    public ApiResponse<SummaryJob> createJob(@RequestBody Map<String, Object> request) {
+        try {
+            String content = (String) request.get("content");
+            Object maxLength = request.get("maxLength");
+            SummaryJob job = summaryJobService.submit(content,
+                    maxLength instanceof Number ? ((Number) maxLength).intValue() : null);
+            return ApiResponse.success(job, "任务已创建");
+        } catch (Exception e) {
+            return ApiResponse.error("创建摘要任务失败: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ApiResponse<SummaryJob> getJob(@PathVariable String id) {
+        try {
+            SummaryJob job = summaryJobService.findById(id);
+            if (job == null) {
+                return ApiResponse.error("任务不存在");
+            }
+            return ApiResponse.success(job);
+        } catch (Exception e) {
+            return ApiResponse.error("获取摘要任务失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 以SSE订阅任务结果，任务结束时推送job事件并关闭连接
+     */
+    @GetMapping(value = "/jobs/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeJob(@PathVariable String id) {
+        return summaryJobService.subscribe(id);
+    }
+    
     // 添加一个简单的测试接口，用于验证连接
     @GetMapping("/test")
     public String testConnection() {
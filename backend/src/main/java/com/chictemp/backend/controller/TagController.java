@@ -2,7 +2,7 @@ package com.chictemp.backend.controller;
 
 import com.chictemp.backend.dto.ApiResponse;
 import com.chictemp.backend.entity.Tag;
-import com.chictemp.backend.mapper.TagMapper;
+import com.chictemp.backend.service.TagService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,7 +16,7 @@ public class TagController {
     private static final Logger logger = LoggerFactory.getLogger(TagController.class);
     
     @Autowired
-    private TagMapper tagMapper;
+    private TagService tagService;
 
     /**
      * 获取所有标签
@@ -25,7 +25,7 @@ public class TagController {
     public ApiResponse<List<Tag>> getAll() {
         try {
             logger.info("获取所有标签");
-            List<Tag> tags = tagMapper.findAll();
+            List<Tag> tags = tagService.findAll();
             return ApiResponse.success(tags);
         } catch (Exception e) {
             logger.error("获取标签列表失败", e);
@@ -40,7 +40,7 @@ public class TagController {
     public ApiResponse<Tag> getById(@PathVariable Integer id) {
         try {
             logger.info("获取标签, id={}", id);
-            Tag tag = tagMapper.findById(id);
+            Tag tag = tagService.findById(id);
             if (tag != null) {
                 return ApiResponse.success(tag);
             } else {
@@ -60,12 +60,11 @@ public class TagController {
         try {
             logger.info("创建标签: {}", tag.getName());
             // 检查是否已存在同名标签
-            Tag existingTag = tagMapper.findByName(tag.getName());
+            Tag existingTag = tagService.findByName(tag.getName());
             if (existingTag != null) {
                 return ApiResponse.error("标签名已存在");
             }
-            tagMapper.insert(tag);
-            return ApiResponse.success(tag);
+            return ApiResponse.success(tagService.create(tag));
         } catch (Exception e) {
             logger.error("创建标签失败", e);
             return ApiResponse.error("创建标签失败: " + e.getMessage());
@@ -79,13 +78,11 @@ public class TagController {
     public ApiResponse<Tag> update(@PathVariable Integer id, @RequestBody Tag tag) {
         try {
             logger.info("更新标签, id={}", id);
-            Tag existingTag = tagMapper.findById(id);
+            Tag existingTag = tagService.findById(id);
             if (existingTag == null) {
                 return ApiResponse.error("标签不存在");
             }
-            tag.setId(id);
-            tagMapper.update(tag);
-            return ApiResponse.success(tag);
+            return ApiResponse.success(tagService.update(id, tag));
         } catch (Exception e) {
             logger.error("更新标签失败, id={}", id, e);
             return ApiResponse.error("更新标签失败: " + e.getMessage());
@@ -99,12 +96,11 @@ public class TagController {
     public ApiResponse<Boolean> delete(@PathVariable Integer id) {
         try {
             logger.info("删除标签, id={}", id);
-            Tag existingTag = tagMapper.findById(id);
+            Tag existingTag = tagService.findById(id);
             if (existingTag == null) {
                 return ApiResponse.error("标签不存在");
             }
-            tagMapper.delete(id);
-            return ApiResponse.success(true);
+            return ApiResponse.success(tagService.delete(id));
         } catch (Exception e) {
             logger.error("删除标签失败, id={}", id, e);
             return ApiResponse.error("删除标签失败: " + e.getMessage());
@@ -118,7 +114,7 @@ public class TagController {
     public ApiResponse<List<Tag>> getPopular(@RequestParam(defaultValue = "10") Integer limit) {
         try {
             logger.info("获取热门标签, limit={}", limit);
-            List<Tag> tags = tagMapper.findPopular(limit);
+            List<Tag> tags = tagService.findPopular(limit);
             return ApiResponse.success(tags);
         } catch (Exception e) {
             logger.error("获取热门标签失败", e);
@@ -133,11 +129,11 @@ public class TagController {
     public ApiResponse<List<Tag>> getByPostId(@PathVariable Integer postId) {
         try {
             logger.info("获取文章标签, postId={}", postId);
-            List<Tag> tags = tagMapper.findByPostId(postId);
+            List<Tag> tags = tagService.findByPostId(postId);
             return ApiResponse.success(tags);
         } catch (Exception e) {
             logger.error("获取文章标签失败, postId={}", postId, e);
             return ApiResponse.error("获取文章标签失败: " + e.getMessage());
         }
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
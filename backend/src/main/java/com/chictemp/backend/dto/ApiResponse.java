@@ -1,7 +1,10 @@
 package com.chictemp.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
+import java.util.List;
+
 @Data
 public class ApiResponse<T> {
     // 状态码，0表示成功，非0表示失败
@@ -10,6 +13,9 @@ public class ApiResponse<T> {
     private String message;
     // 数据
     private T data;
+    // 下一页游标，仅分页接口返回
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String next;
 
     // 成功响应
     public static <T> ApiResponse<T> success(T data) {
@@ -29,6 +35,13 @@ public class ApiResponse<T> {
         return response;
     }
 
+    // 分页成功响应
+    public static <T> ApiResponse<List<T>> page(CursorPage<T> page) {
+        ApiResponse<List<T>> response = success(page.getItems());
+        response.setNext(page.getNext());
+        return response;
+    }
+
     // 错误响应
     public static <T> ApiResponse<T> error(String message) {
         ApiResponse<T> response = new ApiResponse<>();
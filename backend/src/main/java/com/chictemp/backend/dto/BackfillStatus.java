@@ -0,0 +1,18 @@
+package com.chictemp.backend.dto;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class BackfillStatus {
+    // 本实例上是否正在运行
+    private boolean running;
+    // 最近一次保存的进度状态：running, stopped, completed
+    private String status;
+    private Integer lastId;
+    private long processed;
+    private long failed;
+    private LocalDateTime startedAt;
+    // 本次运行的平均吞吐量（篇/分钟）
+    private double postsPerMinute;
+}
@@ -0,0 +1,33 @@
+package com.chictemp.backend.dto;
+
+import com.chictemp.backend.entity.Tag;
+import com.chictemp.backend.entity.User;
+import lombok.Data;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 博客列表卡片，不包含正文content，正文只在详情接口返回
+ */
+@Data
+public class BlogPostCard {
+    private Integer id;
+    private String title;
+    private Integer authorId;
+    private String coverImageUrl;
+    private String summary;
+    private String contentType;
+    private String artistName;
+    private String albumName;
+    private String albumImageUrl;
+    private String contentLink;
+    private Integer viewCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // 非数据库字段
+    private User author;
+    private List<Tag> tags;
+    private Integer likeCount;
+    private Integer commentCount;
+}
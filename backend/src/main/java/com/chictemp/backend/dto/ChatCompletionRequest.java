@@ -0,0 +1,24 @@
+package com.chictemp.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * chat completions请求体，为null的字段不序列化
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChatCompletionRequest(String model,
+                                    List<ChatMessage> messages,
+                                    @JsonProperty("max_tokens") Integer maxTokens,
+                                    Double temperature,
+                                    Boolean stream) {
+
+    /**
+     * 同样内容的流式请求
+     */
+    public ChatCompletionRequest streaming() {
+        return new ChatCompletionRequest(model, messages, maxTokens, temperature, true);
+    }
+}
@@ -0,0 +1,32 @@
+package com.chictemp.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * chat completions响应体，只映射用到的字段，其余字段解析时跳过
+ * 出错时部分服务以200返回error字段
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ChatCompletionResponse(String id, List<Choice> choices, ApiError error) {
+
+    /**
+     * 第一个候选回复的内容，没有时返回null
+     */
+    public String firstContent() {
+        if (choices == null || choices.isEmpty() || choices.get(0).message() == null) {
+            return null;
+        }
+        return choices.get(0).message().content();
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Choice(Integer index, ChatMessage message, @JsonProperty("finish_reason") String finishReason) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record ApiError(String message, String type, String code) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.chictemp.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * chat completions协议中的一条消息，也用作流式响应的delta
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ChatMessage(String role, String content) {
+
+    public static ChatMessage system(String content) {
+        return new ChatMessage("system", content);
+    }
+
+    public static ChatMessage user(String content) {
+        return new ChatMessage("user", content);
+    }
+}
@@ -0,0 +1,16 @@
+package com.chictemp.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    // 当前页数据
+    private List<T> items;
+    // 下一页游标，为null表示没有更多数据
+    private String next;
+}
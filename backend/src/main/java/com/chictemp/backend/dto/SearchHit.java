@@ -0,0 +1,19 @@
+package com.chictemp.backend.dto;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class SearchHit {
+    private Integer id;
+    private String title;
+    private String summary;
+    private String coverImageUrl;
+    private String contentType;
+    private Integer viewCount;
+    private LocalDateTime createdAt;
+    // BM25相关度得分
+    private double score;
+    // 命中片段，匹配词用<em>包裹，其余文本已做HTML转义
+    private String highlight;
+}
@@ -0,0 +1,18 @@
+package com.chictemp.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResult {
+    // 当前页命中结果，按得分降序
+    private List<SearchHit> hits;
+    // 命中文章总数
+    private int total;
+    private int page;
+    private int size;
+}
@@ -0,0 +1,14 @@
+package com.chictemp.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 待写回数据库的浏览量增量
+ */
+@Data
+@AllArgsConstructor
+public class ViewCountDelta {
+    private Integer id;
+    private Long delta;
+}
@@ -0,0 +1,15 @@
+package com.chictemp.backend.entity;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class BackfillCheckpoint {
+    private String name;
+    private Integer lastId; // 已处理到的文章ID，从下一篇继续
+    private String status; // running, stopped, completed
+    private Long processed;
+    private Long failed;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+}
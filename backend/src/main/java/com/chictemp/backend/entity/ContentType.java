@@ -0,0 +1,55 @@
+package com.chictemp.backend.entity;
+
+import java.util.Locale;
+
+/**
+ * 博客内容类型，与 blog_posts.content_type 的ENUM取值一一对应
+ */
+public enum ContentType {
+    BLOG("blog"),
+    BOOK("book"),
+    MOVIE("movie"),
+    MUSIC("music");
+
+    private final String value;
+
+    ContentType(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * 按取值查找，忽略首尾空白和大小写
+     * @return 未知取值返回null
+     */
+    public static ContentType fromValue(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        for (ContentType type : values()) {
+            if (type.value.equals(normalized)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 写入前规范化，为空时默认为blog
+     * @throws IllegalArgumentException 不支持的内容类型
+     */
+    public static String normalize(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return BLOG.value;
+        }
+        ContentType type = fromValue(value);
+        if (type == null) {
+            throw new IllegalArgumentException("不支持的内容类型: " + value);
+        }
+        return type.value;
+    }
+}
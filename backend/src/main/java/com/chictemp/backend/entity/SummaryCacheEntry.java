@@ -0,0 +1,14 @@
+package com.chictemp.backend.entity;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class SummaryCacheEntry {
+    private String cacheKey;
+    private String model;
+    private Integer maxLength;
+    private String summary;
+    private Long latencyMs; // 生成该摘要的耗时（毫秒）
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,20 @@
+package com.chictemp.backend.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class SummaryJob {
+    private String id;
+    private String status; // pending, running, succeeded, failed
+    @JsonIgnore
+    private String content;
+    private Integer maxLength;
+    private String summary;
+    private String error;
+    private Integer attempts;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,28 @@
+package com.chictemp.backend.entity;
+
+/**
+ * 摘要任务状态，与 summary_jobs.status 的ENUM取值一一对应
+ */
+public enum SummaryJobStatus {
+    PENDING("pending"),
+    RUNNING("running"),
+    SUCCEEDED("succeeded"),
+    FAILED("failed");
+
+    private final String value;
+
+    SummaryJobStatus(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * 是否已结束，结束后状态不再变化
+     */
+    public static boolean isFinished(String value) {
+        return SUCCEEDED.value.equals(value) || FAILED.value.equals(value);
+    }
+}
@@ -7,8 +7,6 @@ import java.time.LocalDateTime;
 public class Tag {
     private Integer id;
     private String name;
-    private LocalDateTime createdAt;
-    
-    // 非数据库字段
     private Integer postCount; // 使用该标签的文章数量
+    private LocalDateTime createdAt;
 }
\ No newline at end of file
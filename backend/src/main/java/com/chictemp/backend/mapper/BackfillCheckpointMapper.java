@@ -0,0 +1,14 @@
+package com.chictemp.backend.mapper;
+
+import com.chictemp.backend.entity.BackfillCheckpoint;
+import org.apache.ibatis.annotations.Mapper;
+
+@Mapper
+public interface BackfillCheckpointMapper {
+    BackfillCheckpoint findByName(String name);
+
+    /**
+     * 保存进度，不存在时插入
+     */
+    void upsert(BackfillCheckpoint checkpoint);
+}
@@ -1,17 +1,53 @@
 package com.chictemp.backend.mapper;
 
+import com.chictemp.backend.dto.BlogPostCard;
 import com.chictemp.backend.entity.BlogPost;
+import com.chictemp.backend.util.PageCursor;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import java.util.List;
 
 @Mapper
 public interface BlogPostMapper {
-    List<BlogPost> findAll();
     BlogPost findById(Integer id);
-    List<BlogPost> findByAuthorId(Integer authorId);
-    List<BlogPost> findByTagId(Integer tagId);
-    List<BlogPost> findByContentType(String contentType);
+    
+    /*
+     * 列表查询均按 (created_at, id) 倒序做游标分页，只返回不含正文的卡片
+     * cursor 为 null 时查询第一页，limit 为本次最多返回的行数
+     */
+    List<BlogPostCard> findAll(@Param("cursor") PageCursor cursor, @Param("limit") int limit);
+    List<BlogPostCard> findByAuthorId(@Param("authorId") Integer authorId, @Param("cursor") PageCursor cursor, @Param("limit") int limit);
+    List<BlogPostCard> findByTagId(@Param("tagId") Integer tagId, @Param("cursor") PageCursor cursor, @Param("limit") int limit);
+    // contentType 须为 ContentType 规范化后的取值
+    List<BlogPostCard> findByContentType(@Param("contentType") String contentType, @Param("cursor") PageCursor cursor, @Param("limit") int limit);
+    
+    /**
+     * 按ID批量查询完整文章
+     */
+    List<BlogPost> findByIds(@Param("ids") List<Integer> ids);
+
+    /**
+     * 按ID批量查询文章卡片，不保证顺序
+     */
+    List<BlogPostCard> findCardsByIds(@Param("ids") List<Integer> ids);
+
+    /**
+     * 查询全部文章的ID、浏览量和创建时间，用于推荐排序
+     */
+    List<BlogPost> findRankingStats();
+
+    /**
+     * 按ID升序分批读取完整文章，用于重建检索索引
+     * @param afterId 上一批最后一条的ID，首批传0
+     */
+    List<BlogPost> findBatchAfterId(@Param("afterId") Integer afterId, @Param("limit") int limit);
+
+    /**
+     * 按ID升序查找既没有摘要也没有 post_summaries 记录的文章ID，用于批量补全摘要
+     * @param afterId 上一批最后一条的ID，首批传0
+     */
+    List<Integer> findIdsMissingSummary(@Param("afterId") Integer afterId, @Param("limit") int limit);
+    
     void insert(BlogPost post);
     void update(BlogPost post);
     void delete(Integer id);
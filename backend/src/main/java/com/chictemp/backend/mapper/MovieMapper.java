@@ -64,8 +64,8 @@ public interface MovieMapper {
     @Delete("DELETE FROM movies WHERE id = #{id}")
     int deleteMovie(@Param("id") int id);
     
-    @Update("UPDATE movies SET view_count = view_count + 1 WHERE id = #{id}")
-    int incrementViewCount(@Param("id") int id);
+    @Select("SELECT COUNT(*) FROM movies WHERE id = #{id}")
+    int countById(@Param("id") int id);
     
     @Select("SELECT m.* FROM movies m " +
             "INNER JOIN user_liked_movies ulm ON m.id = ulm.movie_id " +
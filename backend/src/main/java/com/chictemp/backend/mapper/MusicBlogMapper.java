@@ -1,6 +1,7 @@
 package com.chictemp.backend.mapper;
 
 import com.chictemp.backend.entity.MusicBlog;
+import com.chictemp.backend.util.PageCursor;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import java.util.List;
@@ -8,6 +9,16 @@ import java.util.List;
 @Mapper
 public interface MusicBlogMapper {
     List<MusicBlog> findAll();
+    
+    /**
+     * 获取列表卡片，content只截取前200个字符作为摘要
+     */
+    List<MusicBlog> findAllCards();
+
+    /**
+     * 按 (created_at, id) 倒序游标分页获取列表卡片，cursor 为 null 时查询第一页
+     */
+    List<MusicBlog> findCards(@Param("cursor") PageCursor cursor, @Param("limit") int limit);
     MusicBlog findById(Integer id);
     void insert(MusicBlog musicBlog);
     void update(MusicBlog musicBlog);
@@ -3,6 +3,7 @@ package com.chictemp.backend.mapper;
 import com.chictemp.backend.entity.PostTag;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -20,6 +21,20 @@ public interface PostTagMapper {
      */
     void insertRelation(@Param("postId") Integer postId, @Param("tagId") Integer tagId);
     
+    /**
+     * 批量创建博客-标签关联，已存在的关联忽略
+     * @param postId 博客ID
+     * @param tagIds 标签ID
+     */
+    void insertRelations(@Param("postId") Integer postId, @Param("tagIds") Collection<Integer> tagIds);
+    
+    /**
+     * 删除博客的指定标签关联
+     * @param postId 博客ID
+     * @param tagIds 标签ID
+     */
+    void deleteRelations(@Param("postId") Integer postId, @Param("tagIds") Collection<Integer> tagIds);
+    
     /**
      * 删除博客的所有标签关联
      * @param postId 博客ID
@@ -34,4 +49,14 @@ public interface PostTagMapper {
 
     List<PostTag> findByPostId(Integer postId);
     List<PostTag> findByTagId(Integer tagId);
+
+    /**
+     * 批量查询多篇博客的标签关联，只包含post_id和tag_id
+     */
+    List<PostTag> findByPostIds(@Param("postIds") List<Integer> postIds);
+
+    /**
+     * 查询全部博客-标签关联，只包含post_id和tag_id，用于构建推荐模型
+     */
+    List<PostTag> findAllRelations();
 }
\ No newline at end of file
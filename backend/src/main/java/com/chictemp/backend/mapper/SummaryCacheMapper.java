@@ -0,0 +1,14 @@
+package com.chictemp.backend.mapper;
+
+import com.chictemp.backend.entity.SummaryCacheEntry;
+import org.apache.ibatis.annotations.Mapper;
+
+@Mapper
+public interface SummaryCacheMapper {
+    SummaryCacheEntry findByKey(String cacheKey);
+
+    /**
+     * 写入缓存，key已存在时覆盖
+     */
+    void upsert(SummaryCacheEntry entry);
+}
@@ -0,0 +1,40 @@
+package com.chictemp.backend.mapper;
+
+import com.chictemp.backend.entity.SummaryJob;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface SummaryJobMapper {
+    void insert(SummaryJob job);
+
+    SummaryJob findById(String id);
+
+    /**
+     * 按创建时间顺序查询待执行的任务id
+     */
+    List<String> findPendingIds(int limit);
+
+    /**
+     * 领取待执行的任务，多个实例并发领取时只有一个返回1
+     */
+    int markRunning(String id);
+
+    void markSucceeded(@Param("id") String id, @Param("summary") String summary);
+
+    void markFailed(@Param("id") String id, @Param("error") String error);
+
+    /**
+     * 开始时间早于before仍在执行的任务视为已中断，执行次数未用完的重新排队
+     * @return 重新排队的任务数
+     */
+    int requeueStale(@Param("before") LocalDateTime before, @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * 已中断且执行次数用完的任务标记为失败
+     */
+    int failExhausted(@Param("before") LocalDateTime before, @Param("maxAttempts") int maxAttempts);
+}
@@ -2,6 +2,8 @@ package com.chictemp.backend.mapper;
 
 import com.chictemp.backend.entity.Tag;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -16,11 +18,27 @@ public interface TagMapper {
      */
     Tag findById(Integer id);
     
+    /**
+     * 根据多个ID批量获取标签
+     */
+    List<Tag> findByIds(@Param("ids") Collection<Integer> ids);
+    
     /**
      * 根据名称获取标签
      */
     Tag findByName(String name);
     
+    /**
+     * 根据多个名称批量获取标签
+     */
+    List<Tag> findByNames(@Param("names") Collection<String> names);
+    
+    /**
+     * 批量新增标签，已存在的名称忽略
+     * @return 实际插入的行数
+     */
+    int insertIgnoreBatch(@Param("names") Collection<String> names);
+    
     /**
      * 根据博客ID获取标签列表
      */
@@ -42,7 +60,26 @@ public interface TagMapper {
     void delete(Integer id);
     
     /**
-     * 获取热门标签
+     * 获取热门标签，按物化的 post_count 倒序
      */
     List<Tag> findPopular(Integer limit);
+    
+    /**
+     * 批量调整标签的文章数，结果不小于0
+     * @param tagIds 标签ID
+     * @param delta 增量，可为负数
+     */
+    void adjustPostCounts(@Param("tagIds") Collection<Integer> tagIds, @Param("delta") int delta);
+    
+    /**
+     * 按ID升序分批获取标签ID，用于修复任务
+     * @param afterId 上一批最后一个ID，首批传0
+     */
+    List<Integer> findIdsAfter(@Param("afterId") Integer afterId, @Param("limit") int limit);
+    
+    /**
+     * 按 post_tags 重新统计ID区间内标签的文章数
+     * @return 更新的行数
+     */
+    int recountPostCounts(@Param("fromId") Integer fromId, @Param("toId") Integer toId);
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.chictemp.backend.entity.User;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -19,6 +20,13 @@ public interface UserMapper {
      */
     User findByUsername(String username);
     
+    /**
+     * 通过多个用户名批量查找用户
+     * @param usernames 用户名列表
+     * @return 用户列表
+     */
+    List<User> findByUsernames(@Param("usernames") Collection<String> usernames);
+    
     /**
      * 通过用户名和密码查找用户
      * @param username 用户名
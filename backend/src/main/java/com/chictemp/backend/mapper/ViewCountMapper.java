@@ -0,0 +1,17 @@
+package com.chictemp.backend.mapper;
+
+import com.chictemp.backend.dto.ViewCountDelta;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import java.util.List;
+
+@Mapper
+public interface ViewCountMapper {
+    /**
+     * 批量累加浏览量，一条UPDATE语句写入一批增量
+     * @param table 表名，只能来自 ViewCounterService.Target
+     * @param deltas 浏览量增量
+     * @return 受影响的行数
+     */
+    int incrementViewCounts(@Param("table") String table, @Param("deltas") List<ViewCountDelta> deltas);
+}
@@ -0,0 +1,33 @@
+package com.chictemp.backend.ratelimit;
+
+import com.chictemp.backend.cache.LocalCache;
+import com.chictemp.backend.util.TokenBucket;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 进程内令牌桶，按最久未使用淘汰，限制同时跟踪的key数量
+ * 闲置超过存活时间的令牌桶早已回满，丢弃后重建与原状态一致
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+    private final LocalCache<String, TokenBucket> buckets;
+
+    public InMemoryRateLimitStore(int maxKeys, Duration ttl) {
+        this.buckets = new LocalCache<>(maxKeys, ttl);
+    }
+
+    @Override
+    public long tryAcquire(String key, double permitsPerSecond, int burst) {
+        TokenBucket bucket;
+        synchronized (buckets) {
+            bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = new TokenBucket(permitsPerSecond, burst);
+                buckets.put(key, bucket);
+            }
+        }
+        long waitNanos = bucket.tryAcquireOrWait();
+        return waitNanos == 0 ? 0 : Math.max(TimeUnit.NANOSECONDS.toMillis(waitNanos), 1);
+    }
+}
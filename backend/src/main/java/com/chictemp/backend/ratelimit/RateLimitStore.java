@@ -0,0 +1,16 @@
+package com.chictemp.backend.ratelimit;
+
+/**
+ * 令牌桶状态存储，同一个key的令牌桶在所有使用同一存储的节点间共享
+ * 默认使用进程内实现 InMemoryRateLimitStore，多节点部署时由Redis实现
+ */
+public interface RateLimitStore {
+
+    /**
+     * 从key对应的令牌桶取一个令牌，令牌桶不存在时按满桶创建
+     * @param permitsPerSecond 令牌生成速率
+     * @param burst 令牌桶容量
+     * @return 0表示已取得令牌，否则为还需等待的毫秒数
+     */
+    long tryAcquire(String key, double permitsPerSecond, int burst);
+}
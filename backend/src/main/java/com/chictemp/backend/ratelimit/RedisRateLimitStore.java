@@ -0,0 +1,47 @@
+package com.chictemp.backend.ratelimit;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * 基于Redis的令牌桶，取令牌在Lua脚本中原子执行，时间取Redis服务器时间，不受各节点时钟偏差影响
+ */
+public class RedisRateLimitStore implements RateLimitStore {
+
+    // KEYS[1]=令牌桶key，ARGV[1]=每毫秒生成的令牌数，ARGV[2]=容量；返回需等待的毫秒数
+    private static final RedisScript<Long> ACQUIRE = new DefaultRedisScript<>("""
+            local rate = tonumber(ARGV[1])
+            local burst = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or burst
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(burst, tokens + math.max(0, now - ts) * rate)
+            local wait = 0
+            if tokens >= 1 then
+                tokens = tokens - 1
+            else
+                wait = math.ceil((1 - tokens) / rate)
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], math.ceil(burst / rate) + 1000)
+            return wait
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisRateLimitStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public long tryAcquire(String key, double permitsPerSecond, int burst) {
+        Long wait = redisTemplate.execute(ACQUIRE, List.of(key),
+                String.valueOf(permitsPerSecond / 1000), String.valueOf(burst));
+        return wait != null ? wait : 0;
+    }
+}
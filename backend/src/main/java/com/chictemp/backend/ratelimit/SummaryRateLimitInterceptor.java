@@ -0,0 +1,146 @@
+package com.chictemp.backend.ratelimit;
+
+import com.chictemp.backend.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 摘要接口限流：依次检查用户、IP和全局三个令牌桶，任一耗尽时返回429并带上Retry-After
+ * 只限制POST请求，查询任务状态等GET请求不受影响
+ *
+ * 用户取登录用户名，未登录时取 User-Id 请求头；请求头可以伪造，因此IP限流始终生效
+ * 限流存储不可用时放行请求，不因限流故障影响摘要功能
+ */
+@Component
+public class SummaryRateLimitInterceptor implements HandlerInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(SummaryRateLimitInterceptor.class);
+
+    private static final String KEY_PREFIX = "ratelimit:summary:";
+
+    enum Limit { USER, IP, GLOBAL }
+
+    private final RateLimitStore store;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Map<Limit, Rule> rules = new EnumMap<>(Limit.class);
+
+    private final Counter admitted;
+    private final Map<Limit, Counter> rejected = new EnumMap<>(Limit.class);
+
+    public SummaryRateLimitInterceptor(Optional<RateLimitStore> store,
+                                       ObjectMapper objectMapper,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${summary.rate-limit.enabled:true}") boolean enabled,
+                                       @Value("${summary.rate-limit.user.rps:0.5}") double userRps,
+                                       @Value("${summary.rate-limit.user.burst:5}") int userBurst,
+                                       @Value("${summary.rate-limit.ip.rps:1}") double ipRps,
+                                       @Value("${summary.rate-limit.ip.burst:10}") int ipBurst,
+                                       @Value("${summary.rate-limit.global.rps:10}") double globalRps,
+                                       @Value("${summary.rate-limit.global.burst:20}") int globalBurst,
+                                       @Value("${summary.rate-limit.local.max-keys:10000}") int maxKeys) {
+        this.store = store.orElseGet(() -> new InMemoryRateLimitStore(maxKeys, Duration.ofMinutes(10)));
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        rules.put(Limit.USER, new Rule(userRps, userBurst));
+        rules.put(Limit.IP, new Rule(ipRps, ipBurst));
+        rules.put(Limit.GLOBAL, new Rule(globalRps, globalBurst));
+
+        this.admitted = counter(meterRegistry, "admitted", "none");
+        for (Limit limit : Limit.values()) {
+            rejected.put(limit, counter(meterRegistry, "rejected", limit.name().toLowerCase()));
+        }
+        logger.info("摘要接口限流{}, 存储={}", enabled ? "开启" : "关闭", this.store.getClass().getSimpleName());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!enabled || !"POST".equals(request.getMethod())) {
+            return true;
+        }
+        // 先检查单个调用方的令牌桶，被拒绝的调用方不会消耗全局令牌
+        String user = userOf(request);
+        if (user != null && reject(Limit.USER, "user:" + user, response)) {
+            return false;
+        }
+        if (reject(Limit.IP, "ip:" + request.getRemoteAddr(), response)) {
+            return false;
+        }
+        if (reject(Limit.GLOBAL, "global", response)) {
+            return false;
+        }
+        admitted.increment();
+        return true;
+    }
+
+    private boolean reject(Limit limit, String key, HttpServletResponse response) throws IOException {
+        Rule rule = rules.get(limit);
+        long waitMillis;
+        try {
+            waitMillis = store.tryAcquire(KEY_PREFIX + key, rule.permitsPerSecond, rule.burst);
+        } catch (Exception e) {
+            logger.warn("限流存储不可用，放行请求: {}", e.getMessage());
+            return false;
+        }
+        if (waitMillis <= 0) {
+            return false;
+        }
+
+        rejected.get(limit).increment();
+        logger.debug("摘要请求被限流: {}, {}ms后重试", key, waitMillis);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(Math.max(1, (waitMillis + 999) / 1000)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getWriter(),
+                ApiResponse.error(HttpStatus.TOO_MANY_REQUESTS.value(), "请求过于频繁，请稍后再试"));
+        return true;
+    }
+
+    private static String userOf(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        String userId = request.getHeader("User-Id");
+        return userId != null && !userId.isBlank() ? userId.trim() : null;
+    }
+
+    private static Counter counter(MeterRegistry registry, String outcome, String limit) {
+        return Counter.builder("summary.ratelimit.requests")
+                .tag("outcome", outcome)
+                .tag("limit", limit)
+                .register(registry);
+    }
+
+    private static final class Rule {
+        private final double permitsPerSecond;
+        private final int burst;
+
+        private Rule(double permitsPerSecond, int burst) {
+            this.permitsPerSecond = permitsPerSecond;
+            this.burst = burst;
+        }
+    }
+}
@@ -1,17 +1,25 @@
 package com.chictemp.backend.service;
 
 import com.chictemp.backend.entity.BlogPost;
+import com.chictemp.backend.dto.BlogPostCard;
 import com.chictemp.backend.dto.BlogPostRequest;
+import com.chictemp.backend.dto.CursorPage;
 import java.util.List;
 
 public interface BlogPostService {
     BlogPost findById(Integer id);
-    List<BlogPost> findAll();
-    List<BlogPost> findByAuthorId(Integer authorId);
-    List<BlogPost> findByTagId(Integer tagId);
-    List<BlogPost> findByContentType(String contentType);
+    
+    // 列表查询均为游标分页，返回不含正文的卡片，cursor为上一页返回的next值，首页传null
+    CursorPage<BlogPostCard> findAll(String cursor, Integer limit);
+    CursorPage<BlogPostCard> findByAuthorId(Integer authorId, String cursor, Integer limit);
+    CursorPage<BlogPostCard> findByTagId(Integer tagId, String cursor, Integer limit);
+    CursorPage<BlogPostCard> findByContentType(String contentType, String cursor, Integer limit);
+    // 按给定ID顺序返回文章卡片，不存在的ID跳过
+    List<BlogPostCard> findCardsByIds(List<Integer> ids);
+    
     BlogPost create(BlogPostRequest request, Integer authorId);
     BlogPost update(Integer id, BlogPostRequest request);
     boolean delete(Integer id);
+    // 记录一次浏览，返回尚未写回数据库的浏览量增量
     Integer incrementViewCount(Integer id);
 }
\ No newline at end of file
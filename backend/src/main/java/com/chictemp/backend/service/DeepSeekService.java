@@ -1,10 +1,21 @@
 package com.chictemp.backend.service;
 
 import com.chictemp.backend.entity.PostSummary;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 public interface  DeepSeekService {
     String summarizeBlog(String blogContent);
     String summarizeBlog(String blogContent, Integer maxLength);
+
+    /**
+     * 以SSE流式返回摘要：token事件为增量文本，done事件为清理后的完整摘要，失败时发送error事件
+     */
+    SseEmitter streamSummary(String blogContent, Integer maxLength);
     PostSummary generateSummary(Integer postId);
+
+    /**
+     * 为文章生成并保存摘要，只保存API生成的摘要；API失败时抛出异常且不保存，文章之后仍会被补全
+     */
+    PostSummary generateApiSummary(Integer postId);
     PostSummary findByPostId(Integer postId);
 } 
\ No newline at end of file
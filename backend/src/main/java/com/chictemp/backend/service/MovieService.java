@@ -28,6 +28,10 @@ public interface MovieService {
     
     // Additional methods
     Movie getMovieWithUserLikeStatus(int movieId, Integer userId);
+    /**
+     * 记录一次浏览
+     * @return 尚未写回数据库的浏览量增量；电影不存在时返回-1，待写回的计数器已满未计数时返回0
+     */
     int incrementViewCount(int movieId);
     List<Movie> getUserLikedMovies(int userId, int page, int pageSize);
     boolean checkUserLikedMovie(int userId, int movieId);
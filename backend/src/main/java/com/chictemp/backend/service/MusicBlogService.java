@@ -1,11 +1,16 @@
 package com.chictemp.backend.service;
 
+import com.chictemp.backend.dto.CursorPage;
 import com.chictemp.backend.dto.MusicPostResponse;
 import com.chictemp.backend.entity.MusicBlog;
 import java.util.List;
 
 public interface MusicBlogService {
     List<MusicBlog> findAll();
+    // 列表卡片，正文content只包含前200个字符的摘要
+    List<MusicBlog> findAllCards();
+    // 游标分页的列表卡片，cursor为上一页返回的next值，首页传null
+    CursorPage<MusicBlog> findCards(String cursor, Integer limit);
     MusicBlog findById(Integer id);
     MusicBlog create(MusicBlog musicBlog);
     MusicBlog update(Integer id, MusicBlog musicBlog);
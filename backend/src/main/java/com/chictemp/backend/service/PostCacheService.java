@@ -0,0 +1,33 @@
+package com.chictemp.backend.service;
+
+import com.chictemp.backend.dto.BlogPostCard;
+import com.chictemp.backend.dto.CursorPage;
+import com.chictemp.backend.entity.BlogPost;
+
+import java.util.function.Supplier;
+
+/**
+ * 博客读缓存：一级为进程内缓存，二级为可选的Redis
+ */
+public interface PostCacheService {
+
+    /**
+     * 读取博客详情，两级缓存都未命中时调用loader加载并回填；返回的是副本，可以自由修改
+     */
+    BlogPost getPost(Integer id, Supplier<BlogPost> loader);
+
+    /**
+     * 读取一页博客列表，key需包含查询条件、游标和页大小；返回的是副本
+     */
+    CursorPage<BlogPostCard> getList(String key, Supplier<CursorPage<BlogPostCard>> loader);
+
+    /**
+     * 失效单篇博客缓存，在事务中调用时提交后会再失效一次
+     */
+    void evictPost(Integer id);
+
+    /**
+     * 失效所有列表缓存
+     */
+    void evictLists();
+}
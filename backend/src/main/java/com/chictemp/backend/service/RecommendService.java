@@ -0,0 +1,33 @@
+package com.chictemp.backend.service;
+
+import com.chictemp.backend.entity.BlogPost;
+import java.util.List;
+
+/**
+ * 基于标签相似度的文章推荐，每篇文章的推荐结果预先计算
+ */
+public interface RecommendService {
+    /**
+     * 获取推荐文章ID
+     * @param postId 当前文章ID，为null时返回全站热门推荐
+     * @param limit 最多返回的数量
+     */
+    List<Integer> recommend(Integer postId, int limit);
+
+    /**
+     * 文章或其标签变化后调用，在当前事务提交后排队更新
+     * @param post 包含最新标签的文章
+     */
+    void updatePost(BlogPost post);
+
+    /**
+     * 文章删除后调用，在当前事务提交后排队更新
+     */
+    void removePost(Integer postId);
+
+    /**
+     * 从数据库全量重建推荐模型
+     * @return 参与推荐的文章数量
+     */
+    int rebuild();
+}
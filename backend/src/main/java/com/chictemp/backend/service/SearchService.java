@@ -0,0 +1,33 @@
+package com.chictemp.backend.service;
+
+import com.chictemp.backend.dto.SearchResult;
+import com.chictemp.backend.entity.BlogPost;
+
+/**
+ * 博客全文检索，基于内存倒排索引
+ */
+public interface SearchService {
+    /**
+     * 按相关度检索文章
+     * @param query 检索词
+     * @param page 页码，从1开始
+     * @param size 每页条数
+     */
+    SearchResult search(String query, int page, int size);
+
+    /**
+     * 新增或更新文章索引，在当前事务提交后生效
+     */
+    void index(BlogPost post);
+
+    /**
+     * 删除文章索引，在当前事务提交后生效
+     */
+    void remove(Integer postId);
+
+    /**
+     * 从数据库全量重建索引
+     * @return 索引的文章数量
+     */
+    int rebuild();
+}
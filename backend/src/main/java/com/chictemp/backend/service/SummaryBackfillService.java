@@ -0,0 +1,21 @@
+package com.chictemp.backend.service;
+
+import com.chictemp.backend.dto.BackfillStatus;
+
+/**
+ * 为缺少摘要的文章批量生成摘要
+ */
+public interface SummaryBackfillService {
+    /**
+     * 在后台开始或继续补全，已在运行时不做任何事
+     * @return 当前状态
+     */
+    BackfillStatus start();
+
+    /**
+     * 请求停止，当前批次处理完并保存进度后结束
+     */
+    BackfillStatus stop();
+
+    BackfillStatus status();
+}
@@ -0,0 +1,18 @@
+package com.chictemp.backend.service;
+
+/**
+ * 摘要缓存，按 (规范化内容, 最大长度, 模型) 寻址
+ * 一级为进程内LRU，二级为 summary_cache 表
+ */
+public interface SummaryCacheService {
+    /**
+     * @return 命中的摘要，未命中返回null
+     */
+    String get(String content, int maxLength, String model);
+
+    /**
+     * 保存生成成功的摘要
+     * @param latencyMs 本次生成耗时，之后每次命中计入节省的时间
+     */
+    void put(String content, int maxLength, String model, String summary, long latencyMs);
+}
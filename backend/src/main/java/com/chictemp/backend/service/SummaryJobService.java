@@ -0,0 +1,22 @@
+package com.chictemp.backend.service;
+
+import com.chictemp.backend.entity.SummaryJob;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface SummaryJobService {
+    // 摘要长度上限，同步流式接口与异步任务共用
+    int MAX_SUMMARY_LENGTH = 500;
+
+    /**
+     * 创建摘要任务并立即返回，摘要在后台线程中生成
+     * @throws IllegalArgumentException 内容为空或长度不合法
+     */
+    SummaryJob submit(String content, Integer maxLength);
+
+    SummaryJob findById(String id);
+
+    /**
+     * 订阅任务状态，任务结束时推送结果并关闭连接
+     */
+    SseEmitter subscribe(String id);
+}
@@ -0,0 +1,66 @@
+package com.chictemp.backend.service;
+
+import com.chictemp.backend.entity.Tag;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface TagService {
+    List<Tag> findAll();
+    Tag findById(Integer id);
+    Tag findByName(String name);
+    List<Tag> findByPostId(Integer postId);
+
+    Tag create(Tag tag);
+    Tag update(Integer id, Tag tag);
+    boolean delete(Integer id);
+
+    /**
+     * 获取热门标签，limit不超过缓存容量时直接从内存返回
+     */
+    List<Tag> findPopular(int limit);
+
+    /**
+     * 文章标签关联变化后维护标签的文章数
+     * @param addedTagIds 新关联的标签
+     * @param removedTagIds 解除关联的标签
+     */
+    void updatePostCounts(Collection<Integer> addedTagIds, Collection<Integer> removedTagIds);
+
+    /*
+     * 以下方法走内存中的标签字典，不查询数据库（字典中没有时才回源）
+     * 返回的Tag为共享实例，调用方不要修改；其中不含文章数
+     */
+
+    /**
+     * 按ID获取标签
+     */
+    Tag getById(Integer id);
+
+    /**
+     * 按ID批量获取标签，保持传入顺序，不存在的ID跳过
+     */
+    List<Tag> getByIds(Collection<Integer> ids);
+
+    /**
+     * 按名称获取标签ID，名称忽略首尾空白和大小写
+     */
+    Integer findIdByName(String name);
+
+    /**
+     * 把标签名解析为ID，不存在的标签批量创建
+     * @return 与去重后的名称顺序一致的标签ID
+     */
+    Set<Integer> resolveOrCreate(Collection<String> names);
+
+    /**
+     * 从数据库重新加载标签字典
+     */
+    void reloadDictionary();
+
+    /**
+     * 按 post_tags 分批重新统计全部标签的文章数
+     * @return 更新的标签数
+     */
+    int repairPostCounts();
+}
@@ -2,6 +2,9 @@ package com.chictemp.backend.service;
 
 import com.chictemp.backend.entity.User;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * 用户服务接口
  */
@@ -14,6 +17,13 @@ public interface UserService {
      */
     User findByUsername(String username);
     
+    /**
+     * 通过多个用户名批量查找用户
+     * @param usernames 用户名集合
+     * @return 找到的用户列表，未找到的用户名不会出现在结果中
+     */
+    List<User> findByUsernames(Collection<String> usernames);
+    
     /**
      * 通过邮箱查找用户
      * @param email 邮箱
@@ -0,0 +1,41 @@
+package com.chictemp.backend.service;
+
+/**
+ * 浏览量计数服务
+ * 浏览量先在内存中累加，由定时任务批量写回数据库，应用关闭时写回剩余增量
+ */
+public interface ViewCounterService {
+
+    /**
+     * 计数对象类型及对应的数据表
+     */
+    enum Target {
+        POST("blog_posts"),
+        MUSIC("music_blogs"),
+        MOVIE("movies");
+
+        private final String table;
+
+        Target(String table) {
+            this.table = table;
+        }
+
+        public String getTable() {
+            return table;
+        }
+    }
+
+    /**
+     * 记录一次浏览
+     * @param target 计数对象类型
+     * @param id 对象ID
+     * @return 该对象尚未写回数据库的浏览量增量
+     */
+    long increment(Target target, Integer id);
+
+    /**
+     * 立即把所有待写入的增量批量写回数据库
+     * @return 更新的行数
+     */
+    int flush();
+}
@@ -1,22 +1,37 @@
 package com.chictemp.backend.service.impl;
 
+import com.chictemp.backend.dto.BlogPostCard;
 import com.chictemp.backend.dto.BlogPostRequest;
+import com.chictemp.backend.dto.CursorPage;
 import com.chictemp.backend.entity.BlogPost;
+import com.chictemp.backend.entity.ContentType;
+import com.chictemp.backend.entity.PostTag;
 import com.chictemp.backend.entity.Tag;
 import com.chictemp.backend.entity.User;
 import com.chictemp.backend.mapper.BlogPostMapper;
-import com.chictemp.backend.mapper.TagMapper;
 import com.chictemp.backend.mapper.PostTagMapper;
 import com.chictemp.backend.mapper.UserMapperExt;
 import com.chictemp.backend.service.BlogPostService;
+import com.chictemp.backend.service.PostCacheService;
+import com.chictemp.backend.service.RecommendService;
+import com.chictemp.backend.service.SearchService;
+import com.chictemp.backend.service.TagService;
 import com.chictemp.backend.service.UserService;
+import com.chictemp.backend.service.ViewCounterService;
+import com.chictemp.backend.util.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -30,20 +45,33 @@ public class BlogPostServiceImpl implements BlogPostService {
     @Autowired
     private UserService userService;
     
-    @Autowired
-    private TagMapper tagMapper;
-    
     @Autowired
     private PostTagMapper postTagMapper;
 
     @Autowired
     private UserMapperExt userMapperExt;
 
+    @Autowired
+    private ViewCounterService viewCounterService;
+
+    @Autowired
+    private PostCacheService postCacheService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private RecommendService recommendService;
+
+    @Autowired
+    private TagService tagService;
+
     @Override
-    public List<BlogPost> findAll() {
-        List<BlogPost> posts = blogPostMapper.findAll();
-        enrichPosts(posts);
-        return posts;
+    public CursorPage<BlogPostCard> findAll(String cursor, Integer limit) {
+        int pageSize = PageCursor.normalizeLimit(limit);
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        return postCacheService.getList("all:" + cursor + ":" + pageSize,
+                () -> toPage(blogPostMapper.findAll(pageCursor, pageSize + 1), pageSize));
     }
 
     @Override
@@ -52,11 +80,13 @@ public class BlogPostServiceImpl implements BlogPostService {
             return null;
         }
         
-        BlogPost post = blogPostMapper.findById(id);
-        if (post != null) {
-            enrichPost(post);
-        }
-        return post;
+        return postCacheService.getPost(id, () -> {
+            BlogPost post = blogPostMapper.findById(id);
+            if (post != null) {
+                enrichPost(post);
+            }
+            return post;
+        });
     }
 
     @Override
@@ -147,7 +177,7 @@ public class BlogPostServiceImpl implements BlogPostService {
         post.setUpdatedAt(LocalDateTime.now());
         
         // 设置内容类型相关字段
-        post.setContentType(request.getContentType());
+        post.setContentType(ContentType.normalize(request.getContentType()));
         post.setArtistName(request.getArtistName());
         post.setAlbumName(request.getAlbumName());
         
@@ -188,6 +218,9 @@ public class BlogPostServiceImpl implements BlogPostService {
         // 补充作者信息和标签信息
         enrichPost(post);
         
+        postCacheService.evictLists();
+        searchService.index(post);
+        recommendService.updatePost(post);
         return post;
     }
 
@@ -221,7 +254,7 @@ public class BlogPostServiceImpl implements BlogPostService {
         post.setUpdatedAt(LocalDateTime.now());
         
         // 更新内容类型相关字段
-        post.setContentType(request.getContentType());
+        post.setContentType(ContentType.normalize(request.getContentType()));
         post.setArtistName(request.getArtistName());
         post.setAlbumName(request.getAlbumName());
         
@@ -241,18 +274,16 @@ public class BlogPostServiceImpl implements BlogPostService {
         
         // 更新标签关系
         if (request.getTags() != null) {
-            // 先删除旧关联
-            postTagMapper.deleteByPostId(id);
-            
-            // 再添加新关联
-            if (!request.getTags().isEmpty()) {
-                processPostTags(id, request.getTags());
-            }
+            replacePostTags(id, request.getTags());
         }
         
         // 补充作者信息和标签信息
         enrichPost(post);
         
+        postCacheService.evictPost(id);
+        postCacheService.evictLists();
+        searchService.index(post);
+        recommendService.updatePost(post);
         return post;
     }
 
@@ -260,8 +291,17 @@ public class BlogPostServiceImpl implements BlogPostService {
     @Transactional
     public boolean delete(Integer id) {
         try {
+            List<Integer> tagIds = new ArrayList<>();
+            for (PostTag relation : postTagMapper.findByPostId(id)) {
+                tagIds.add(relation.getTagId());
+            }
             blogPostMapper.delete(id);
             postTagMapper.deleteByPostId(id); // 删除关联的标签
+            tagService.updatePostCounts(null, tagIds);
+            postCacheService.evictPost(id);
+            postCacheService.evictLists();
+            searchService.remove(id);
+            recommendService.removePost(id);
             return true;
         } catch (Exception e) {
             logger.log(Level.SEVERE, "删除博客时出错", e);
@@ -270,62 +310,58 @@ public class BlogPostServiceImpl implements BlogPostService {
     }
 
     @Override
-    public List<BlogPost> findByAuthorId(Integer authorId) {
-        List<BlogPost> posts = blogPostMapper.findByAuthorId(authorId);
-        enrichPosts(posts);
-        return posts;
+    public CursorPage<BlogPostCard> findByAuthorId(Integer authorId, String cursor, Integer limit) {
+        int pageSize = PageCursor.normalizeLimit(limit);
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        return postCacheService.getList("author:" + authorId + ":" + cursor + ":" + pageSize,
+                () -> toPage(blogPostMapper.findByAuthorId(authorId, pageCursor, pageSize + 1), pageSize));
     }
 
     @Override
-    public List<BlogPost> findByTagId(Integer tagId) {
-        List<BlogPost> posts = blogPostMapper.findByTagId(tagId);
-        enrichPosts(posts);
-        return posts;
+    public CursorPage<BlogPostCard> findByTagId(Integer tagId, String cursor, Integer limit) {
+        int pageSize = PageCursor.normalizeLimit(limit);
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        return postCacheService.getList("tag:" + tagId + ":" + cursor + ":" + pageSize,
+                () -> toPage(blogPostMapper.findByTagId(tagId, pageCursor, pageSize + 1), pageSize));
     }
     
     @Override
-    public List<BlogPost> findByContentType(String contentType) {
-        logger.info("查询内容类型博客: " + contentType);
+    public CursorPage<BlogPostCard> findByContentType(String contentType, String cursor, Integer limit) {
+        logger.info("查询内容类型博客: " + contentType + ", cursor=" + cursor);
         
-        if (contentType == null || contentType.isEmpty()) {
-            logger.warning("内容类型为空，返回空列表");
-            return new ArrayList<>();
+        // 内容类型在写入时已规范化为小写枚举值，查询时同样规范化后精确匹配，走 (content_type, created_at, id) 索引
+        ContentType type = ContentType.fromValue(contentType);
+        if (type == null) {
+            logger.warning("未知的内容类型，返回空列表: " + contentType);
+            return new CursorPage<>(new ArrayList<>(), null);
         }
         
-        try {
-            // 尝试直接查询（可能区分大小写）
-            List<BlogPost> posts = blogPostMapper.findByContentType(contentType);
-            logger.info("直接查询结果数量: " + (posts != null ? posts.size() : 0));
-            
-            // 如果没有结果，尝试不区分大小写的查询（全小写）
-            if (posts == null || posts.isEmpty()) {
-                String lowercaseType = contentType.toLowerCase();
-                logger.info("尝试使用小写内容类型查询: " + lowercaseType);
-                
-                posts = blogPostMapper.findByContentType(lowercaseType);
-                logger.info("小写查询结果数量: " + (posts != null ? posts.size() : 0));
-                
-                // 如果还是没有结果，尝试大写查询
-                if (posts == null || posts.isEmpty()) {
-                    String uppercaseType = contentType.toUpperCase();
-                    logger.info("尝试使用大写内容类型查询: " + uppercaseType);
-                    
-                    posts = blogPostMapper.findByContentType(uppercaseType);
-                    logger.info("大写查询结果数量: " + (posts != null ? posts.size() : 0));
-                }
-            }
-            
-            // 补充博客数据
-            enrichPosts(posts);
-            
-            logger.info("返回内容类型博客结果，类型: " + contentType + ", 数量: " + (posts != null ? posts.size() : 0));
-            return posts != null ? posts : new ArrayList<>();
-            
-        } catch (Exception e) {
-            logger.severe("查询内容类型博客异常: " + e.getMessage());
-            e.printStackTrace();
+        int pageSize = PageCursor.normalizeLimit(limit);
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        CursorPage<BlogPostCard> page = postCacheService.getList("type:" + type.getValue() + ":" + cursor + ":" + pageSize,
+                () -> toPage(blogPostMapper.findByContentType(type.getValue(), pageCursor, pageSize + 1), pageSize));
+        logger.info("返回内容类型博客结果，类型: " + type.getValue() + ", 数量: " + page.getItems().size());
+        return page;
+    }
+
+    @Override
+    public List<BlogPostCard> findCardsByIds(List<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
             return new ArrayList<>();
         }
+        Map<Integer, BlogPostCard> cardsById = new HashMap<>();
+        for (BlogPostCard card : blogPostMapper.findCardsByIds(ids)) {
+            cardsById.put(card.getId(), card);
+        }
+        List<BlogPostCard> cards = new ArrayList<>(cardsById.size());
+        for (Integer id : ids) {
+            BlogPostCard card = cardsById.get(id);
+            if (card != null) {
+                cards.add(card);
+            }
+        }
+        enrichPosts(cards);
+        return cards;
     }
     
     @Override
@@ -334,63 +370,116 @@ public class BlogPostServiceImpl implements BlogPostService {
             return 0;
         }
         
-        try {
-            // 获取当前博客
-            BlogPost post = blogPostMapper.findById(id);
-            if (post == null) {
-                return 0;
-            }
-            
-            // 获取当前浏览量，如果为null则设为0
-            Integer currentViewCount = post.getViewCount();
-            if (currentViewCount == null) {
-                currentViewCount = 0;
-            }
-            
-            // 增加浏览量
-            Integer newViewCount = currentViewCount + 1;
-            post.setViewCount(newViewCount);
-            
-            // 更新数据库
-            blogPostMapper.updateViewCount(id, newViewCount);
-            
-            return newViewCount;
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "增加浏览量时出错", e);
-            return 0;
-        }
+        // 浏览量在内存中累加，由计数服务批量写回数据库
+        return (int) viewCounterService.increment(ViewCounterService.Target.POST, id);
     }
     
     /**
      * 处理博客的标签
      */
     private void processPostTags(Integer postId, List<String> tagNames) {
-        for (String tagName : tagNames) {
-            // 查找标签是否已存在
-            Tag tag = tagMapper.findByName(tagName);
-            
-            // 如果标签不存在，则创建
-            if (tag == null) {
-                tag = new Tag();
-                tag.setName(tagName);
-                tagMapper.insert(tag);
-            }
-            
-            // 创建博客-标签关联
-            postTagMapper.insertRelation(postId, tag.getId());
+        Set<Integer> tagIds = tagService.resolveOrCreate(tagNames);
+        if (!tagIds.isEmpty()) {
+            postTagMapper.insertRelations(postId, tagIds);
+            tagService.updatePostCounts(tagIds, null);
         }
     }
+
+    /**
+     * 只增删有变化的标签关联，不再整体删除后重建
+     */
+    private void replacePostTags(Integer postId, List<String> tagNames) {
+        Set<Integer> wanted = tagService.resolveOrCreate(tagNames);
+        Set<Integer> current = new HashSet<>();
+        for (PostTag relation : postTagMapper.findByPostId(postId)) {
+            current.add(relation.getTagId());
+        }
+
+        Set<Integer> removed = new HashSet<>(current);
+        removed.removeAll(wanted);
+        Set<Integer> added = new LinkedHashSet<>(wanted);
+        added.removeAll(current);
+
+        if (!removed.isEmpty()) {
+            postTagMapper.deleteRelations(postId, removed);
+        }
+        if (!added.isEmpty()) {
+            postTagMapper.insertRelations(postId, added);
+        }
+        tagService.updatePostCounts(added, removed);
+    }
+
+    /**
+     * 将多查一条的结果截成一页，补充信息并生成下一页游标
+     */
+    private CursorPage<BlogPostCard> toPage(List<BlogPostCard> rows, int pageSize) {
+        if (rows == null) {
+            rows = new ArrayList<>();
+        }
+        boolean hasMore = rows.size() > pageSize;
+        List<BlogPostCard> items = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        enrichPosts(items);
+        
+        String next = null;
+        if (hasMore) {
+            BlogPostCard last = items.get(items.size() - 1);
+            next = PageCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(items, next);
+    }
     
     /**
-     * 为博客列表补充信息
+     * 为博客列表补充信息，作者和标签按整页批量加载，查询次数与列表长度无关
      */
-    private void enrichPosts(List<BlogPost> posts) {
+    private void enrichPosts(List<BlogPostCard> posts) {
         if (posts == null || posts.isEmpty()) {
             return;
         }
         
-        for (BlogPost post : posts) {
-            enrichPost(post);
+        // 收集本页所有作者用户名和博客ID，整页只查询一次
+        Set<String> usernames = new HashSet<>();
+        List<Integer> postIds = new ArrayList<>(posts.size());
+        for (BlogPostCard post : posts) {
+            if (post.getAuthorId() != null) {
+                usernames.add("user" + post.getAuthorId());
+            }
+            if (post.getId() != null) {
+                postIds.add(post.getId());
+            }
+        }
+        
+        // 批量加载作者信息
+        Map<String, User> authors = new HashMap<>();
+        if (!usernames.isEmpty()) {
+            try {
+                for (User user : userService.findByUsernames(usernames)) {
+                    authors.put(user.getUsername(), user);
+                }
+            } catch (Exception e) {
+                logger.warning("批量获取作者信息失败: " + e.getMessage());
+            }
+        }
+        
+        // 批量加载标签关联，标签本身从标签字典中取
+        Map<Integer, List<Integer>> tagIdsByPostId = new HashMap<>();
+        if (!postIds.isEmpty()) {
+            for (PostTag relation : postTagMapper.findByPostIds(postIds)) {
+                tagIdsByPostId.computeIfAbsent(relation.getPostId(), k -> new ArrayList<>()).add(relation.getTagId());
+            }
+        }
+        
+        for (BlogPostCard post : posts) {
+            if (post.getAuthorId() != null) {
+                User user = authors.get("user" + post.getAuthorId());
+                if (user != null) {
+                    post.setAuthor(user);
+                }
+            }
+            post.setTags(resolveTags(tagIdsByPostId.get(post.getId())));
+            
+            // 设置默认值为0
+            post.setLikeCount(0);
+            post.setCommentCount(0);
         }
     }
     
@@ -415,11 +504,26 @@ public class BlogPostServiceImpl implements BlogPostService {
         }
         
         // 补充标签信息
-        List<Tag> tags = tagMapper.findByPostId(post.getId());
-        post.setTags(tags);
+        List<Integer> tagIds = new ArrayList<>();
+        for (PostTag relation : postTagMapper.findByPostId(post.getId())) {
+            tagIds.add(relation.getTagId());
+        }
+        post.setTags(resolveTags(tagIds));
         
         // 设置默认值为0
         post.setLikeCount(0);
         post.setCommentCount(0);
     }
-}
\ No newline at end of file
+    
+    /**
+     * 从标签字典取出标签，按名称排序
+     */
+    private List<Tag> resolveTags(List<Integer> tagIds) {
+        if (tagIds == null || tagIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Tag> tags = new ArrayList<>(tagService.getByIds(tagIds));
+        tags.sort(Comparator.comparing(Tag::getName));
+        return tags;
+    }
+}
@@ -9,13 +9,21 @@ import com.chictemp.backend.util.DeepSeekClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 
 import java.time.LocalDateTime;
 
@@ -24,6 +32,9 @@ public class DeepSeekServiceImpl implements DeepSeekService {
 
     private static final Logger logger = LoggerFactory.getLogger(DeepSeekServiceImpl.class);
 
+    // 文章摘要长度，与 DeepSeekClient.generateSummary(String) 的默认值一致
+    private static final int DEFAULT_SUMMARY_LENGTH = 30;
+
     @Autowired
     private PostSummaryMapper postSummaryMapper;
 
@@ -33,6 +44,13 @@ public class DeepSeekServiceImpl implements DeepSeekService {
     @Autowired
     private DeepSeekClient deepSeekClient;
 
+    @Autowired
+    @Qualifier("summaryExecutor")
+    private ExecutorService summaryExecutor;
+
+    @Value("${summary.stream.timeout-ms:120000}")
+    private long streamTimeoutMillis;
+
     @Override
     public String summarizeBlog(String blogContent) {
         try {
@@ -53,8 +71,70 @@ public class DeepSeekServiceImpl implements DeepSeekService {
         }
     }
 
+    @Override
+    public SseEmitter streamSummary(String blogContent, Integer maxLength) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        if (blogContent == null || blogContent.isEmpty()) {
+            sendError(emitter, "内容为空，无法生成摘要");
+            return emitter;
+        }
+        try {
+            summaryExecutor.execute(() -> {
+                try {
+                    String summary = deepSeekClient.streamSummary(blogContent, maxLength, token -> {
+                        try {
+                            emitter.send(SseEmitter.event().name("token").data(token));
+                        } catch (IOException e) {
+                            // 客户端已断开，抛出以中止上游读取
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                    emitter.send(SseEmitter.event().name("done").data(summary));
+                    emitter.complete();
+                } catch (UncheckedIOException e) {
+                    logger.info("客户端已断开，停止流式摘要");
+                    emitter.completeWithError(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    emitter.completeWithError(e);
+                } catch (Exception e) {
+                    logger.error("流式生成摘要失败: {}", e.getMessage());
+                    sendError(emitter, "摘要生成失败: " + e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            sendError(emitter, "摘要服务繁忙，请稍后再试");
+        }
+        return emitter;
+    }
+
+    private static void sendError(SseEmitter emitter, String message) {
+        try {
+            emitter.send(SseEmitter.event().name("error").data(message));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
     @Override
     public PostSummary generateSummary(Integer postId) {
+        // 调用DeepSeek API生成摘要，失败时使用本地摘要
+        return generateAndSave(postId, deepSeekClient::generateSummary);
+    }
+
+    @Override
+    public PostSummary generateApiSummary(Integer postId) {
+        return generateAndSave(postId, content -> {
+            String summary = deepSeekClient.generateSummaryWithoutFallback(content, DEFAULT_SUMMARY_LENGTH);
+            if (summary == null) {
+                throw new IllegalStateException("API摘要生成失败");
+            }
+            return summary;
+        });
+    }
+
+    private PostSummary generateAndSave(Integer postId, Function<String, String> summarizer) {
         BlogPost post = blogPostService.findById(postId);
         if (post == null) {
             throw new RuntimeException("文章不存在");
@@ -66,8 +146,7 @@ public class DeepSeekServiceImpl implements DeepSeekService {
             return existingSummary;
         }
 
-        // 调用DeepSeek API生成摘要
-        String summaryContent = deepSeekClient.generateSummary(post.getContent());
+        String summaryContent = summarizer.apply(post.getContent());
         
         PostSummary summary = new PostSummary();
         summary.setPostId(postId);
@@ -2,6 +2,7 @@ package com.chictemp.backend.service.impl;
 
 import com.chictemp.backend.mapper.MovieMapper;
 import com.chictemp.backend.service.MovieService;
+import com.chictemp.backend.service.ViewCounterService;
 import com.chictemp.backend.util.MovieConverter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -15,6 +16,9 @@ public class MovieServiceImpl implements MovieService {
     @Autowired
     private MovieMapper movieMapper;
 
+    @Autowired
+    private ViewCounterService viewCounterService;
+
     @Override
     public List<com.chictemp.backend.model.Movie> getMovieList(String sortBy, String order, int page, int pageSize) {
         int offset = (page - 1) * pageSize;
@@ -115,7 +119,12 @@ public class MovieServiceImpl implements MovieService {
 
     @Override
     public int incrementViewCount(int movieId) {
-        return movieMapper.incrementViewCount(movieId);
+        // 不存在的电影不计数，避免任意ID占用待写回的计数器
+        if (movieMapper.countById(movieId) == 0) {
+            return -1;
+        }
+        // 浏览量在内存中累加，由计数服务批量写回数据库
+        return (int) viewCounterService.increment(ViewCounterService.Target.MOVIE, movieId);
     }
 
     @Override
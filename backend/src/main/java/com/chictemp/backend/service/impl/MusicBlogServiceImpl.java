@@ -1,9 +1,12 @@
 package com.chictemp.backend.service.impl;
 
+import com.chictemp.backend.dto.CursorPage;
 import com.chictemp.backend.dto.MusicPostResponse;
 import com.chictemp.backend.entity.MusicBlog;
 import com.chictemp.backend.mapper.MusicBlogMapper;
 import com.chictemp.backend.service.MusicBlogService;
+import com.chictemp.backend.service.ViewCounterService;
+import com.chictemp.backend.util.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,12 +29,37 @@ public class MusicBlogServiceImpl implements MusicBlogService {
     @Autowired
     private MusicBlogMapper musicBlogMapper;
 
+    @Autowired
+    private ViewCounterService viewCounterService;
+
     @Override
     public List<MusicBlog> findAll() {
         logger.info("获取所有音乐博客");
         return musicBlogMapper.findAll();
     }
 
+    @Override
+    public List<MusicBlog> findAllCards() {
+        logger.info("获取所有音乐博客卡片");
+        return musicBlogMapper.findAllCards();
+    }
+
+    @Override
+    public CursorPage<MusicBlog> findCards(String cursor, Integer limit) {
+        int pageSize = PageCursor.normalizeLimit(limit);
+        List<MusicBlog> rows = musicBlogMapper.findCards(PageCursor.decode(cursor), pageSize + 1);
+        if (rows == null) {
+            rows = new ArrayList<>();
+        }
+        // 多查的一条只用于判断是否还有下一页
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<MusicBlog> items = new ArrayList<>(rows.subList(0, pageSize));
+        MusicBlog last = items.get(items.size() - 1);
+        return new CursorPage<>(items, PageCursor.encode(last.getCreatedAt(), last.getId()));
+    }
+
     @Override
     public MusicBlog findById(Integer id) {
         logger.info("获取音乐博客详情, id=" + id);
@@ -102,31 +130,8 @@ public class MusicBlogServiceImpl implements MusicBlogService {
             return 0;
         }
         
-        try {
-            logger.info("增加音乐博客浏览量, id=" + id);
-            // 获取当前博客
-            MusicBlog blog = musicBlogMapper.findById(id);
-            if (blog == null) {
-                return 0;
-            }
-            
-            // 获取当前浏览量，如果为null则设为0
-            Integer currentViewCount = blog.getViewCount();
-            if (currentViewCount == null) {
-                currentViewCount = 0;
-            }
-            
-            // 增加浏览量
-            Integer newViewCount = currentViewCount + 1;
-            
-            // 更新数据库
-            musicBlogMapper.updateViewCount(id, newViewCount);
-            
-            return newViewCount;
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "增加浏览量失败: " + e.getMessage(), e);
-            return 0;
-        }
+        // 浏览量在内存中累加，由计数服务批量写回数据库
+        return (int) viewCounterService.increment(ViewCounterService.Target.MUSIC, id);
     }
 
     @Override
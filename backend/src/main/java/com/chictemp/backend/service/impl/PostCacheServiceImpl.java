@@ -0,0 +1,277 @@
+package com.chictemp.backend.service.impl;
+
+import com.chictemp.backend.cache.LocalCache;
+import com.chictemp.backend.cache.RemoteCacheStore;
+import com.chictemp.backend.dto.BlogPostCard;
+import com.chictemp.backend.dto.CursorPage;
+import com.chictemp.backend.entity.BlogPost;
+import com.chictemp.backend.entity.Tag;
+import com.chictemp.backend.entity.User;
+import com.chictemp.backend.service.PostCacheService;
+import com.chictemp.backend.util.TransactionUtils;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+@Service
+public class PostCacheServiceImpl implements PostCacheService {
+    private static final Logger logger = LoggerFactory.getLogger(PostCacheServiceImpl.class);
+
+    private static final String POST_KEY_PREFIX = "blog:post:";
+    private static final String LIST_KEY_PREFIX = "blog:posts:list:";
+    // 列表缓存的版本号，失效列表时自增，旧版本的key自然过期
+    private static final String LIST_GENERATION_KEY = "blog:posts:list-gen";
+
+    private final ObjectMapper objectMapper;
+    private final RemoteCacheStore remoteStore;
+    private final Duration remoteTtl;
+    private final JavaType listType;
+
+    private final LocalCache<Integer, BlogPost> localPosts;
+    private final LocalCache<String, CursorPage<BlogPostCard>> localLists;
+
+    private final TierCounters postCounters;
+    private final TierCounters listCounters;
+
+    public PostCacheServiceImpl(ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                Optional<RemoteCacheStore> remoteStore,
+                                @Value("${blog.cache.local.max-size:1000}") int localMaxSize,
+                                @Value("${blog.cache.local.ttl-seconds:30}") long localTtlSeconds,
+                                @Value("${blog.cache.remote.ttl-seconds:600}") long remoteTtlSeconds) {
+        this.objectMapper = objectMapper;
+        this.remoteStore = remoteStore.orElse(null);
+        this.remoteTtl = Duration.ofSeconds(remoteTtlSeconds);
+        this.listType = objectMapper.getTypeFactory().constructParametricType(CursorPage.class, BlogPostCard.class);
+
+        this.localPosts = new LocalCache<>(localMaxSize, Duration.ofSeconds(localTtlSeconds));
+        this.localLists = new LocalCache<>(localMaxSize, Duration.ofSeconds(localTtlSeconds));
+
+        this.postCounters = new TierCounters(meterRegistry, "post");
+        this.listCounters = new TierCounters(meterRegistry, "list");
+        Gauge.builder("blog.cache.size", localPosts, LocalCache::size).tag("cache", "post").register(meterRegistry);
+        Gauge.builder("blog.cache.size", localLists, LocalCache::size).tag("cache", "list").register(meterRegistry);
+
+        logger.info("博客缓存已启用, 本地容量={}, 本地TTL={}s, Redis二级缓存={}",
+                localMaxSize, localTtlSeconds, this.remoteStore != null ? "开启" : "关闭");
+    }
+
+    @Override
+    public BlogPost getPost(Integer id, Supplier<BlogPost> loader) {
+        BlogPost post = localPosts.get(id);
+        if (post != null) {
+            postCounters.l1Hit.increment();
+            return copyPost(post);
+        }
+        postCounters.l1Miss.increment();
+
+        String remoteKey = POST_KEY_PREFIX + id;
+        post = readRemote(remoteKey, objectMapper.constructType(BlogPost.class), postCounters);
+        if (post == null) {
+            post = loader.get();
+            writeRemote(remoteKey, post);
+        }
+        localPosts.put(id, post);
+        return copyPost(post);
+    }
+
+    @Override
+    public CursorPage<BlogPostCard> getList(String key, Supplier<CursorPage<BlogPostCard>> loader) {
+        CursorPage<BlogPostCard> page = localLists.get(key);
+        if (page != null) {
+            listCounters.l1Hit.increment();
+            return copyPage(page);
+        }
+        listCounters.l1Miss.increment();
+
+        String remoteKey = remoteStore != null ? LIST_KEY_PREFIX + listGeneration() + ":" + key : null;
+        page = readRemote(remoteKey, listType, listCounters);
+        if (page == null) {
+            page = loader.get();
+            writeRemote(remoteKey, page);
+        }
+        localLists.put(key, page);
+        return copyPage(page);
+    }
+
+    @Override
+    public void evictPost(Integer id) {
+        if (id == null) {
+            return;
+        }
+        // 立即失效，事务提交后再失效一次，防止提交前并发读取把旧数据重新写入缓存
+        doEvictPost(id);
+        TransactionUtils.afterCommit(() -> doEvictPost(id));
+    }
+
+    @Override
+    public void evictLists() {
+        doEvictLists();
+        TransactionUtils.afterCommit(this::doEvictLists);
+    }
+
+    private void doEvictPost(Integer id) {
+        localPosts.invalidate(id);
+        if (remoteStore != null) {
+            try {
+                remoteStore.delete(POST_KEY_PREFIX + id);
+            } catch (Exception e) {
+                logger.warn("删除Redis博客缓存失败, id={}: {}", id, e.getMessage());
+            }
+        }
+    }
+
+    private void doEvictLists() {
+        localLists.invalidateAll();
+        if (remoteStore != null) {
+            try {
+                remoteStore.increment(LIST_GENERATION_KEY);
+            } catch (Exception e) {
+                logger.warn("更新Redis列表缓存版本失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    private long listGeneration() {
+        try {
+            String generation = remoteStore.get(LIST_GENERATION_KEY);
+            return generation != null ? Long.parseLong(generation) : 0;
+        } catch (Exception e) {
+            logger.warn("读取Redis列表缓存版本失败: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * 一级缓存中的对象在多个请求间共享，调用方拿到的是副本，修改副本不会影响缓存
+     */
+    private static BlogPost copyPost(BlogPost source) {
+        if (source == null) {
+            return null;
+        }
+        BlogPost copy = new BlogPost();
+        BeanUtils.copyProperties(source, copy);
+        copy.setAuthor(copyUser(source.getAuthor()));
+        copy.setTags(copyTags(source.getTags()));
+        return copy;
+    }
+
+    private static CursorPage<BlogPostCard> copyPage(CursorPage<BlogPostCard> source) {
+        if (source == null) {
+            return null;
+        }
+        List<BlogPostCard> items = null;
+        if (source.getItems() != null) {
+            items = new ArrayList<>(source.getItems().size());
+            for (BlogPostCard card : source.getItems()) {
+                items.add(copyCard(card));
+            }
+        }
+        return new CursorPage<>(items, source.getNext());
+    }
+
+    private static BlogPostCard copyCard(BlogPostCard source) {
+        if (source == null) {
+            return null;
+        }
+        BlogPostCard copy = new BlogPostCard();
+        BeanUtils.copyProperties(source, copy);
+        copy.setAuthor(copyUser(source.getAuthor()));
+        copy.setTags(copyTags(source.getTags()));
+        return copy;
+    }
+
+    private static User copyUser(User source) {
+        if (source == null) {
+            return null;
+        }
+        User copy = new User();
+        BeanUtils.copyProperties(source, copy);
+        copy.setCreateTime(source.getCreateTime() != null ? new Date(source.getCreateTime().getTime()) : null);
+        copy.setUpdateTime(source.getUpdateTime() != null ? new Date(source.getUpdateTime().getTime()) : null);
+        return copy;
+    }
+
+    private static List<Tag> copyTags(List<Tag> source) {
+        if (source == null) {
+            return null;
+        }
+        List<Tag> copy = new ArrayList<>(source.size());
+        for (Tag tag : source) {
+            Tag tagCopy = null;
+            if (tag != null) {
+                tagCopy = new Tag();
+                BeanUtils.copyProperties(tag, tagCopy);
+            }
+            copy.add(tagCopy);
+        }
+        return copy;
+    }
+
+    /**
+     * 读取二级缓存，Redis不可用时按未命中处理
+     */
+    private <T> T readRemote(String key, JavaType type, TierCounters counters) {
+        if (remoteStore == null || key == null) {
+            return null;
+        }
+        try {
+            String json = remoteStore.get(key);
+            if (json != null) {
+                counters.l2Hit.increment();
+                return objectMapper.readValue(json, type);
+            }
+        } catch (Exception e) {
+            logger.warn("读取Redis缓存失败, key={}: {}", key, e.getMessage());
+        }
+        counters.l2Miss.increment();
+        return null;
+    }
+
+    private void writeRemote(String key, Object value) {
+        if (remoteStore == null || key == null || value == null) {
+            return;
+        }
+        try {
+            remoteStore.set(key, objectMapper.writeValueAsString(value), remoteTtl);
+        } catch (Exception e) {
+            logger.warn("写入Redis缓存失败, key={}: {}", key, e.getMessage());
+        }
+    }
+
+    private static final class TierCounters {
+        private final Counter l1Hit;
+        private final Counter l1Miss;
+        private final Counter l2Hit;
+        private final Counter l2Miss;
+
+        private TierCounters(MeterRegistry registry, String cache) {
+            this.l1Hit = counter(registry, cache, "l1", "hit");
+            this.l1Miss = counter(registry, cache, "l1", "miss");
+            this.l2Hit = counter(registry, cache, "l2", "hit");
+            this.l2Miss = counter(registry, cache, "l2", "miss");
+        }
+
+        private static Counter counter(MeterRegistry registry, String cache, String tier, String result) {
+            return Counter.builder("blog.cache.requests")
+                    .tag("cache", cache)
+                    .tag("tier", tier)
+                    .tag("result", result)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,438 @@
+package com.chictemp.backend.service.impl;
+
+import com.chictemp.backend.entity.BlogPost;
+import com.chictemp.backend.entity.PostTag;
+import com.chictemp.backend.entity.Tag;
+import com.chictemp.backend.mapper.BlogPostMapper;
+import com.chictemp.backend.mapper.PostTagMapper;
+import com.chictemp.backend.service.RecommendService;
+import com.chictemp.backend.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+@Service
+public class RecommendServiceImpl implements RecommendService {
+    private static final Logger logger = LoggerFactory.getLogger(RecommendServiceImpl.class);
+
+    // 每篇文章预先计算的推荐数量
+    static final int TOP_K = 20;
+    // 候选扩展时每个标签取共现次数最多的相关标签数
+    private static final int RELATED_TAGS_PER_TAG = 5;
+
+    // 最终得分 = 标签相似度、浏览量、新鲜度的加权和
+    private static final double SIMILARITY_WEIGHT = 0.7;
+    private static final double POPULARITY_WEIGHT = 0.2;
+    private static final double RECENCY_WEIGHT = 0.1;
+    // 相关标签（共现但不相同）对相似度的贡献系数
+    private static final double RELATED_TAG_FACTOR = 0.3;
+    // 新鲜度半衰期
+    private static final double RECENCY_HALF_LIFE_DAYS = 30;
+
+    @Autowired
+    private BlogPostMapper blogPostMapper;
+
+    @Autowired
+    private PostTagMapper postTagMapper;
+
+    // 已提交但尚未应用到模型的变更，按提交顺序应用，每条都是文章当时的完整快照
+    private final Queue<PostUpdate> pendingUpdates = new ConcurrentLinkedQueue<>();
+
+    // 只在持有this锁时读写
+    private Model model = new Model();
+
+    // 读路径无锁：文章ID -> 预计算的推荐文章ID
+    private volatile Map<Integer, List<Integer>> topK = new ConcurrentHashMap<>();
+    private volatile List<Integer> trending = Collections.emptyList();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("启动时构建推荐模型失败，推荐将退化为空列表直到下次重建", e);
+        }
+    }
+
+    /**
+     * 定期全量重建，把浏览量变化和绕过服务层的标签修改纳入模型
+     */
+    @Scheduled(initialDelayString = "${recommend.rebuild-interval-ms:600000}",
+            fixedDelayString = "${recommend.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("定时重建推荐模型失败", e);
+        }
+    }
+
+    @Override
+    public synchronized int rebuild() {
+        long start = System.currentTimeMillis();
+        Model fresh = new Model();
+        for (BlogPost post : blogPostMapper.findRankingStats()) {
+            fresh.putPost(post.getId(), Collections.emptySet(), post.getViewCount(), post.getCreatedAt());
+        }
+        Map<Integer, Set<Integer>> tagsByPost = new HashMap<>();
+        for (PostTag relation : postTagMapper.findAllRelations()) {
+            if (fresh.posts.containsKey(relation.getPostId())) {
+                tagsByPost.computeIfAbsent(relation.getPostId(), id -> new HashSet<>()).add(relation.getTagId());
+            }
+        }
+        for (Map.Entry<Integer, Set<Integer>> entry : tagsByPost.entrySet()) {
+            PostInfo info = fresh.posts.get(entry.getKey());
+            fresh.putPost(entry.getKey(), entry.getValue(), info.viewCount, info.createdAt);
+        }
+
+        Map<Integer, List<Integer>> computed = new ConcurrentHashMap<>();
+        double maxLogViews = fresh.maxLogViews();
+        LocalDateTime now = LocalDateTime.now();
+        for (Integer postId : fresh.posts.keySet()) {
+            computed.put(postId, fresh.computeTopK(postId, maxLogViews, now));
+        }
+
+        model = fresh;
+        topK = computed;
+        trending = fresh.computeTrending();
+        logger.info("推荐模型重建完成, 文章数={}, 标签数={}, 耗时={}ms",
+                fresh.posts.size(), fresh.tagPosts.size(), System.currentTimeMillis() - start);
+
+        // 重建期间提交的变更可能没有被读到，重新应用一遍，快照按顺序应用结果与最终状态一致
+        applyPendingUpdates();
+        return fresh.posts.size();
+    }
+
+    @Scheduled(fixedDelayString = "${recommend.update-interval-ms:5000}")
+    public synchronized void applyPendingUpdates() {
+        Set<Integer> dirty = new HashSet<>();
+        PostUpdate update;
+        while ((update = pendingUpdates.poll()) != null) {
+            dirty.add(update.postId);
+            dirty.addAll(model.postsSharingTags(update.postId));
+            if (update.removed) {
+                model.removePost(update.postId);
+                topK.remove(update.postId);
+            } else {
+                model.putPost(update.postId, update.tagIds, update.viewCount, update.createdAt);
+            }
+            // 新标签下的文章同样受影响
+            dirty.addAll(model.postsSharingTags(update.postId));
+        }
+        if (dirty.isEmpty()) {
+            return;
+        }
+        double maxLogViews = model.maxLogViews();
+        LocalDateTime now = LocalDateTime.now();
+        for (Integer postId : dirty) {
+            if (model.posts.containsKey(postId)) {
+                topK.put(postId, model.computeTopK(postId, maxLogViews, now));
+            }
+        }
+        trending = model.computeTrending();
+        logger.debug("推荐增量更新完成, 重新计算文章数={}", dirty.size());
+    }
+
+    @Override
+    public List<Integer> recommend(Integer postId, int limit) {
+        int size = Math.min(Math.max(limit, 1), TOP_K);
+        List<Integer> candidates = postId != null ? topK.get(postId) : null;
+
+        LinkedHashSet<Integer> result = new LinkedHashSet<>();
+        if (candidates != null) {
+            for (Integer id : candidates) {
+                if (result.size() >= size) {
+                    break;
+                }
+                result.add(id);
+            }
+        }
+        // 相似文章不足时用热门文章补齐
+        for (Integer id : trending) {
+            if (result.size() >= size) {
+                break;
+            }
+            if (!id.equals(postId)) {
+                result.add(id);
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    @Override
+    public void updatePost(BlogPost post) {
+        if (post == null || post.getId() == null) {
+            return;
+        }
+        Set<Integer> tagIds = new HashSet<>();
+        if (post.getTags() != null) {
+            for (Tag tag : post.getTags()) {
+                tagIds.add(tag.getId());
+            }
+        }
+        PostUpdate update = new PostUpdate(post.getId(), false, tagIds, post.getViewCount(), post.getCreatedAt());
+        TransactionUtils.afterCommit(() -> pendingUpdates.add(update));
+    }
+
+    @Override
+    public void removePost(Integer postId) {
+        if (postId == null) {
+            return;
+        }
+        PostUpdate update = new PostUpdate(postId, true, Collections.emptySet(), null, null);
+        TransactionUtils.afterCommit(() -> pendingUpdates.add(update));
+    }
+
+    private static final class PostUpdate {
+        private final Integer postId;
+        private final boolean removed;
+        private final Set<Integer> tagIds;
+        private final Integer viewCount;
+        private final LocalDateTime createdAt;
+
+        private PostUpdate(Integer postId, boolean removed, Set<Integer> tagIds, Integer viewCount, LocalDateTime createdAt) {
+            this.postId = postId;
+            this.removed = removed;
+            this.tagIds = tagIds;
+            this.viewCount = viewCount;
+            this.createdAt = createdAt;
+        }
+    }
+
+    private static final class PostInfo {
+        private final Set<Integer> tagIds;
+        private final int viewCount;
+        private final LocalDateTime createdAt;
+
+        private PostInfo(Set<Integer> tagIds, Integer viewCount, LocalDateTime createdAt) {
+            this.tagIds = tagIds;
+            this.viewCount = viewCount != null ? viewCount : 0;
+            this.createdAt = createdAt;
+        }
+    }
+
+    /**
+     * 推荐模型：文章标签、标签倒排和标签共现矩阵，非线程安全
+     */
+    static final class Model {
+        private final Map<Integer, PostInfo> posts = new HashMap<>();
+        // 标签ID -> 带该标签的文章
+        private final Map<Integer, Set<Integer>> tagPosts = new HashMap<>();
+        // 标签ID -> (另一标签ID -> 同时带这两个标签的文章数)
+        private final Map<Integer, Map<Integer, Integer>> coOccurrence = new HashMap<>();
+
+        void putPost(Integer postId, Set<Integer> tagIds, Integer viewCount, LocalDateTime createdAt) {
+            removePost(postId);
+            Set<Integer> tags = new HashSet<>(tagIds);
+            posts.put(postId, new PostInfo(tags, viewCount, createdAt));
+            for (Integer tag : tags) {
+                tagPosts.computeIfAbsent(tag, t -> new HashSet<>()).add(postId);
+                for (Integer other : tags) {
+                    if (!tag.equals(other)) {
+                        coOccurrence.computeIfAbsent(tag, t -> new HashMap<>()).merge(other, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+
+        void removePost(Integer postId) {
+            PostInfo info = posts.remove(postId);
+            if (info == null) {
+                return;
+            }
+            for (Integer tag : info.tagIds) {
+                Set<Integer> tagged = tagPosts.get(tag);
+                if (tagged != null) {
+                    tagged.remove(postId);
+                    if (tagged.isEmpty()) {
+                        tagPosts.remove(tag);
+                    }
+                }
+                Map<Integer, Integer> related = coOccurrence.get(tag);
+                if (related == null) {
+                    continue;
+                }
+                for (Integer other : info.tagIds) {
+                    if (!tag.equals(other)) {
+                        related.computeIfPresent(other, (k, count) -> count > 1 ? count - 1 : null);
+                    }
+                }
+                if (related.isEmpty()) {
+                    coOccurrence.remove(tag);
+                }
+            }
+        }
+
+        Set<Integer> postsSharingTags(Integer postId) {
+            PostInfo info = posts.get(postId);
+            if (info == null) {
+                return Collections.emptySet();
+            }
+            Set<Integer> result = new HashSet<>();
+            for (Integer tag : info.tagIds) {
+                result.addAll(tagPosts.getOrDefault(tag, Collections.emptySet()));
+            }
+            return result;
+        }
+
+        List<Integer> computeTopK(Integer postId, double maxLogViews, LocalDateTime now) {
+            PostInfo source = posts.get(postId);
+            if (source == null || source.tagIds.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            // 候选：带相同标签的文章，以及带高共现标签的文章
+            Set<Integer> candidateTags = new HashSet<>(source.tagIds);
+            for (Integer tag : source.tagIds) {
+                candidateTags.addAll(topRelatedTags(tag));
+            }
+            Set<Integer> candidates = new HashSet<>();
+            for (Integer tag : candidateTags) {
+                candidates.addAll(tagPosts.getOrDefault(tag, Collections.emptySet()));
+            }
+            candidates.remove(postId);
+
+            List<Map.Entry<Integer, Double>> scored = new ArrayList<>(candidates.size());
+            for (Integer candidate : candidates) {
+                PostInfo target = posts.get(candidate);
+                double similarity = similarity(source.tagIds, target.tagIds);
+                if (similarity <= 0) {
+                    continue;
+                }
+                double score = SIMILARITY_WEIGHT * similarity
+                        + POPULARITY_WEIGHT * popularity(target, maxLogViews)
+                        + RECENCY_WEIGHT * recency(target, now);
+                scored.add(Map.entry(candidate, score));
+            }
+            return topIds(scored);
+        }
+
+        /**
+         * 没有标签可用时的全站推荐，只按浏览量和新鲜度排序
+         */
+        List<Integer> computeTrending() {
+            double maxLogViews = maxLogViews();
+            LocalDateTime now = LocalDateTime.now();
+            List<Map.Entry<Integer, Double>> scored = new ArrayList<>(posts.size());
+            for (Map.Entry<Integer, PostInfo> entry : posts.entrySet()) {
+                PostInfo info = entry.getValue();
+                double score = POPULARITY_WEIGHT * popularity(info, maxLogViews)
+                        + RECENCY_WEIGHT * recency(info, now);
+                scored.add(Map.entry(entry.getKey(), score));
+            }
+            return topIds(scored);
+        }
+
+        /**
+         * 以IDF加权的标签余弦相似度，加上共现标签的部分贡献
+         */
+        double similarity(Set<Integer> a, Set<Integer> b) {
+            double dot = 0;
+            double normA = 0;
+            double normB = 0;
+            for (Integer tag : a) {
+                double idf = idf(tag);
+                normA += idf * idf;
+                if (b.contains(tag)) {
+                    dot += idf * idf;
+                }
+            }
+            for (Integer tag : b) {
+                double idf = idf(tag);
+                normB += idf * idf;
+            }
+            if (normA == 0 || normB == 0) {
+                return 0;
+            }
+            double cosine = dot / Math.sqrt(normA * normB);
+
+            double related = 0;
+            for (Integer tagA : a) {
+                if (b.contains(tagA)) {
+                    continue;
+                }
+                Map<Integer, Integer> coTags = coOccurrence.getOrDefault(tagA, Collections.emptyMap());
+                for (Integer tagB : b) {
+                    Integer count = coTags.get(tagB);
+                    if (count != null && !a.contains(tagB)) {
+                        related += count / Math.sqrt((double) df(tagA) * df(tagB));
+                    }
+                }
+            }
+            related /= (double) a.size() * b.size();
+            return Math.min(1.0, cosine + RELATED_TAG_FACTOR * related);
+        }
+
+        private List<Integer> topRelatedTags(Integer tag) {
+            Map<Integer, Integer> related = coOccurrence.get(tag);
+            if (related == null) {
+                return Collections.emptyList();
+            }
+            List<Map.Entry<Integer, Integer>> entries = new ArrayList<>(related.entrySet());
+            entries.sort((x, y) -> Integer.compare(y.getValue(), x.getValue()));
+            List<Integer> result = new ArrayList<>(RELATED_TAGS_PER_TAG);
+            for (int i = 0; i < entries.size() && i < RELATED_TAGS_PER_TAG; i++) {
+                result.add(entries.get(i).getKey());
+            }
+            return result;
+        }
+
+        private int df(Integer tag) {
+            return tagPosts.getOrDefault(tag, Collections.emptySet()).size();
+        }
+
+        private double idf(Integer tag) {
+            return Math.log(1 + (double) posts.size() / Math.max(1, df(tag)));
+        }
+
+        double maxLogViews() {
+            int max = 0;
+            for (PostInfo info : posts.values()) {
+                max = Math.max(max, info.viewCount);
+            }
+            return Math.log1p(max);
+        }
+
+        private static double popularity(PostInfo info, double maxLogViews) {
+            return maxLogViews > 0 ? Math.log1p(info.viewCount) / maxLogViews : 0;
+        }
+
+        private static double recency(PostInfo info, LocalDateTime now) {
+            if (info.createdAt == null) {
+                return 0;
+            }
+            double ageDays = Math.max(0, Duration.between(info.createdAt, now).toHours() / 24.0);
+            return Math.pow(0.5, ageDays / RECENCY_HALF_LIFE_DAYS);
+        }
+
+        private static List<Integer> topIds(List<Map.Entry<Integer, Double>> scored) {
+            scored.sort((x, y) -> {
+                int byScore = Double.compare(y.getValue(), x.getValue());
+                return byScore != 0 ? byScore : Integer.compare(y.getKey(), x.getKey());
+            });
+            List<Integer> result = new ArrayList<>(Math.min(TOP_K, scored.size()));
+            for (int i = 0; i < scored.size() && i < TOP_K; i++) {
+                result.add(scored.get(i).getKey());
+            }
+            return result;
+        }
+    }
+}
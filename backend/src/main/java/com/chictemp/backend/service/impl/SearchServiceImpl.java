@@ -0,0 +1,373 @@
+package com.chictemp.backend.service.impl;
+
+import com.chictemp.backend.dto.SearchHit;
+import com.chictemp.backend.dto.SearchResult;
+import com.chictemp.backend.entity.BlogPost;
+import com.chictemp.backend.mapper.BlogPostMapper;
+import com.chictemp.backend.service.SearchService;
+import com.chictemp.backend.util.BigramTokenizer;
+import com.chictemp.backend.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Service
+public class SearchServiceImpl implements SearchService {
+    private static final Logger logger = LoggerFactory.getLogger(SearchServiceImpl.class);
+
+    // BM25参数
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // 字段权重：标题命中比正文命中更相关
+    private static final int TITLE_WEIGHT = 3;
+    private static final int SUMMARY_WEIGHT = 2;
+    private static final int CONTENT_WEIGHT = 1;
+
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int REBUILD_BATCH_SIZE = 500;
+    // 高亮片段在首个命中位置之前和总长度上保留的字符数
+    private static final int SNIPPET_LEADING = 30;
+    private static final int SNIPPET_LENGTH = 120;
+
+    @Autowired
+    private BlogPostMapper blogPostMapper;
+
+    // 保护 index 和 changedDuringRebuild
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildMonitor = new Object();
+
+    private InvertedIndex index = new InvertedIndex();
+    // 重建期间发生变更的文章ID，重建完成后按数据库最新状态补做；不在重建时为null
+    private Set<Integer> changedDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("启动时重建检索索引失败，检索结果将只包含此后新增或修改的文章", e);
+        }
+    }
+
+    @Override
+    public int rebuild() {
+        synchronized (rebuildMonitor) {
+            long start = System.currentTimeMillis();
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = new HashSet<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Set<Integer> changed;
+            InvertedIndex fresh = new InvertedIndex();
+            boolean built = false;
+            try {
+                int afterId = 0;
+                List<BlogPost> batch;
+                do {
+                    batch = blogPostMapper.findBatchAfterId(afterId, REBUILD_BATCH_SIZE);
+                    for (BlogPost post : batch) {
+                        fresh.put(post.getId(), analyze(post));
+                        afterId = post.getId();
+                    }
+                } while (batch.size() == REBUILD_BATCH_SIZE);
+                built = true;
+            } finally {
+                // 停止记录变更和替换索引在同一个写锁内完成，否则两者之间的变更只写入旧索引，替换后丢失
+                lock.writeLock().lock();
+                try {
+                    changed = changedDuringRebuild;
+                    changedDuringRebuild = null;
+                    if (built) {
+                        index = fresh;
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+
+            // 重建过程中被修改的文章以数据库为准重新索引
+            for (Integer id : changed) {
+                BlogPost post = blogPostMapper.findById(id);
+                if (post != null) {
+                    apply(id, analyze(post));
+                } else {
+                    apply(id, null);
+                }
+            }
+
+            logger.info("检索索引重建完成, 文章数={}, 词项数={}, 耗时={}ms",
+                    fresh.docLengths.size(), fresh.postings.size(), System.currentTimeMillis() - start);
+            return fresh.docLengths.size();
+        }
+    }
+
+    @Override
+    public void index(BlogPost post) {
+        if (post == null || post.getId() == null) {
+            return;
+        }
+        Integer id = post.getId();
+        Document document = analyze(post);
+        TransactionUtils.afterCommit(() -> apply(id, document));
+    }
+
+    @Override
+    public void remove(Integer postId) {
+        if (postId == null) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> apply(postId, null));
+    }
+
+    @Override
+    public SearchResult search(String query, int page, int size) {
+        int pageNo = Math.max(page, 1);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Set<String> terms = new LinkedHashSet<>(BigramTokenizer.tokenize(query));
+        if (terms.isEmpty()) {
+            return new SearchResult(Collections.emptyList(), 0, pageNo, pageSize);
+        }
+
+        Map<Integer, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int docCount = index.docLengths.size();
+            double avgLength = index.averageLength();
+            for (String term : terms) {
+                Map<Integer, Integer> postings = index.postings.get(term);
+                if (postings == null) {
+                    continue;
+                }
+                int df = postings.size();
+                double idf = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+                for (Map.Entry<Integer, Integer> posting : postings.entrySet()) {
+                    int tf = posting.getValue();
+                    int length = index.docLengths.get(posting.getKey());
+                    double norm = K1 * (1 - B + B * length / avgLength);
+                    scores.merge(posting.getKey(), idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort((a, b) -> {
+            int byScore = Double.compare(b.getValue(), a.getValue());
+            return byScore != 0 ? byScore : Integer.compare(b.getKey(), a.getKey());
+        });
+
+        int from = (pageNo - 1) * pageSize;
+        if (from >= ranked.size()) {
+            return new SearchResult(Collections.emptyList(), ranked.size(), pageNo, pageSize);
+        }
+        List<Map.Entry<Integer, Double>> slice = ranked.subList(from, Math.min(from + pageSize, ranked.size()));
+
+        List<Integer> ids = new ArrayList<>(slice.size());
+        for (Map.Entry<Integer, Double> entry : slice) {
+            ids.add(entry.getKey());
+        }
+        Map<Integer, BlogPost> postsById = new HashMap<>();
+        for (BlogPost post : blogPostMapper.findByIds(ids)) {
+            postsById.put(post.getId(), post);
+        }
+
+        List<SearchHit> hits = new ArrayList<>(slice.size());
+        for (Map.Entry<Integer, Double> entry : slice) {
+            BlogPost post = postsById.get(entry.getKey());
+            if (post == null) {
+                // 索引尚未收到删除通知
+                continue;
+            }
+            hits.add(toHit(post, entry.getValue(), terms));
+        }
+        return new SearchResult(hits, ranked.size(), pageNo, pageSize);
+    }
+
+    private void apply(Integer id, Document document) {
+        lock.writeLock().lock();
+        try {
+            if (document != null) {
+                index.put(id, document);
+            } else {
+                index.remove(id);
+            }
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 对标题、摘要、正文分词，按字段权重累计词频
+     */
+    private static Document analyze(BlogPost post) {
+        Document document = new Document();
+        document.add(post.getTitle(), TITLE_WEIGHT);
+        document.add(post.getSummary(), SUMMARY_WEIGHT);
+        document.add(post.getContent(), CONTENT_WEIGHT);
+        return document;
+    }
+
+    private static SearchHit toHit(BlogPost post, double score, Collection<String> terms) {
+        SearchHit hit = new SearchHit();
+        hit.setId(post.getId());
+        hit.setTitle(post.getTitle());
+        hit.setSummary(post.getSummary());
+        hit.setCoverImageUrl(post.getCoverImageUrl());
+        hit.setContentType(post.getContentType());
+        hit.setViewCount(post.getViewCount());
+        hit.setCreatedAt(post.getCreatedAt());
+        hit.setScore(score);
+
+        String highlight = highlight(post.getContent(), terms);
+        if (highlight == null) {
+            highlight = highlight(post.getSummary(), terms);
+        }
+        if (highlight == null) {
+            highlight = highlight(post.getTitle(), terms);
+        }
+        hit.setHighlight(highlight);
+        return hit;
+    }
+
+    /**
+     * 截取首个命中位置附近的文本，命中的词用<em>包裹
+     * @return 文本中没有任何命中时返回null
+     */
+    static String highlight(String text, Collection<String> terms) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        if (lower.length() != text.length()) {
+            // 大小写转换改变了长度，位置无法对应，按原文匹配
+            lower = text;
+        }
+
+        int first = -1;
+        for (String term : terms) {
+            int pos = lower.indexOf(term);
+            if (pos >= 0 && (first < 0 || pos < first)) {
+                first = pos;
+            }
+        }
+        if (first < 0) {
+            return null;
+        }
+
+        int start = Math.max(0, first - SNIPPET_LEADING);
+        int end = Math.min(text.length(), start + SNIPPET_LENGTH);
+        boolean[] marked = new boolean[end - start];
+        for (String term : terms) {
+            int pos = lower.indexOf(term, start);
+            while (pos >= 0 && pos < end) {
+                for (int i = pos; i < Math.min(pos + term.length(), end); i++) {
+                    marked[i - start] = true;
+                }
+                pos = lower.indexOf(term, pos + 1);
+            }
+        }
+
+        StringBuilder snippet = new StringBuilder(SNIPPET_LENGTH + 32);
+        if (start > 0) {
+            snippet.append("…");
+        }
+        int runStart = start;
+        for (int i = start + 1; i <= end; i++) {
+            if (i == end || marked[i - start] != marked[runStart - start]) {
+                String segment = HtmlUtils.htmlEscape(text.substring(runStart, i).replaceAll("\\s+", " "));
+                if (marked[runStart - start]) {
+                    snippet.append("<em>").append(segment).append("</em>");
+                } else {
+                    snippet.append(segment);
+                }
+                runStart = i;
+            }
+        }
+        if (end < text.length()) {
+            snippet.append("…");
+        }
+        return snippet.toString();
+    }
+
+    /**
+     * 单篇文章的分词结果：词项到加权词频
+     */
+    private static final class Document {
+        private final Map<String, Integer> termFrequencies = new HashMap<>();
+        private int length;
+
+        private void add(String text, int weight) {
+            BigramTokenizer.tokenize(text, term -> {
+                termFrequencies.merge(term, weight, Integer::sum);
+                length += weight;
+            });
+        }
+    }
+
+    /**
+     * 倒排索引，非线程安全，由外部读写锁保护
+     */
+    private static final class InvertedIndex {
+        // 词项 -> (文章ID -> 加权词频)
+        private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+        // 文章ID -> 该文章包含的词项，删除时据此清理倒排表
+        private final Map<Integer, Set<String>> docTerms = new HashMap<>();
+        private final Map<Integer, Integer> docLengths = new HashMap<>();
+        private long totalLength;
+
+        private void put(Integer id, Document document) {
+            remove(id);
+            for (Map.Entry<String, Integer> entry : document.termFrequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), t -> new HashMap<>()).put(id, entry.getValue());
+            }
+            docTerms.put(id, document.termFrequencies.keySet());
+            docLengths.put(id, document.length);
+            totalLength += document.length;
+        }
+
+        private void remove(Integer id) {
+            Set<String> terms = docTerms.remove(id);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms) {
+                Map<Integer, Integer> docs = postings.get(term);
+                if (docs != null) {
+                    docs.remove(id);
+                    if (docs.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+            totalLength -= docLengths.remove(id);
+        }
+
+        private double averageLength() {
+            return docLengths.isEmpty() ? 1 : Math.max(1.0, (double) totalLength / docLengths.size());
+        }
+    }
+}
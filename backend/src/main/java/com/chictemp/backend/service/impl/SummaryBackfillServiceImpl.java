@@ -0,0 +1,273 @@
+package com.chictemp.backend.service.impl;
+
+import com.chictemp.backend.dto.BackfillStatus;
+import com.chictemp.backend.entity.BackfillCheckpoint;
+import com.chictemp.backend.mapper.BackfillCheckpointMapper;
+import com.chictemp.backend.mapper.BlogPostMapper;
+import com.chictemp.backend.service.DeepSeekService;
+import com.chictemp.backend.service.SummaryBackfillService;
+import com.chictemp.backend.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class SummaryBackfillServiceImpl implements SummaryBackfillService {
+    private static final Logger logger = LoggerFactory.getLogger(SummaryBackfillServiceImpl.class);
+
+    static final String CHECKPOINT_NAME = "post-summary";
+    static final String STATUS_RUNNING = "running";
+    static final String STATUS_STOPPED = "stopped";
+    static final String STATUS_COMPLETED = "completed";
+
+    // 应用关闭时等待补全线程退出的最长时间
+    private static final long SHUTDOWN_WAIT_MILLIS = 10_000;
+
+    private final BlogPostMapper blogPostMapper;
+    private final BackfillCheckpointMapper checkpointMapper;
+    private final DeepSeekService deepSeekService;
+    private final TokenBucket rateLimiter;
+    private final int batchSize;
+    private final ExecutorService workers;
+
+    private final Counter succeeded;
+    private final Counter failures;
+
+    // 本实例上正在运行的补全线程，null表示未运行
+    private volatile Thread runner;
+    private volatile boolean stopRequested;
+    // 应用关闭与手动停止不同：不把进度标记为stopped，重启后自动继续
+    private volatile boolean shuttingDown;
+    private volatile BackfillCheckpoint current;
+    private volatile long runStartNanos;
+    private final AtomicLong processedThisRun = new AtomicLong();
+
+    public SummaryBackfillServiceImpl(BlogPostMapper blogPostMapper,
+                                      BackfillCheckpointMapper checkpointMapper,
+                                      DeepSeekService deepSeekService,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${summary.backfill.rate-per-second:1}") double ratePerSecond,
+                                      @Value("${summary.backfill.concurrency:2}") int concurrency,
+                                      @Value("${summary.backfill.batch-size:50}") int batchSize) {
+        this.blogPostMapper = blogPostMapper;
+        this.checkpointMapper = checkpointMapper;
+        this.deepSeekService = deepSeekService;
+        this.rateLimiter = new TokenBucket(ratePerSecond, Math.max(1, concurrency));
+        this.batchSize = batchSize;
+        AtomicInteger sequence = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "summary-backfill-worker-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.succeeded = posts(meterRegistry, "success");
+        this.failures = posts(meterRegistry, "failure");
+        Gauge.builder("summary.backfill.throughput", this, SummaryBackfillServiceImpl::postsPerMinute)
+                .baseUnit("posts/min")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 上次运行被重启打断时自动继续
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        try {
+            BackfillCheckpoint checkpoint = checkpointMapper.findByName(CHECKPOINT_NAME);
+            if (checkpoint != null && STATUS_RUNNING.equals(checkpoint.getStatus())) {
+                logger.info("继续上次未完成的摘要补全，从文章ID {} 之后开始", checkpoint.getLastId());
+                start();
+            }
+        } catch (Exception e) {
+            logger.error("检查摘要补全进度失败", e);
+        }
+    }
+
+    @Scheduled(cron = "${summary.backfill.cron:-}")
+    public void scheduledStart() {
+        start();
+    }
+
+    @Override
+    public synchronized BackfillStatus start() {
+        if (runner != null || shuttingDown) {
+            return status();
+        }
+        BackfillCheckpoint checkpoint = checkpointMapper.findByName(CHECKPOINT_NAME);
+        if (checkpoint == null || STATUS_COMPLETED.equals(checkpoint.getStatus())) {
+            // 上一轮已完成，从头开始检查新出现的、或上次失败的文章
+            checkpoint = new BackfillCheckpoint();
+            checkpoint.setName(CHECKPOINT_NAME);
+            checkpoint.setLastId(0);
+            checkpoint.setProcessed(0L);
+            checkpoint.setFailed(0L);
+            checkpoint.setStartedAt(LocalDateTime.now());
+        }
+        checkpoint.setStatus(STATUS_RUNNING);
+        checkpointMapper.upsert(checkpoint);
+
+        BackfillCheckpoint started = checkpoint;
+        current = started;
+        stopRequested = false;
+        processedThisRun.set(0);
+        runStartNanos = System.nanoTime();
+        runner = new Thread(() -> {
+            try {
+                run(started);
+            } catch (Exception e) {
+                logger.error("摘要补全异常结束", e);
+            } finally {
+                runner = null;
+            }
+        }, "summary-backfill");
+        runner.setDaemon(true);
+        runner.start();
+        return status();
+    }
+
+    @Override
+    public BackfillStatus stop() {
+        stopRequested = true;
+        return status();
+    }
+
+    @Override
+    public BackfillStatus status() {
+        BackfillCheckpoint checkpoint = current != null ? current : checkpointMapper.findByName(CHECKPOINT_NAME);
+        BackfillStatus status = new BackfillStatus();
+        status.setRunning(runner != null);
+        if (checkpoint != null) {
+            status.setStatus(checkpoint.getStatus());
+            status.setLastId(checkpoint.getLastId());
+            status.setProcessed(checkpoint.getProcessed());
+            status.setFailed(checkpoint.getFailed());
+            status.setStartedAt(checkpoint.getStartedAt());
+        }
+        status.setPostsPerMinute(postsPerMinute());
+        return status;
+    }
+
+    /**
+     * 按ID游标分批处理，每批处理完保存一次进度，重启后从最后保存的位置继续
+     */
+    void run(BackfillCheckpoint checkpoint) throws InterruptedException {
+        try {
+            runBatches(checkpoint);
+        } catch (InterruptedException | RejectedExecutionException e) {
+            if (!shuttingDown) {
+                throw e;
+            }
+        }
+        if (STATUS_COMPLETED.equals(checkpoint.getStatus())) {
+            return;
+        }
+        if (shuttingDown) {
+            // 进度保持running，未完成的批次重启后重做，已生成摘要的文章不会再被查出
+            logger.info("应用关闭，摘要补全中断在文章ID {} 之后，重启后继续", checkpoint.getLastId());
+            return;
+        }
+
+        checkpoint.setStatus(STATUS_STOPPED);
+        checkpointMapper.upsert(checkpoint);
+        logger.info("摘要补全已停止，停在文章ID {}", checkpoint.getLastId());
+    }
+
+    private void runBatches(BackfillCheckpoint checkpoint) throws InterruptedException {
+        while (!stopRequested && !shuttingDown) {
+            List<Integer> ids = blogPostMapper.findIdsMissingSummary(checkpoint.getLastId(), batchSize);
+            if (ids.isEmpty()) {
+                checkpoint.setStatus(STATUS_COMPLETED);
+                checkpointMapper.upsert(checkpoint);
+                logger.info("摘要补全完成, 成功 {} 篇, 失败 {} 篇", checkpoint.getProcessed(), checkpoint.getFailed());
+                return;
+            }
+
+            AtomicLong batchSucceeded = new AtomicLong();
+            AtomicLong batchFailed = new AtomicLong();
+            CountDownLatch done = new CountDownLatch(ids.size());
+            for (Integer id : ids) {
+                // 令牌桶控制调用速率，线程池大小控制并发数
+                rateLimiter.acquire();
+                workers.execute(() -> {
+                    try {
+                        summarize(id);
+                        batchSucceeded.incrementAndGet();
+                    } catch (Exception e) {
+                        batchFailed.incrementAndGet();
+                        failures.increment();
+                        logger.warn("文章 {} 摘要生成失败: {}", id, e.getMessage());
+                    } finally {
+                        processedThisRun.incrementAndGet();
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+
+            checkpoint.setLastId(ids.get(ids.size() - 1));
+            checkpoint.setProcessed(checkpoint.getProcessed() + batchSucceeded.get());
+            checkpoint.setFailed(checkpoint.getFailed() + batchFailed.get());
+            checkpointMapper.upsert(checkpoint);
+            logger.info("摘要补全进度: 已处理到文章ID {}, 成功 {} 篇, 失败 {} 篇, {} 篇/分钟",
+                    checkpoint.getLastId(), checkpoint.getProcessed(), checkpoint.getFailed(),
+                    String.format("%.1f", postsPerMinute()));
+        }
+    }
+
+    /**
+     * 只保存API生成的摘要；API失败时抛出异常计为失败，文章没有摘要记录，下一轮补全会重试
+     */
+    private void summarize(Integer postId) {
+        deepSeekService.generateApiSummary(postId);
+        succeeded.increment();
+    }
+
+    private double postsPerMinute() {
+        if (runStartNanos == 0) {
+            return 0;
+        }
+        long elapsed = System.nanoTime() - runStartNanos;
+        return elapsed > 0 ? processedThisRun.get() * (double) Duration.ofMinutes(1).toNanos() / elapsed : 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+        // 中断补全线程，避免等待已被shutdownNow丢弃的任务
+        Thread running = runner;
+        if (running != null) {
+            running.interrupt();
+        }
+        workers.shutdownNow();
+        if (running != null) {
+            try {
+                running.join(SHUTDOWN_WAIT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static Counter posts(MeterRegistry registry, String result) {
+        return Counter.builder("summary.backfill.posts").tag("result", result).register(registry);
+    }
+}
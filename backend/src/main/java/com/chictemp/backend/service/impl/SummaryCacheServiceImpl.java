@@ -0,0 +1,119 @@
+package com.chictemp.backend.service.impl;
+
+import com.chictemp.backend.cache.LocalCache;
+import com.chictemp.backend.entity.SummaryCacheEntry;
+import com.chictemp.backend.mapper.SummaryCacheMapper;
+import com.chictemp.backend.service.SummaryCacheService;
+import com.chictemp.backend.util.SummaryKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+public class SummaryCacheServiceImpl implements SummaryCacheService {
+    private static final Logger logger = LoggerFactory.getLogger(SummaryCacheServiceImpl.class);
+
+    private final SummaryCacheMapper summaryCacheMapper;
+    private final LocalCache<String, SummaryCacheEntry> localCache;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final Counter memoryHits;
+    private final Counter databaseHits;
+    private final Counter cacheMisses;
+    private final Counter latencySaved;
+
+    public SummaryCacheServiceImpl(SummaryCacheMapper summaryCacheMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${summary.cache.local.max-size:1000}") int localMaxSize,
+                                   @Value("${summary.cache.local.ttl-seconds:86400}") long localTtlSeconds) {
+        this.summaryCacheMapper = summaryCacheMapper;
+        this.localCache = new LocalCache<>(localMaxSize, Duration.ofSeconds(localTtlSeconds));
+
+        this.memoryHits = requests(meterRegistry, "memory", "hit");
+        this.databaseHits = requests(meterRegistry, "database", "hit");
+        this.cacheMisses = requests(meterRegistry, "all", "miss");
+        this.latencySaved = Counter.builder("summary.cache.latency.saved")
+                .description("命中缓存而省去的摘要生成耗时")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("summary.cache.hit.ratio", this, SummaryCacheServiceImpl::hitRatio)
+                .register(meterRegistry);
+        Gauge.builder("summary.cache.size", localCache, LocalCache::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String get(String content, int maxLength, String model) {
+        String key = SummaryKey.of(content, maxLength, model);
+
+        SummaryCacheEntry entry = localCache.get(key);
+        if (entry != null) {
+            recordHit(memoryHits, entry);
+            return entry.getSummary();
+        }
+
+        try {
+            entry = summaryCacheMapper.findByKey(key);
+        } catch (Exception e) {
+            logger.warn("读取摘要缓存表失败: {}", e.getMessage());
+        }
+        if (entry != null) {
+            localCache.put(key, entry);
+            recordHit(databaseHits, entry);
+            return entry.getSummary();
+        }
+
+        misses.increment();
+        cacheMisses.increment();
+        return null;
+    }
+
+    @Override
+    public void put(String content, int maxLength, String model, String summary, long latencyMs) {
+        if (summary == null || summary.isEmpty()) {
+            return;
+        }
+        SummaryCacheEntry entry = new SummaryCacheEntry();
+        entry.setCacheKey(SummaryKey.of(content, maxLength, model));
+        entry.setModel(model);
+        entry.setMaxLength(maxLength);
+        entry.setSummary(summary);
+        entry.setLatencyMs(latencyMs);
+
+        localCache.put(entry.getCacheKey(), entry);
+        try {
+            summaryCacheMapper.upsert(entry);
+        } catch (Exception e) {
+            logger.warn("写入摘要缓存表失败: {}", e.getMessage());
+        }
+    }
+
+    private void recordHit(Counter tierHits, SummaryCacheEntry entry) {
+        hits.increment();
+        tierHits.increment();
+        if (entry.getLatencyMs() != null) {
+            latencySaved.increment(entry.getLatencyMs());
+        }
+    }
+
+    private double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    private static Counter requests(MeterRegistry registry, String tier, String result) {
+        return Counter.builder("summary.cache.requests")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,233 @@
+package com.chictemp.backend.service.impl;
+
+import com.chictemp.backend.dto.ApiResponse;
+import com.chictemp.backend.entity.SummaryJob;
+import com.chictemp.backend.entity.SummaryJobStatus;
+import com.chictemp.backend.mapper.SummaryJobMapper;
+import com.chictemp.backend.service.SummaryJobService;
+import com.chictemp.backend.util.DeepSeekClient;
+import com.chictemp.backend.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+@Service
+public class SummaryJobServiceImpl implements SummaryJobService {
+    private static final Logger logger = LoggerFactory.getLogger(SummaryJobServiceImpl.class);
+
+    static final int DEFAULT_MAX_LENGTH = 30;
+    // 定时投递每次读取的待执行任务数
+    private static final int DISPATCH_BATCH_SIZE = 100;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final SummaryJobMapper summaryJobMapper;
+    private final DeepSeekClient deepSeekClient;
+    private final Executor jobExecutor;
+    private final long staleAfterMillis;
+    private final int maxAttempts;
+    private final long sseTimeoutMillis;
+
+    // 已投递到线程池尚未开始的任务，避免定时投递时重复入队
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+    // 等待任务结束的SSE订阅
+    private final ConcurrentHashMap<String, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    public SummaryJobServiceImpl(SummaryJobMapper summaryJobMapper,
+                                 DeepSeekClient deepSeekClient,
+                                 @Qualifier("summaryJobExecutor") Executor jobExecutor,
+                                 @Value("${summary.jobs.stale-after-ms:600000}") long staleAfterMillis,
+                                 @Value("${summary.jobs.max-attempts:3}") int maxAttempts,
+                                 @Value("${summary.jobs.sse-timeout-ms:120000}") long sseTimeoutMillis) {
+        this.summaryJobMapper = summaryJobMapper;
+        this.deepSeekClient = deepSeekClient;
+        this.jobExecutor = jobExecutor;
+        this.staleAfterMillis = staleAfterMillis;
+        this.maxAttempts = maxAttempts;
+        this.sseTimeoutMillis = sseTimeoutMillis;
+    }
+
+    @Override
+    public SummaryJob submit(String content, Integer maxLength) {
+        if (content == null || content.trim().isEmpty()) {
+            throw new IllegalArgumentException("内容为空，无法生成摘要");
+        }
+        int length = maxLength != null ? maxLength : DEFAULT_MAX_LENGTH;
+        if (length <= 0 || length > MAX_SUMMARY_LENGTH) {
+            throw new IllegalArgumentException("摘要长度需在1到" + MAX_SUMMARY_LENGTH + "之间");
+        }
+
+        SummaryJob job = new SummaryJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setStatus(SummaryJobStatus.PENDING.getValue());
+        job.setContent(content);
+        job.setMaxLength(length);
+        job.setAttempts(0);
+        summaryJobMapper.insert(job);
+        job.setCreatedAt(LocalDateTime.now());
+
+        logger.info("已创建摘要任务 {}, 内容长度: {} 字符", job.getId(), content.length());
+        TransactionUtils.afterCommit(() -> dispatch(job.getId()));
+        return job;
+    }
+
+    @Override
+    public SummaryJob findById(String id) {
+        return summaryJobMapper.findById(id);
+    }
+
+    @Override
+    public SseEmitter subscribe(String id) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+        SummaryJob job = summaryJobMapper.findById(id);
+        if (job == null) {
+            sendAndComplete(emitter, "error", ApiResponse.error("任务不存在"));
+            return emitter;
+        }
+        if (SummaryJobStatus.isFinished(job.getStatus())) {
+            sendAndComplete(emitter, "job", job);
+            return emitter;
+        }
+
+        subscribers.computeIfAbsent(id, k -> new CopyOnWriteArrayList<>()).add(emitter);
+        emitter.onCompletion(() -> unsubscribe(id, emitter));
+        emitter.onTimeout(() -> unsubscribe(id, emitter));
+        emitter.onError(e -> unsubscribe(id, emitter));
+        try {
+            emitter.send(SseEmitter.event().name("job").data(job));
+        } catch (IOException e) {
+            unsubscribe(id, emitter);
+            return emitter;
+        }
+
+        // 订阅前任务可能刚好结束，再确认一次
+        SummaryJob latest = summaryJobMapper.findById(id);
+        if (latest != null && SummaryJobStatus.isFinished(latest.getStatus())) {
+            notifySubscribers(latest);
+        }
+        return emitter;
+    }
+
+    /**
+     * 启动时接管上次未完成的任务
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        try {
+            dispatchPending();
+        } catch (Exception e) {
+            logger.error("启动时恢复摘要任务失败", e);
+        }
+    }
+
+    /**
+     * 定时投递待执行的任务：线程池队列满时未能投递的、其他实例中断后重新排队的
+     */
+    @Scheduled(fixedDelayString = "${summary.jobs.poll-interval-ms:5000}")
+    public void dispatchPending() {
+        LocalDateTime staleBefore = LocalDateTime.now().minus(Duration.ofMillis(staleAfterMillis));
+        int failed = summaryJobMapper.failExhausted(staleBefore, maxAttempts);
+        int requeued = summaryJobMapper.requeueStale(staleBefore, maxAttempts);
+        if (failed > 0 || requeued > 0) {
+            logger.warn("摘要任务执行中断: 重新排队 {} 个, 标记失败 {} 个", requeued, failed);
+        }
+        for (String id : summaryJobMapper.findPendingIds(DISPATCH_BATCH_SIZE)) {
+            if (!dispatch(id)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 投递到线程池
+     * @return 线程池队列已满时返回false，任务留在数据库中等待下次投递
+     */
+    private boolean dispatch(String id) {
+        if (!queued.add(id)) {
+            return true;
+        }
+        try {
+            jobExecutor.execute(() -> {
+                queued.remove(id);
+                run(id);
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            queued.remove(id);
+            logger.info("摘要任务队列已满，任务 {} 稍后执行", id);
+            return false;
+        }
+    }
+
+    private void run(String id) {
+        // 领取失败说明已被其他实例执行
+        if (summaryJobMapper.markRunning(id) == 0) {
+            return;
+        }
+        SummaryJob job = summaryJobMapper.findById(id);
+        if (job == null) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            String summary = deepSeekClient.generateSummary(job.getContent(), job.getMaxLength());
+            summaryJobMapper.markSucceeded(id, summary);
+            logger.info("摘要任务 {} 完成，耗时 {}ms", id, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("摘要任务 {} 失败: {}", id, e.getMessage(), e);
+            summaryJobMapper.markFailed(id, abbreviate(String.valueOf(e.getMessage())));
+        }
+
+        SummaryJob finished = summaryJobMapper.findById(id);
+        if (finished != null) {
+            notifySubscribers(finished);
+        }
+    }
+
+    private void notifySubscribers(SummaryJob job) {
+        List<SseEmitter> emitters = subscribers.remove(job.getId());
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            sendAndComplete(emitter, "job", job);
+        }
+    }
+
+    private void unsubscribe(String id, SseEmitter emitter) {
+        subscribers.computeIfPresent(id, (k, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private static void sendAndComplete(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            // 客户端已断开
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static String abbreviate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
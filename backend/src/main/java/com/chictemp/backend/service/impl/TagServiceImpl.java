@@ -0,0 +1,447 @@
+package com.chictemp.backend.service.impl;
+
+import com.chictemp.backend.entity.PostTag;
+import com.chictemp.backend.entity.Tag;
+import com.chictemp.backend.mapper.PostTagMapper;
+import com.chictemp.backend.mapper.TagMapper;
+import com.chictemp.backend.service.PostCacheService;
+import com.chictemp.backend.service.TagService;
+import com.chictemp.backend.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class TagServiceImpl implements TagService {
+    private static final Logger logger = LoggerFactory.getLogger(TagServiceImpl.class);
+
+    // 内存中缓存的热门标签数量
+    static final int POPULAR_CACHE_SIZE = 50;
+    // 修复任务每批重新统计的标签数
+    private static final int REPAIR_BATCH_SIZE = 500;
+
+    @Autowired
+    private TagMapper tagMapper;
+
+    @Autowired
+    private PostTagMapper postTagMapper;
+
+    @Autowired
+    private PostCacheService postCacheService;
+
+    // 热门标签缓存，版本号与 popularVersion 不一致时视为过期
+    private volatile PopularSnapshot popularCache;
+    // 每次失效加一，查询期间发生的失效会使查询结果在写入缓存前就已过期
+    private final AtomicLong popularVersion = new AtomicLong();
+
+    // 标签字典，写时复制：修改时整体替换，读取无锁；为null表示尚未加载
+    private volatile TagDictionary dictionary;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadDictionaryOnStartup() {
+        try {
+            reloadDictionary();
+        } catch (Exception e) {
+            logger.error("启动时加载标签字典失败，将在首次使用时重试", e);
+        }
+    }
+
+    /**
+     * 定期重新加载，纳入其他实例对标签的修改
+     */
+    @Scheduled(initialDelayString = "${tag.dictionary.reload-interval-ms:300000}",
+            fixedDelayString = "${tag.dictionary.reload-interval-ms:300000}")
+    public void scheduledReload() {
+        try {
+            reloadDictionary();
+        } catch (Exception e) {
+            logger.error("重新加载标签字典失败", e);
+        }
+    }
+
+    @Override
+    public synchronized void reloadDictionary() {
+        List<Tag> tags = tagMapper.findAll();
+        dictionary = TagDictionary.EMPTY.with(tags);
+        logger.info("标签字典已加载, 标签数={}", tags.size());
+    }
+
+    @Override
+    public List<Tag> findAll() {
+        return tagMapper.findAll();
+    }
+
+    @Override
+    public Tag findById(Integer id) {
+        return tagMapper.findById(id);
+    }
+
+    @Override
+    public Tag findByName(String name) {
+        Integer id = findIdByName(name);
+        if (id != null) {
+            return getById(id);
+        }
+        Tag tag = tagMapper.findByName(name);
+        if (tag != null) {
+            registerAfterCommit(Collections.singletonList(tag));
+        }
+        return tag;
+    }
+
+    @Override
+    public List<Tag> findByPostId(Integer postId) {
+        return tagMapper.findByPostId(postId);
+    }
+
+    @Override
+    public Tag create(Tag tag) {
+        tag.setPostCount(0);
+        tagMapper.insert(tag);
+        registerAfterCommit(Collections.singletonList(tag));
+        return tag;
+    }
+
+    @Override
+    public Tag update(Integer id, Tag tag) {
+        tag.setId(id);
+        tagMapper.update(tag);
+        registerAfterCommit(Collections.singletonList(tag));
+        invalidatePopular();
+        evictTaggedPosts(taggedPostIds(id));
+        return tag;
+    }
+
+    @Override
+    public boolean delete(Integer id) {
+        // post_tags 通过外键级联删除，删除前先查出受影响的博客
+        List<Integer> postIds = taggedPostIds(id);
+        tagMapper.delete(id);
+        TransactionUtils.afterCommit(() -> unregister(id));
+        invalidatePopular();
+        evictTaggedPosts(postIds);
+        return true;
+    }
+
+    @Override
+    public List<Tag> findPopular(int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        if (limit > POPULAR_CACHE_SIZE) {
+            return tagMapper.findPopular(limit);
+        }
+        PopularSnapshot cached = popularCache;
+        if (cached == null || cached.version != popularVersion.get()) {
+            // 先取版本再查询，查询期间被失效的结果即使写入缓存，下次读取也会重新加载
+            long version = popularVersion.get();
+            cached = new PopularSnapshot(version,
+                    Collections.unmodifiableList(tagMapper.findPopular(POPULAR_CACHE_SIZE)));
+            popularCache = cached;
+        }
+        List<Tag> popular = cached.tags;
+        return new ArrayList<>(popular.subList(0, Math.min(limit, popular.size())));
+    }
+
+    @Override
+    public Tag getById(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        List<Tag> tags = getByIds(Collections.singletonList(id));
+        return tags.isEmpty() ? null : tags.get(0);
+    }
+
+    @Override
+    public List<Tag> getByIds(Collection<Integer> ids) {
+        List<Tag> result = new ArrayList<>(ids.size());
+        if (ids.isEmpty()) {
+            return result;
+        }
+        TagDictionary current = dictionary();
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : ids) {
+            if (!current.byId.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+
+        // 字典中没有的标签（如其他实例新建的）回源一次
+        Map<Integer, Tag> loaded = new HashMap<>();
+        if (!missing.isEmpty()) {
+            List<Tag> tags = tagMapper.findByIds(missing);
+            for (Tag tag : tags) {
+                loaded.put(tag.getId(), TagDictionary.intern(tag));
+            }
+            registerAfterCommit(tags);
+        }
+
+        for (Integer id : ids) {
+            Tag tag = current.byId.get(id);
+            if (tag == null) {
+                tag = loaded.get(id);
+            }
+            if (tag != null) {
+                result.add(tag);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Integer findIdByName(String name) {
+        if (name == null) {
+            return null;
+        }
+        return dictionary().idByName.get(TagDictionary.normalize(name));
+    }
+
+    @Override
+    public Set<Integer> resolveOrCreate(Collection<String> names) {
+        // 规范化名称 -> 去除首尾空白后的原始名称，保持传入顺序
+        Map<String, String> wanted = new LinkedHashMap<>();
+        if (names != null) {
+            for (String name : names) {
+                if (name != null && !name.trim().isEmpty()) {
+                    wanted.putIfAbsent(TagDictionary.normalize(name), name.trim());
+                }
+            }
+        }
+
+        TagDictionary current = dictionary();
+        Map<String, Integer> resolved = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<String, String> entry : wanted.entrySet()) {
+            Integer id = current.idByName.get(entry.getKey());
+            if (id != null) {
+                resolved.put(entry.getKey(), id);
+            } else {
+                missing.add(entry.getValue());
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            // 依赖 tags.name 的唯一约束，已存在（如其他实例刚创建）的名称被忽略，随后一并查回
+            tagMapper.insertIgnoreBatch(missing);
+            List<Tag> created = tagMapper.findByNames(missing);
+            for (Tag tag : created) {
+                resolved.putIfAbsent(TagDictionary.normalize(tag.getName()), tag.getId());
+            }
+            registerAfterCommit(created);
+        }
+
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (Map.Entry<String, String> entry : wanted.entrySet()) {
+            Integer id = resolved.get(entry.getKey());
+            if (id != null) {
+                ids.add(id);
+            } else {
+                logger.warn("标签创建后仍未查到: {}", entry.getValue());
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public void updatePostCounts(Collection<Integer> addedTagIds, Collection<Integer> removedTagIds) {
+        boolean changed = false;
+        if (addedTagIds != null && !addedTagIds.isEmpty()) {
+            tagMapper.adjustPostCounts(addedTagIds, 1);
+            changed = true;
+        }
+        if (removedTagIds != null && !removedTagIds.isEmpty()) {
+            tagMapper.adjustPostCounts(removedTagIds, -1);
+            changed = true;
+        }
+        if (changed) {
+            invalidatePopular();
+        }
+    }
+
+    @Scheduled(cron = "${tag.count.repair-cron:0 30 3 * * *}")
+    public void scheduledRepair() {
+        try {
+            repairPostCounts();
+        } catch (Exception e) {
+            logger.error("修复标签文章数失败", e);
+        }
+    }
+
+    /**
+     * 每批一个短事务，避免长时间锁住整张表
+     */
+    @Override
+    public int repairPostCounts() {
+        long start = System.currentTimeMillis();
+        int updated = 0;
+        int afterId = 0;
+        List<Integer> ids;
+        do {
+            ids = tagMapper.findIdsAfter(afterId, REPAIR_BATCH_SIZE);
+            if (ids.isEmpty()) {
+                break;
+            }
+            int toId = ids.get(ids.size() - 1);
+            updated += tagMapper.recountPostCounts(ids.get(0), toId);
+            afterId = toId;
+        } while (ids.size() == REPAIR_BATCH_SIZE);
+
+        invalidatePopular();
+        logger.info("标签文章数修复完成, 标签数={}, 耗时={}ms", updated, System.currentTimeMillis() - start);
+        return updated;
+    }
+
+    private TagDictionary dictionary() {
+        TagDictionary current = dictionary;
+        if (current == null) {
+            synchronized (this) {
+                if (dictionary == null) {
+                    reloadDictionary();
+                }
+                current = dictionary;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 事务提交后再写入字典，回滚的标签不会进入字典
+     */
+    private void registerAfterCommit(List<Tag> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return;
+        }
+        List<Tag> snapshot = new ArrayList<>(tags.size());
+        for (Tag tag : tags) {
+            snapshot.add(TagDictionary.intern(tag));
+        }
+        TransactionUtils.afterCommit(() -> {
+            synchronized (this) {
+                dictionary = dictionary().with(snapshot);
+            }
+        });
+    }
+
+    private synchronized void unregister(Integer id) {
+        dictionary = dictionary().without(id);
+    }
+
+    private List<Integer> taggedPostIds(Integer tagId) {
+        List<Integer> postIds = new ArrayList<>();
+        for (PostTag relation : postTagMapper.findByTagId(tagId)) {
+            postIds.add(relation.getPostId());
+        }
+        return postIds;
+    }
+
+    /**
+     * 博客详情和列表缓存中带有标签名，标签改名或删除后需要失效
+     */
+    private void evictTaggedPosts(List<Integer> postIds) {
+        for (Integer postId : postIds) {
+            postCacheService.evictPost(postId);
+        }
+        postCacheService.evictLists();
+    }
+
+    /**
+     * 立即失效，事务提交后再失效一次，防止提交前的并发读取把旧计数重新放入缓存
+     */
+    private void invalidatePopular() {
+        popularVersion.incrementAndGet();
+        TransactionUtils.afterCommit(popularVersion::incrementAndGet);
+    }
+
+    private static final class PopularSnapshot {
+        private final long version;
+        private final List<Tag> tags;
+
+        private PopularSnapshot(long version, List<Tag> tags) {
+            this.version = version;
+            this.tags = tags;
+        }
+    }
+
+    /**
+     * 不可变的标签字典快照
+     */
+    static final class TagDictionary {
+        static final TagDictionary EMPTY = new TagDictionary(new HashMap<>(), new HashMap<>());
+
+        private final Map<Integer, Tag> byId;
+        // 规范化名称 -> 标签ID
+        private final Map<String, Integer> idByName;
+
+        private TagDictionary(Map<Integer, Tag> byId, Map<String, Integer> idByName) {
+            this.byId = byId;
+            this.idByName = idByName;
+        }
+
+        /**
+         * 复制当前字典并加入或替换给定标签
+         */
+        TagDictionary with(Collection<Tag> tags) {
+            Map<Integer, Tag> nextById = new HashMap<>(byId);
+            Map<String, Integer> nextIdByName = new HashMap<>(idByName);
+            for (Tag source : tags) {
+                if (source.getId() == null || source.getName() == null) {
+                    continue;
+                }
+                Tag previous = nextById.get(source.getId());
+                if (previous != null) {
+                    nextIdByName.remove(normalize(previous.getName()), previous.getId());
+                }
+                Tag tag = intern(source);
+                if (tag.getCreatedAt() == null && previous != null) {
+                    tag.setCreatedAt(previous.getCreatedAt());
+                }
+                nextById.put(tag.getId(), tag);
+                nextIdByName.put(normalize(tag.getName()), tag.getId());
+            }
+            return new TagDictionary(nextById, nextIdByName);
+        }
+
+        TagDictionary without(Integer id) {
+            Tag previous = byId.get(id);
+            if (previous == null) {
+                return this;
+            }
+            Map<Integer, Tag> nextById = new HashMap<>(byId);
+            Map<String, Integer> nextIdByName = new HashMap<>(idByName);
+            nextById.remove(id);
+            nextIdByName.remove(normalize(previous.getName()), id);
+            return new TagDictionary(nextById, nextIdByName);
+        }
+
+        static String normalize(String name) {
+            return name.trim().toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * 字典中保存的副本只保留ID、名称和创建时间，文章数变化频繁不放入字典
+         */
+        static Tag intern(Tag source) {
+            Tag tag = new Tag();
+            tag.setId(source.getId());
+            tag.setName(source.getName() != null ? source.getName().trim() : null);
+            tag.setCreatedAt(source.getCreatedAt());
+            return tag;
+        }
+    }
+}
@@ -9,7 +9,10 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.DigestUtils;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -36,6 +39,15 @@ public class UserServiceImpl implements UserService {
         return user;
     }
     
+    @Override
+    public List<User> findByUsernames(Collection<String> usernames) {
+        if (usernames == null || usernames.isEmpty()) {
+            return new ArrayList<>();
+        }
+        logger.fine("批量查找用户, 数量: " + usernames.size());
+        return userMapper.findByUsernames(usernames);
+    }
+    
     @Override
     public User findByEmail(String email) {
         logger.info("通过邮箱查找用户: " + email);
@@ -0,0 +1,166 @@
+package com.chictemp.backend.service.impl;
+
+import com.chictemp.backend.dto.ViewCountDelta;
+import com.chictemp.backend.mapper.ViewCountMapper;
+import com.chictemp.backend.service.ViewCounterService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+public class ViewCounterServiceImpl implements ViewCounterService {
+    private static final Logger logger = LoggerFactory.getLogger(ViewCounterServiceImpl.class);
+
+    // 每条UPDATE语句最多写入的行数
+    private static final int BATCH_SIZE = 500;
+
+    /*
+     * 每个 (类型, ID) 一个LongAdder，高并发下累加不会争用同一个计数器
+     * 计数器写回后先清零保留，一个刷新周期内没有新的浏览才删除，减少与并发increment的竞争
+     */
+    private final ConcurrentHashMap<CounterKey, LongAdder> pending = new ConcurrentHashMap<>();
+    // 写回失败的次数，超过上限的增量丢弃，不再无限重试
+    private final ConcurrentHashMap<CounterKey, Integer> failedAttempts = new ConcurrentHashMap<>();
+
+    private final ViewCountMapper viewCountMapper;
+    // 内存中最多保留的计数器数量，超出后新ID的浏览不再计数，防止任意ID撑大内存
+    private final int maxPendingKeys;
+    private final int maxRetries;
+
+    public ViewCounterServiceImpl(ViewCountMapper viewCountMapper,
+                                  @Value("${view.counter.max-pending-keys:100000}") int maxPendingKeys,
+                                  @Value("${view.counter.max-retries:3}") int maxRetries) {
+        this.viewCountMapper = viewCountMapper;
+        this.maxPendingKeys = maxPendingKeys;
+        this.maxRetries = maxRetries;
+    }
+
+    @Override
+    public long increment(Target target, Integer id) {
+        if (target == null || id == null) {
+            return 0;
+        }
+        CounterKey key = new CounterKey(target, id);
+        LongAdder adder = pending.get(key);
+        if (adder == null) {
+            if (pending.size() >= maxPendingKeys) {
+                logger.debug("待写回的浏览量计数器已达上限 {}，忽略 {} {}", maxPendingKeys, target, id);
+                return 0;
+            }
+            adder = pending.computeIfAbsent(key, k -> new LongAdder());
+        }
+        adder.increment();
+        return adder.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${view.counter.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        logger.info("应用关闭，写回剩余浏览量");
+        flush();
+    }
+
+    @Override
+    public synchronized int flush() {
+        // 取出各计数器当前的增量并清零，上个周期起没有浏览的计数器删除
+        Map<Target, List<ViewCountDelta>> batches = new EnumMap<>(Target.class);
+        for (Map.Entry<CounterKey, LongAdder> entry : pending.entrySet()) {
+            CounterKey key = entry.getKey();
+            LongAdder adder = entry.getValue();
+            long delta = adder.sumThenReset();
+            if (delta == 0 && pending.remove(key, adder)) {
+                // 删除前拿到旧计数器的并发浏览一并写回
+                delta = adder.sumThenReset();
+            }
+            if (delta > 0) {
+                batches.computeIfAbsent(key.target, t -> new ArrayList<>()).add(new ViewCountDelta(key.id, delta));
+            }
+        }
+
+        int updated = 0;
+        for (Map.Entry<Target, List<ViewCountDelta>> entry : batches.entrySet()) {
+            Target target = entry.getKey();
+            List<ViewCountDelta> deltas = entry.getValue();
+            for (int from = 0; from < deltas.size(); from += BATCH_SIZE) {
+                List<ViewCountDelta> batch = deltas.subList(from, Math.min(from + BATCH_SIZE, deltas.size()));
+                try {
+                    updated += viewCountMapper.incrementViewCounts(target.getTable(), batch);
+                    if (!failedAttempts.isEmpty()) {
+                        for (ViewCountDelta delta : batch) {
+                            failedAttempts.remove(new CounterKey(target, delta.getId()));
+                        }
+                    }
+                } catch (Exception e) {
+                    logger.error("写回浏览量失败, table={}, 数量={}: {}", target.getTable(), batch.size(), e.getMessage());
+                    requeue(target, batch);
+                }
+            }
+        }
+
+        if (updated > 0) {
+            logger.debug("浏览量写回完成, 更新行数={}", updated);
+        }
+        return updated;
+    }
+
+    /**
+     * 写回失败的增量放回计数器等待下次刷新，连续失败超过上限的丢弃
+     */
+    private void requeue(Target target, List<ViewCountDelta> batch) {
+        int dropped = 0;
+        for (ViewCountDelta delta : batch) {
+            CounterKey key = new CounterKey(target, delta.getId());
+            if (failedAttempts.merge(key, 1, Integer::sum) > maxRetries) {
+                failedAttempts.remove(key);
+                dropped++;
+                continue;
+            }
+            pending.computeIfAbsent(key, k -> new LongAdder()).add(delta.getDelta());
+        }
+        if (dropped > 0) {
+            logger.error("浏览量连续写回失败超过 {} 次，丢弃 {} 条增量, table={}", maxRetries, dropped, target.getTable());
+        }
+    }
+
+    private static final class CounterKey {
+        private final Target target;
+        private final Integer id;
+
+        private CounterKey(Target target, Integer id) {
+            this.target = target;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CounterKey)) {
+                return false;
+            }
+            CounterKey other = (CounterKey) o;
+            return target == other.target && id.equals(other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(target, id);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.chictemp.backend.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 重试退避
+ */
+public final class Backoff {
+
+    private Backoff() {
+    }
+
+    /**
+     * 指数退避加全抖动：在 [0, min(maxMillis, baseMillis * 2^attempt)] 内随机取值，
+     * 避免多个请求在同一时刻一起重试
+     * @param attempt 第几次重试，从0开始
+     */
+    public static long jitteredDelay(int attempt, long baseMillis, long maxMillis) {
+        long ceiling = baseMillis << Math.min(attempt, 20);
+        if (ceiling <= 0 || ceiling > maxMillis) {
+            ceiling = maxMillis;
+        }
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+}
@@ -0,0 +1,110 @@
+package com.chictemp.backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * 中英文混合分词
+ * 连续的中日韩文字切成相邻两字的二元组（单字成词时输出单字），
+ * 连续的字母数字作为一个词并转为小写，其余字符作为分隔符
+ */
+public final class BigramTokenizer {
+
+    private BigramTokenizer() {
+    }
+
+    public static List<String> tokenize(CharSequence text) {
+        List<String> tokens = new ArrayList<>();
+        tokenize(text, tokens::add);
+        return tokens;
+    }
+
+    /**
+     * 逐个输出词元，不构建中间列表
+     */
+    public static void tokenize(CharSequence text, Consumer<String> sink) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (isCjk(c)) {
+                int start = i;
+                while (i < length && isCjk(text.charAt(i))) {
+                    i++;
+                }
+                if (i - start == 1) {
+                    sink.accept(String.valueOf(c));
+                } else {
+                    for (int j = start; j + 1 < i; j++) {
+                        sink.accept(text.subSequence(j, j + 2).toString());
+                    }
+                }
+            } else if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                while (i < length && Character.isLetterOrDigit(text.charAt(i)) && !isCjk(text.charAt(i))) {
+                    i++;
+                }
+                sink.accept(text.subSequence(start, i).toString().toLowerCase(Locale.ROOT));
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * 输出与 tokenize 相同切分方式的词元编号，不创建字符串，供只需比较词元是否相同的打分计算使用
+     * 单字为字符本身，二元组为 (c1 << 16) | c2，两者都是精确编码，不同的字或二元组编号一定不同；
+     * 字母数字词为小写后字符串的hashCode，极少数情况下可能与其他词元冲突
+     */
+    public static void tokenHashes(CharSequence text, IntConsumer sink) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (isCjk(c)) {
+                int start = i;
+                while (i < length && isCjk(text.charAt(i))) {
+                    i++;
+                }
+                if (i - start == 1) {
+                    sink.accept(c);
+                } else {
+                    for (int j = start; j + 1 < i; j++) {
+                        sink.accept(text.charAt(j) << 16 | text.charAt(j + 1));
+                    }
+                }
+            } else if (Character.isLetterOrDigit(c)) {
+                int hash = 0;
+                while (i < length && Character.isLetterOrDigit(text.charAt(i)) && !isCjk(text.charAt(i))) {
+                    hash = 31 * hash + Character.toLowerCase(text.charAt(i));
+                    i++;
+                }
+                sink.accept(hash);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * 判断是否为中日韩文字（汉字、假名、谚文）
+     */
+    public static boolean isCjk(char c) {
+        Character.UnicodeBlock block = Character.UnicodeBlock.of(c);
+        return block == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS
+                || block == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS_EXTENSION_A
+                || block == Character.UnicodeBlock.CJK_COMPATIBILITY_IDEOGRAPHS
+                || block == Character.UnicodeBlock.HIRAGANA
+                || block == Character.UnicodeBlock.KATAKANA
+                || block == Character.UnicodeBlock.HANGUL_SYLLABLES;
+    }
+}
@@ -0,0 +1,65 @@
+package com.chictemp.backend.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * 解析chat completions流式响应的单个chunk，只取 choices[0].delta.content
+ *
+ * 用Jackson的流式解析器逐个token扫描，不构造Map，其余字段直接跳过。
+ * 解析器取自Spring配置的ObjectMapper，与其余JSON处理共用同一份解析配置。
+ */
+@Component
+public class ChatStreamParser {
+    private final JsonFactory jsonFactory;
+
+    public ChatStreamParser(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * @return chunk中的增量文本，没有内容（如仅含role或finish_reason）时返回null
+     * @throws IOException chunk不是合法JSON
+     */
+    public String deltaContent(String chunk) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(chunk)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("choices".equals(field) && value == JsonToken.START_ARRAY) {
+                    return parser.nextToken() == JsonToken.START_OBJECT ? firstChoiceContent(parser) : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    private static String firstChoiceContent(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("delta".equals(field) && value == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String deltaField = parser.currentName();
+                    JsonToken deltaValue = parser.nextToken();
+                    if ("content".equals(deltaField) && deltaValue == JsonToken.VALUE_STRING) {
+                        return parser.getText();
+                    }
+                    parser.skipChildren();
+                }
+                return null;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+}
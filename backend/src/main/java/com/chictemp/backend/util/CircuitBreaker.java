@@ -0,0 +1,112 @@
+package com.chictemp.backend.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 熔断器：连续失败达到阈值后打开，打开期间直接拒绝调用；
+ * 打开时间结束后进入半开状态，只放行一个探测调用，成功则关闭，失败则重新打开
+ *
+ * 每次 {@link #tryAcquire()} 返回true后，调用方必须以 {@link #onSuccess()}、{@link #onFailure()}
+ * 或 {@link #release()} 之一结束。
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED(0), HALF_OPEN(1), OPEN(2);
+
+        private final int code;
+
+        State(int code) {
+            this.code = code;
+        }
+
+        /**
+         * 用于监控指标的数值
+         */
+        public int getCode() {
+            return code;
+        }
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    // 半开状态下探测调用的开始时间，0表示没有进行中的探测
+    private long probeStartedAt;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this(failureThreshold, openMillis, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(int failureThreshold, long openMillis, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * 是否允许本次调用
+     */
+    public synchronized boolean tryAcquire() {
+        long now = clock.getAsLong();
+        if (state == State.OPEN) {
+            if (now - openedAt < openMillis) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probeStartedAt = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            // 探测调用没有结束（例如调用方线程被中断）时，超过打开时间后允许新的探测
+            if (probeStartedAt != 0 && now - probeStartedAt < openMillis) {
+                return false;
+            }
+            probeStartedAt = now;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeStartedAt = 0;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+            probeStartedAt = 0;
+        }
+    }
+
+    /**
+     * 立即打开熔断，例如预热探测发现端点不可达
+     */
+    public synchronized void trip() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+        probeStartedAt = 0;
+    }
+
+    /**
+     * 调用未完成（如被取消），不计入成功或失败
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN) {
+            probeStartedAt = 0;
+        }
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openMillis) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+}
@@ -1,20 +1,34 @@
 package com.chictemp.backend.util;
 
+import com.chictemp.backend.dto.ChatCompletionRequest;
+import com.chictemp.backend.dto.ChatCompletionResponse;
+import com.chictemp.backend.dto.ChatMessage;
+import com.chictemp.backend.service.SummaryCacheService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.stream.Stream;
 
 @Component
 public class DeepSeekClient {
@@ -23,29 +37,114 @@ public class DeepSeekClient {
     @Value("${deepseek.api.key}")
     private String apiKey;
 
-    @Value("${deepseek.api.url}")
-    private String apiUrl;
+    // 摘要使用的模型，同时作为摘要缓存key的一部分
+    private static final String SUMMARY_MODEL = "deepseek-chat";
 
-    // 使用具有超时设置的RestTemplate
-    private final RestTemplate restTemplate;
+    private static final String NO_SUMMARY_IN_RESPONSE = "无法从API响应中提取摘要";
+
+    // 摘要开头常见的引导语，依次移除
+    private static final List<Pattern> LEADING_PHRASES = Stream.of(
+            "^摘要[:：]\\s*",
+            "^以下是摘要[:：]\\s*",
+            "^文章摘要[:：]\\s*",
+            "^这篇文章[:：]\\s*",
+            "^这篇文章的主要内容是\\s*",
+            "^这篇文章主要讲述了\\s*",
+            "^核心内容[:：]\\s*",
+            "^极简摘要[:：]\\s*",
+            "^30字摘要[:：]\\s*"
+    ).map(Pattern::compile).toList();
+
+    // 摘要引擎：api 调用DeepSeek（失败时回退本地引擎），local 只使用本地抽取式摘要
+    @Value("${summary.engine:api}")
+    private String summaryEngine;
+
+    @Autowired
+    private SummaryEngine localEngine;
+
+    @Autowired
+    private SummaryCacheService summaryCacheService;
+
+    @Autowired
+    @Qualifier("summaryExecutor")
+    private ExecutorService summaryExecutor;
+
+    // 单个调用方等待摘要的最长时间，超时后只放弃自己的等待
+    @Value("${summary.single-flight.wait-timeout-ms:90000}")
+    private long waitTimeoutMillis;
+
+    // 合并后的API调用整体超时，超时后取消调用
+    @Value("${summary.single-flight.call-timeout-ms:120000}")
+    private long callTimeoutMillis;
+
+    // 相同内容的并发摘要请求共享一次API调用
+    private SingleFlight<String, String> inFlightSummaries;
+
+    // 连接复用、有并发上限和超时的HTTP客户端
+    @Autowired
+    private DeepSeekHttpClient httpClient;
+
+    // API端点及其熔断状态
+    @Autowired
+    private DeepSeekEndpoints endpoints;
+
+    // 流式响应chunk解析
+    @Autowired
+    private ChatStreamParser chatStreamParser;
+
+    // 一次摘要请求最多调用API的次数（所有端点合计）、每个端点最多尝试次数
+    @Value("${deepseek.retry.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${deepseek.retry.attempts-per-endpoint:2}")
+    private int attemptsPerEndpoint;
+
+    // 重试退避的基础时间和上限（毫秒）
+    @Value("${deepseek.retry.base-delay-ms:200}")
+    private long retryBaseDelayMillis;
+
+    @Value("${deepseek.retry.max-delay-ms:2000}")
+    private long retryMaxDelayMillis;
+
+    // 对冲请求策略，默认关闭
+    @Autowired
+    private DeepSeekHedging hedging;
+
+    // 超过该估算token数的内容分段摘要
+    @Value("${deepseek.chunk.threshold-tokens:6000}")
+    private int chunkThresholdTokens;
+
+    // 每段的token上限、每段摘要的长度
+    @Value("${deepseek.chunk.max-tokens:3000}")
+    private int chunkMaxTokens;
+
+    @Value("${deepseek.chunk.partial-length:150}")
+    private int chunkPartialLength;
+
+    // 段摘要合并后仍超长时最多再分段的轮数
+    private static final int MAX_MAP_ROUNDS = 3;
+
+    // 段摘要单独使用一个线程池，避免占满摘要线程池后互相等待
+    @Autowired
+    @Qualifier("summaryChunkExecutor")
+    private ExecutorService summaryChunkExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
     
     public DeepSeekClient() {
         // 设置系统属性以支持代理（如果存在）
+        // 网络连通性检查不在这里做，见 DeepSeekWarmup，启动时不等待网络
         setProxyProperties();
-        
-        this.restTemplate = new RestTemplate();
-        
-        // 输出当前服务器网络情况
-        try {
-            logger.info("尝试DNS解析 api.deepseek.ai...");
-            java.net.InetAddress address = java.net.InetAddress.getByName("api.deepseek.ai");
-            logger.info("解析结果: {}", address.getHostAddress());
-            
-            // 测试网络连接
-            testNetworkConnection();
-        } catch (Exception e) {
-            logger.error("DNS解析或网络测试失败: {}", e.getMessage());
-        }
+    }
+
+    private boolean useLocalEngine() {
+        return "local".equalsIgnoreCase(summaryEngine);
+    }
+
+    @PostConstruct
+    private void initSingleFlight() {
+        this.inFlightSummaries = new SingleFlight<>(summaryExecutor, Duration.ofMillis(callTimeoutMillis));
     }
 
     // 设置系统代理属性
@@ -75,266 +174,360 @@ public class DeepSeekClient {
         }
     }
     
-    // 测试网络连接
-    private void testNetworkConnection() {
-        try {
-            // 尝试连接到DeepSeek API服务器
-            logger.info("测试与DeepSeek API的网络连接...");
-            java.net.Socket socket = new java.net.Socket();
-            socket.connect(new java.net.InetSocketAddress("api.deepseek.ai", 443), 5000);
-            socket.close();
-            logger.info("成功连接到DeepSeek API服务器");
-        } catch (Exception e) {
-            logger.error("无法连接到DeepSeek API服务器: {}", e.getMessage());
-            
-            // 尝试连接到其他常用服务器以测试基本网络连接
-            try {
-                logger.info("测试基本网络连接（连接到google.com）...");
-                java.net.Socket socket = new java.net.Socket();
-                socket.connect(new java.net.InetSocketAddress("google.com", 443), 5000);
-                socket.close();
-                logger.info("基本网络连接正常");
-            } catch (Exception ex) {
-                logger.error("基本网络连接测试失败: {}", ex.getMessage());
-            }
+    public String generateSummary(String content) {
+        return generateSummary(content, 30); // 默认使用30字摘要长度
+    }
+
+    public String generateSummary(String content, Integer maxLength) {
+        String summary = generateSummaryWithoutFallback(content, maxLength);
+        if (summary != null) {
+            return summary;
         }
+        // 所有API调用失败，使用增强的本地摘要生成
+        return generateEnhancedSummary(content, maxLength);
     }
 
-    // 使用备用方案生成摘要
-    private String generateFallbackSummary(String content) {
-        logger.info("使用增强的本地备用方案生成摘要");
-        if (content == null || content.isEmpty()) {
-            return "内容为空，无法生成摘要";
+    /**
+     * 用配置的摘要引擎生成摘要，API失败时返回null而不回退到本地摘要
+     * 供需要区分API摘要和兜底摘要的调用方使用（如批量补全，失败的文章留待下次重试）
+     */
+    public String generateSummaryWithoutFallback(String content, Integer maxLength) {
+        logger.debug("开始生成摘要，内容长度: {} 字符，最大长度限制: {} 字", content.length(), maxLength);
+        
+        if (useLocalEngine()) {
+            return generateEnhancedSummary(content, maxLength);
+        }
+
+        // 相同内容已生成过摘要时直接返回，不调用API
+        String cached = summaryCacheService.get(content, maxLength, SUMMARY_MODEL);
+        if (cached != null) {
+            logger.info("摘要缓存命中，内容长度: {} 字符", content.length());
+            return cached;
         }
         
+        // 同一内容已有请求在调用API时，等待它的结果而不是再发起一次
+        CompletableFuture<String> pending = inFlightSummaries.submit(SummaryKey.of(content, maxLength, SUMMARY_MODEL),
+                () -> requestSummary(content, maxLength));
         try {
-            // 取出标点符号
-            String[] sentences = content.split("[。！？.!?]");
-            StringBuilder summary = new StringBuilder();
-            
-            // 提取内容特征
-            Set<String> topics = new HashSet<>();
-            
-            // 从内容中提取可能的主题词
-            String[] commonTopics = {"人生", "情感", "科技", "教育", "环境", "健康", "社会", "经济", "文化", "艺术", "历史", "科学", "自然"};
-            for (String topic : commonTopics) {
-                if (content.contains(topic)) {
-                    topics.add(topic);
-                }
+            return pending.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            pending.cancel(false);
+            logger.warn("等待摘要生成超时({}ms)", waitTimeoutMillis);
+        } catch (InterruptedException e) {
+            pending.cancel(false);
+            Thread.currentThread().interrupt();
+            logger.warn("等待摘要生成时被中断");
+        } catch (ExecutionException e) {
+            logger.error("摘要生成失败: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+        } catch (CancellationException e) {
+            logger.warn("摘要生成已取消");
+        }
+        return null;
+    }
+    
+    /**
+     * 生成摘要，成功时写入摘要缓存，全部失败返回null
+     * 由请求合并在摘要线程池中执行；超长内容先分段摘要再合并
+     */
+    private String requestSummary(String content, Integer maxLength) {
+        long start = System.currentTimeMillis();
+        String summary = TextChunker.estimateTokens(content) > chunkThresholdTokens
+                ? requestChunkedSummary(content, maxLength)
+                : summarizeWithFailover(content, maxLength);
+        if (summary != null) {
+            // 只缓存API生成的摘要，本地兜底摘要不缓存，以便之后还能拿到API结果
+            summaryCacheService.put(content, maxLength, SUMMARY_MODEL, summary, System.currentTimeMillis() - start);
+        }
+        return summary;
+    }
+
+    /**
+     * 分段摘要：按句子切成不超过单次token预算的片段，并发生成各段摘要（map），
+     * 再把各段摘要合并成最终摘要（reduce）；合并后仍超长时对段摘要再分段一轮
+     * @return 所有片段都失败或合并失败时返回null
+     */
+    private String requestChunkedSummary(String content, Integer maxLength) {
+        long splitStart = System.nanoTime();
+        List<String> chunks = TextChunker.chunk(content, chunkMaxTokens);
+        recordStage("split", splitStart);
+
+        long mapStart = System.nanoTime();
+        String joined = null;
+        for (int round = 0; round < MAX_MAP_ROUNDS; round++) {
+            logger.info("分段摘要: 第 {} 轮, {} 段", round + 1, chunks.size());
+            List<String> partials = mapChunks(chunks);
+            if (partials.isEmpty()) {
+                logger.warn("所有分段摘要均失败");
+                return null;
             }
-            
-            // 使用第一句话内容
-            if (sentences.length > 0) {
-                String firstSentence = sentences[0].trim();
-                if (firstSentence.length() > 15) {
-                    firstSentence = firstSentence.substring(0, 15);
-                }
-                summary.append(firstSentence);
-            } else {
-                // 如果没有句子，截取前15个字符
-                summary.append(content.length() > 15 ? content.substring(0, 15) : content);
+            joined = joinPartials(partials);
+            if (TextChunker.estimateTokens(joined) <= chunkThresholdTokens) {
+                break;
             }
-            
-            // 根据内容添加主题相关描述
-            if (!topics.isEmpty()) {
-                summary.append("，涉及");
-                int count = 0;
-                for (String topic : topics) {
-                    if (count > 0) summary.append("、");
-                    summary.append(topic);
-                    count++;
-                    if (count >= 2) break; // 最多显示2个主题
-                }
-                summary.append("探讨");
-            } else {
-                // 如果没有识别出主题，添加一般性描述
-                if (sentences.length > 1) {
-                    // 使用第二句话的前几个字
-                    String secondSentence = sentences[1].trim();
-                    if (!secondSentence.isEmpty()) {
-                        int maxLength = 10;
-                        summary.append("，");
-                        summary.append(secondSentence.length() > maxLength ? 
-                                      secondSentence.substring(0, maxLength) : secondSentence);
+            chunks = TextChunker.chunk(joined, chunkMaxTokens);
+        }
+        recordStage("map", mapStart);
+        if (Thread.currentThread().isInterrupted()) {
+            return null;
+        }
+
+        long reduceStart = System.nanoTime();
+        String summary = summarizeWithFailover(joined, maxLength);
+        recordStage("reduce", reduceStart);
+        logger.info("分段摘要完成: 原文约 {} tokens, 耗时 切分={}ms 段摘要={}ms 合并={}ms",
+                TextChunker.estimateTokens(content),
+                TimeUnit.NANOSECONDS.toMillis(mapStart - splitStart),
+                TimeUnit.NANOSECONDS.toMillis(reduceStart - mapStart),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - reduceStart));
+        return summary;
+    }
+
+    /**
+     * 在分段线程池中并发生成各段摘要，失败的片段跳过，结果保持原文顺序
+     */
+    private List<String> mapChunks(List<String> chunks) {
+        // 用submit返回的Future，cancel(true)会中断正在执行的片段；CompletableFuture的cancel不会中断线程
+        List<Future<String>> futures = new ArrayList<>();
+        for (String chunk : chunks) {
+            futures.add(summaryChunkExecutor.submit(() -> summarizeWithFailover(chunk, chunkPartialLength)));
+        }
+        List<String> partials = new ArrayList<>();
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    String partial = futures.get(i).get();
+                    if (partial != null) {
+                        partials.add(partial);
+                    } else {
+                        logger.warn("第 {}/{} 段摘要失败，跳过", i + 1, futures.size());
                     }
+                } catch (ExecutionException e) {
+                    logger.warn("第 {}/{} 段摘要异常，跳过: {}", i + 1, futures.size(), e.getCause().getMessage());
                 }
             }
-            
-            // 确保总结不超过30个字
-            String result = summary.toString();
-            if (result.length() > 30) {
-                result = result.substring(0, 30);
-            }
-            
-            return result;
-        } catch (Exception e) {
-            logger.error("生成本地摘要时出错", e);
-            return content.length() > 30 ? content.substring(0, 30) : content;
+        } catch (InterruptedException e) {
+            // 调用已被取消，取消尚未完成的片段并中断正在请求API的线程
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            return List.of();
         }
+        return partials;
     }
 
-    public String generateSummary(String content) {
-        return generateSummary(content, 30); // 默认使用30字摘要长度
+    private static String joinPartials(List<String> partials) {
+        StringBuilder joined = new StringBuilder();
+        for (int i = 0; i < partials.size(); i++) {
+            joined.append("第").append(i + 1).append("部分：").append(partials.get(i)).append("\n");
+        }
+        return joined.toString();
     }
 
-    public String generateSummary(String content, Integer maxLength) {
-        logger.debug("开始生成摘要，内容长度: {} 字符，最大长度限制: {} 字", content.length(), maxLength);
-        
-        // 只尝试少数几个已验证的模型和端点组合
-        String[][] endpointModelPairs = {
-            {apiUrl + "/v1/chat/completions", "deepseek-chat"},
-            {"https://api.deepseek.com/v1/chat/completions", "deepseek-chat"},
-            {"https://api.deepseek.ai/v1/chat/completions", "deepseek-chat"}
-        };
-        
-        // 添加重试机制
-        int maxRetries = 2;
+    private void recordStage(String stage, long startNanos) {
+        Timer.builder("summary.chunked.stage")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 依次尝试各API端点生成摘要，全部失败返回null
+     */
+    private String summarizeWithFailover(String content, Integer maxLength) {
+        int attempts = 0;
         Exception lastException = null;
         
-        // 尝试API调用，最多重试指定次数
-        for (String[] pair : endpointModelPairs) {
-            String endpoint = pair[0];
-            String model = pair[1];
-            
-            for (int retryCount = 0; retryCount <= maxRetries; retryCount++) {
+        // 对冲模式：首轮同时使用两个端点，失败后再按顺序重试
+        if (hedging.isEnabled()) {
+            try {
+                String hedged = requestHedged(content, maxLength);
+                if (hedged != null) {
+                    return hedged;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.info("摘要请求已取消，停止重试");
+                return null;
+            }
+            attempts = 1;
+        }
+        
+        // 按健康状况和延迟排序尝试各端点，熔断中的端点直接跳过
+        for (DeepSeekEndpoints.Endpoint endpoint : endpoints.ordered()) {
+            for (int retryCount = 0; retryCount < attemptsPerEndpoint && attempts < maxAttempts; retryCount++) {
+                if (!endpoint.tryAcquire()) {
+                    logger.debug("端点 {} 熔断中，跳过", endpoint.getUrl());
+                    break;
+                }
+                long callStart = System.currentTimeMillis();
                 try {
-                    // 如果是重试，添加延迟
-                    if (retryCount > 0) {
-                        logger.info("第 {} 次重试调用 {} 使用模型 {}", retryCount, endpoint, model);
-                        Thread.sleep(1000 * retryCount); // 增加的延迟
+                    // 重试前按指数退避加随机抖动等待
+                    if (attempts > 0) {
+                        long delay = Backoff.jitteredDelay(attempts - 1, retryBaseDelayMillis, retryMaxDelayMillis);
+                        logger.info("第 {} 次尝试调用 {}，等待 {}ms", attempts + 1, endpoint.getUrl(), delay);
+                        Thread.sleep(delay);
+                        callStart = System.currentTimeMillis();
                     } else {
-                        logger.info("尝试API端点: {} 使用模型: {}", endpoint, model);
+                        logger.info("尝试API端点: {} 使用模型: {}", endpoint.getUrl(), SUMMARY_MODEL);
                     }
+                    attempts++;
                     
-                    String result = callDeepSeekAPI(endpoint, content, model, maxLength);
-                    if (result != null && !result.startsWith("摘要生成失败") && !result.startsWith("API调用失败")) {
-                        logger.info("API调用成功: {} 使用模型: {}", endpoint, model);
+                    String result = callDeepSeekAPI(endpoint.getUrl(), content, SUMMARY_MODEL, maxLength);
+                    if (isApiSummary(result)) {
+                        endpoint.recordSuccess(System.currentTimeMillis() - callStart);
+                        logger.info("API调用成功: {} 使用模型: {}", endpoint.getUrl(), SUMMARY_MODEL);
                         return result;
-                    } else if (result != null) {
-                        logger.warn("API返回错误 (尝试 {}/{}): {}", retryCount + 1, maxRetries + 1, result);
                     }
+                    endpoint.recordFailure(System.currentTimeMillis() - callStart);
+                    logger.warn("API返回错误 (第 {}/{} 次尝试): {}", attempts, maxAttempts, result);
+                } catch (InterruptedException e) {
+                    // 所有等待方都已放弃，停止重试
+                    endpoint.release();
+                    Thread.currentThread().interrupt();
+                    logger.info("摘要请求已取消，停止重试");
+                    return null;
                 } catch (Exception e) {
+                    endpoint.recordFailure(System.currentTimeMillis() - callStart);
                     lastException = e;
-                    logger.error("API调用失败 (尝试 {}/{}): {} - {}", 
-                                 retryCount + 1, maxRetries + 1, e.getClass().getName(), e.getMessage());
+                    logger.error("API调用失败 (第 {}/{} 次尝试): {} - {}", 
+                                 attempts, maxAttempts, e.getClass().getName(), e.getMessage());
                 }
             }
         }
         
-        // 所有API调用失败，使用增强的本地摘要生成
+        if (attempts == 0) {
+            logger.warn("所有API端点熔断中，直接使用本地摘要生成");
+            return null;
+        }
         logger.warn("所有API调用失败，使用增强的本地摘要生成...");
         if (lastException != null) {
             logger.error("最后捕获的异常: ", lastException);
         }
-        
-        return generateEnhancedSummary(content, maxLength);
+        return null;
     }
     
     /**
-     * 增强的本地摘要生成方法
+     * 对冲请求：主端点在对冲延迟内没有返回时，向下一个可用端点再发一次，先成功的结果胜出，另一个取消
+     * @return 两个请求都失败时返回null
      */
-    private String generateEnhancedSummary(String content) {
-        return generateEnhancedSummary(content, 30);
+    private String requestHedged(String content, Integer maxLength) throws InterruptedException {
+        hedging.onRequest();
+        List<DeepSeekEndpoints.Endpoint> candidates = endpoints.ordered();
+        DeepSeekEndpoints.Endpoint primaryEndpoint = acquireEndpoint(candidates, null);
+        if (primaryEndpoint == null) {
+            return null;
+        }
+        ChatCompletionRequest requestBody = buildSummaryRequest(content, SUMMARY_MODEL, maxLength);
+        HedgedCall primary = startHedgedCall(primaryEndpoint, requestBody, maxLength);
+        HedgedCall hedge = null;
+        try {
+            try {
+                String result = primary.summary.get(hedging.hedgeDelayMillis(), TimeUnit.MILLISECONDS);
+                hedging.recordUnhedged();
+                return result;
+            } catch (TimeoutException e) {
+                // 主请求较慢，考虑发出对冲请求
+            }
+
+            DeepSeekEndpoints.Endpoint hedgeEndpoint = hedging.tryHedge() ? acquireEndpoint(candidates, primaryEndpoint) : null;
+            if (hedgeEndpoint == null) {
+                return primary.summary.get();
+            }
+            logger.info("主端点 {} 响应较慢，向 {} 发出对冲请求", primaryEndpoint.getUrl(), hedgeEndpoint.getUrl());
+            hedge = startHedgedCall(hedgeEndpoint, requestBody, maxLength);
+
+            HedgedCall winner = firstSuccessful(primary, hedge).get();
+            hedging.recordWin(winner == hedge);
+            return winner.summary.getNow(null);
+        } catch (ExecutionException e) {
+            logger.warn("对冲请求失败: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            return null;
+        } finally {
+            // 取消未完成的请求，已完成的不受影响
+            primary.cancel();
+            if (hedge != null) {
+                hedge.cancel();
+            }
+        }
+    }
+
+    // 按顺序取第一个熔断器允许的端点
+    private DeepSeekEndpoints.Endpoint acquireEndpoint(List<DeepSeekEndpoints.Endpoint> candidates,
+                                                       DeepSeekEndpoints.Endpoint exclude) {
+        for (DeepSeekEndpoints.Endpoint candidate : candidates) {
+            if (candidate != exclude && candidate.tryAcquire()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private HedgedCall startHedgedCall(DeepSeekEndpoints.Endpoint endpoint, ChatCompletionRequest requestBody,
+                                       Integer maxLength) {
+        long callStart = System.currentTimeMillis();
+        CompletableFuture<ChatCompletionResponse> response = httpClient.postJsonAsync(endpoint.getUrl(), apiKey,
+                requestBody, ChatCompletionResponse.class, Duration.ofMillis(callTimeoutMillis));
+        CompletableFuture<String> summary = response.thenApply(body -> {
+            String result = parseSummaryResponse(body, maxLength);
+            if (!isApiSummary(result)) {
+                throw new CompletionException(new IOException(result));
+            }
+            return result;
+        });
+        summary.whenComplete((result, error) -> {
+            long elapsed = System.currentTimeMillis() - callStart;
+            if (error == null) {
+                endpoint.recordSuccess(elapsed);
+                hedging.recordLatency(elapsed);
+            } else if (response.isCancelled()) {
+                // 被对冲的另一方胜出而取消，与端点健康无关
+                endpoint.release();
+            } else {
+                endpoint.recordFailure(elapsed);
+            }
+        });
+        return new HedgedCall(response, summary);
+    }
+
+    // 任一请求成功即完成；都失败时以后失败的异常结束
+    private static CompletableFuture<HedgedCall> firstSuccessful(HedgedCall first, HedgedCall second) {
+        CompletableFuture<HedgedCall> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (HedgedCall call : List.of(first, second)) {
+            call.summary.whenComplete((result, error) -> {
+                if (error == null) {
+                    winner.complete(call);
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+        return winner;
+    }
+
+    private static final class HedgedCall {
+        private final CompletableFuture<ChatCompletionResponse> response;
+        private final CompletableFuture<String> summary;
+
+        private HedgedCall(CompletableFuture<ChatCompletionResponse> response, CompletableFuture<String> summary) {
+            this.response = response;
+            this.summary = summary;
+        }
+
+        private void cancel() {
+            response.cancel(true);
+        }
     }
     
     /**
-     * 增强的本地摘要生成方法，带有长度限制
+     * 本地摘要生成，API不可用或配置为本地引擎时使用
      */
     private String generateEnhancedSummary(String content, Integer maxLength) {
-        logger.info("使用高级本地摘要生成，限制长度: {}", maxLength);
+        logger.info("使用本地摘要引擎生成摘要，限制长度: {}", maxLength);
         if (content == null || content.isEmpty()) {
             return "内容为空，无法生成摘要";
         }
-        
         try {
-            // 更智能的本地摘要算法
-            
-            // 1. 提取关键句子
-            String[] sentences = content.split("[。！？.!?]");
-            if (sentences.length == 0) {
-                return "内容结构无法解析";
-            }
-            
-            // 2. 优先使用第一句话，通常包含主题
-            String firstSentence = sentences[0].trim();
-            
-            // 3. 关键词提取
-            Map<String, Integer> keywordFrequency = new HashMap<>();
-            String[] keywordList = {
-                "自卑", "勇气", "人生", "哲学", "心理", "成长", "情感", "疗愈", 
-                "思考", "智慧", "希望", "力量", "意义", "生活", "价值", "世界",
-                "社会", "技术", "科学", "环境", "健康", "教育", "文化", "艺术",
-                "历史", "未来", "发展", "创新", "挑战", "机遇", "成功", "失败"
-            };
-            
-            for (String keyword : keywordList) {
-                if (content.contains(keyword)) {
-                    int count = 0;
-                    int lastIndex = 0;
-                    while ((lastIndex = content.indexOf(keyword, lastIndex)) != -1) {
-                        count++;
-                        lastIndex += keyword.length();
-                    }
-                    keywordFrequency.put(keyword, count);
-                }
-            }
-            
-            // 4. 根据频率排序关键词
-            List<Map.Entry<String, Integer>> sortedKeywords = new ArrayList<>(keywordFrequency.entrySet());
-            sortedKeywords.sort((a, b) -> b.getValue().compareTo(a.getValue()));
-            
-            // 5. 构建摘要
-            StringBuilder summaryBuilder = new StringBuilder();
-            
-            // 添加首句精简版
-            if (firstSentence.length() > maxLength * 2/3) {
-                // 查找关键部分
-                int endPos = Math.min(firstSentence.length(), maxLength * 2/3);
-                // 尝试在标点处截断
-                for (int i = maxLength/2; i < Math.min(firstSentence.length(), maxLength * 3/4); i++) {
-                    char c = firstSentence.charAt(i);
-                    if (c == '，' || c == ',' || c == '、' || c == ' ') {
-                        endPos = i;
-                        break;
-                    }
-                }
-                summaryBuilder.append(firstSentence.substring(0, endPos));
-            } else {
-                summaryBuilder.append(firstSentence);
-            }
-            
-            // 如果有关键词，添加关键词
-            if (!sortedKeywords.isEmpty()) {
-                summaryBuilder.append("，探讨");
-                
-                // 添加前2个最频繁的关键词
-                int added = 0;
-                for (Map.Entry<String, Integer> entry : sortedKeywords) {
-                    if (added > 0) summaryBuilder.append("与");
-                    summaryBuilder.append(entry.getKey());
-                    added++;
-                    if (added >= 2) break;
-                }
-                
-                // 根据内容类型添加结尾
-                if (content.contains("书") || content.contains("作者") || content.contains("阅读")) {
-                    summaryBuilder.append("的思考");
-                } else if (content.contains("科学") || content.contains("研究") || content.contains("技术")) {
-                    summaryBuilder.append("的发展");
-                } else {
-                    summaryBuilder.append("的关系");
-                }
-            }
-            
-            // 确保总结不超过指定字数
-            String result = summaryBuilder.toString();
-            if (result.length() > maxLength) {
-                result = result.substring(0, maxLength);
-            }
-            
-            logger.info("成功生成本地摘要: {}", result);
-            return result;
-            
+            return localEngine.summarize(content, maxLength);
         } catch (Exception e) {
             logger.error("生成本地摘要时出错", e);
             // 最简单的备用方案：截取内容开头
@@ -343,95 +536,164 @@ public class DeepSeekClient {
         }
     }
     
+    /**
+     * 流式生成摘要：每收到一段增量文本就回调onToken，结束后返回清理、截断后的完整摘要
+     * 命中摘要缓存时把缓存内容作为一段回调；API失败时抛出异常，不回退到本地摘要
+     * 超长内容走分段摘要、使用本地引擎时，整段摘要作为一段回调
+     */
+    public String streamSummary(String content, Integer maxLength, Consumer<String> onToken)
+            throws IOException, InterruptedException {
+        if (useLocalEngine()) {
+            String summary = generateEnhancedSummary(content, maxLength);
+            onToken.accept(summary);
+            return summary;
+        }
+        String cached = summaryCacheService.get(content, maxLength, SUMMARY_MODEL);
+        if (cached != null) {
+            logger.info("摘要缓存命中，内容长度: {} 字符", content.length());
+            onToken.accept(cached);
+            return cached;
+        }
+
+        // 超长内容需要先分段摘要，合并结果生成后作为一段回调
+        if (TextChunker.estimateTokens(content) > chunkThresholdTokens) {
+            String summary = requestSummary(content, maxLength);
+            if (Thread.interrupted()) {
+                throw new InterruptedException("流式摘要已取消");
+            }
+            if (summary == null) {
+                throw new IOException("分段摘要生成失败");
+            }
+            onToken.accept(summary);
+            return summary;
+        }
+
+        long start = System.currentTimeMillis();
+        ChatCompletionRequest requestBody = buildSummaryRequest(content, SUMMARY_MODEL, maxLength).streaming();
+
+        // 已经推送给客户端的内容无法撤回，流式调用只选一个可用端点，不重试
+        DeepSeekEndpoints.Endpoint endpoint = null;
+        for (DeepSeekEndpoints.Endpoint candidate : endpoints.ordered()) {
+            if (candidate.tryAcquire()) {
+                endpoint = candidate;
+                break;
+            }
+        }
+        if (endpoint == null) {
+            throw new IOException("所有API端点熔断中");
+        }
+
+        StringBuilder raw = new StringBuilder();
+        long callStart = System.currentTimeMillis();
+        try {
+            httpClient.streamEvents(endpoint.getUrl(), apiKey, requestBody,
+                    Duration.ofMillis(callTimeoutMillis), chunk -> {
+                        String delta;
+                        try {
+                            delta = chatStreamParser.deltaContent(chunk);
+                        } catch (IOException e) {
+                            logger.warn("无法解析流式响应片段: {}", chunk);
+                            return;
+                        }
+                        if (delta != null && !delta.isEmpty()) {
+                            raw.append(delta);
+                            onToken.accept(delta);
+                        }
+                    });
+            endpoint.recordSuccess(System.currentTimeMillis() - callStart);
+        } catch (IOException e) {
+            endpoint.recordFailure(System.currentTimeMillis() - callStart);
+            throw e;
+        } catch (InterruptedException | RuntimeException e) {
+            // 客户端断开或被取消，与端点健康无关
+            endpoint.release();
+            throw e;
+        }
+
+        String summary = cleanSummary(raw.toString());
+        if (summary.length() > maxLength) {
+            summary = summary.substring(0, maxLength);
+        }
+        if (summary.isEmpty()) {
+            throw new IOException("API流式响应中没有摘要内容");
+        }
+        summaryCacheService.put(content, maxLength, SUMMARY_MODEL, summary, System.currentTimeMillis() - start);
+        logger.info("流式摘要生成完成，耗时 {}ms", System.currentTimeMillis() - start);
+        return summary;
+    }
+
+    // 构建摘要请求体
+    private ChatCompletionRequest buildSummaryRequest(String content, String modelName, Integer maxLength) {
+        List<ChatMessage> messages = List.of(
+                // 系统提示
+                ChatMessage.system(String.format("你是一个极简摘要助手。生成%d字以内的中文摘要，直接给出核心内容，不用引导语。", maxLength)),
+                // 用户消息
+                ChatMessage.user(String.format("对以下内容生成%d字以内的摘要，不要复制原文：\n\n%s", maxLength, content)));
+        return new ChatCompletionRequest(modelName, messages, maxLength * 2, 0.5, null);
+    }
+    
     // 调用DeepSeek API
-    private String callDeepSeekAPI(String endpoint, String content, String modelName) {
+    private String callDeepSeekAPI(String endpoint, String content, String modelName)
+            throws IOException, InterruptedException {
         return callDeepSeekAPI(endpoint, content, modelName, 30);
     }
 
     // 调用DeepSeek API，带有长度限制
-    private String callDeepSeekAPI(String endpoint, String content, String modelName, Integer maxLength) {
+    private String callDeepSeekAPI(String endpoint, String content, String modelName, Integer maxLength)
+            throws IOException, InterruptedException {
         try {
             // 打印请求信息
             logger.info("调用API: {} 使用模型: {}, 最大长度: {}", endpoint, modelName, maxLength);
-            
-            // 设置请求头
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("Authorization", "Bearer " + apiKey);
-            headers.set("Accept", "application/json");
-            headers.set("User-Agent", "Spring Application");
 
             // 构建请求体
-        Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("model", modelName);
-
-            // 构建消息
-        List<Map<String, Object>> messages = new ArrayList<>();
-        
-            // 添加系统提示
-        Map<String, Object> systemMessage = new HashMap<>();
-        systemMessage.put("role", "system");
-            systemMessage.put("content", String.format("你是一个极简摘要助手。生成%d字以内的中文摘要，直接给出核心内容，不用引导语。", maxLength));
-        messages.add(systemMessage);
-
-            // 添加用户消息
-        Map<String, Object> userMessage = new HashMap<>();
-        userMessage.put("role", "user");
-            userMessage.put("content", String.format("对以下内容生成%d字以内的摘要，不要复制原文：\n\n%s", maxLength, content));
-        messages.add(userMessage);
-
-        requestBody.put("messages", messages);
-            requestBody.put("max_tokens", maxLength * 2);
-            requestBody.put("temperature", 0.5);
-            
-            // 创建HTTP请求实体
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
+            ChatCompletionRequest requestBody = buildSummaryRequest(content, modelName, maxLength);
             
             // 发送请求
             logger.debug("发送请求到: {}", endpoint);
-            Map<String, Object> response = restTemplate.postForObject(endpoint, request, Map.class);
+            ChatCompletionResponse response = httpClient.postJson(endpoint, apiKey, requestBody,
+                    ChatCompletionResponse.class);
             
             // 处理响应
-            if (response != null) {
-                if (response.containsKey("error")) {
-                    // 处理错误
-                    Map<String, Object> error = (Map<String, Object>) response.get("error");
-                    logger.error("API错误: {}", error);
-                    return "摘要生成失败: " + error.get("message");
-                }
-                
-                if (response.containsKey("choices")) {
-                    // 处理成功响应
-                    Object choicesObj = response.get("choices");
-                    if (choicesObj instanceof ArrayList) {
-                        List<?> choices = (List<?>) choicesObj;
-                        if (!choices.isEmpty()) {
-                            Map<String, Object> choice = (Map<String, Object>) choices.get(0);
-                    Map<String, Object> responseMessage = (Map<String, Object>) choice.get("message");
-                            String summary = (String) responseMessage.get("content");
-                            
-                            // 清理摘要
-                            summary = cleanSummary(summary);
-                            
-                            // 截断到指定长度
-                            if (summary.length() > maxLength) {
-                                summary = summary.substring(0, maxLength);
-                            }
-                            
-                            logger.info("成功生成摘要: {}", summary);
-                            return summary;
-                        }
-                    }
-                }
-            }
-            
-            return "无法从API响应中提取摘要";
+            return parseSummaryResponse(response, maxLength);
         } catch (Exception e) {
             logger.error("API调用异常: {}", e.getMessage());
             throw e;
         }
     }
     
+    // 从API响应中提取摘要，失败时返回错误说明
+    private String parseSummaryResponse(ChatCompletionResponse response, Integer maxLength) {
+        if (response != null) {
+            if (response.error() != null) {
+                // 处理错误
+                logger.error("API错误: {}", response.error());
+                return "摘要生成失败: " + response.error().message();
+            }
+            
+            String summary = response.firstContent();
+            if (summary != null) {
+                // 清理摘要
+                summary = cleanSummary(summary);
+                
+                // 截断到指定长度
+                if (summary.length() > maxLength) {
+                    summary = summary.substring(0, maxLength);
+                }
+                
+                logger.info("成功生成摘要: {}", summary);
+                return summary;
+            }
+        }
+        
+        return NO_SUMMARY_IN_RESPONSE;
+    }
+
+    // 是否为API成功生成的摘要，而不是错误说明
+    private static boolean isApiSummary(String result) {
+        return result != null && !result.startsWith("摘要生成失败") && !result.startsWith("API调用失败")
+                && !NO_SUMMARY_IN_RESPONSE.equals(result);
+    }
+    
     /**
      * 清理摘要内容，移除常见的引导语和模板句式
      */
@@ -442,20 +704,8 @@ public class DeepSeekClient {
         summary = summary.trim();
         
         // 移除常见引导语模式
-        String[] patterns = {
-            "^摘要[:：]\\s*", 
-            "^以下是摘要[:：]\\s*",
-            "^文章摘要[:：]\\s*",
-            "^这篇文章[:：]\\s*",
-            "^这篇文章的主要内容是\\s*",
-            "^这篇文章主要讲述了\\s*",
-            "^核心内容[:：]\\s*",
-            "^极简摘要[:：]\\s*",
-            "^30字摘要[:：]\\s*"
-        };
-        
-        for (String patternStr : patterns) {
-            summary = Pattern.compile(patternStr).matcher(summary).replaceAll("");
+        for (Pattern pattern : LEADING_PHRASES) {
+            summary = pattern.matcher(summary).replaceAll("");
         }
         
         // 移除首尾的英文引号
@@ -470,82 +720,6 @@ public class DeepSeekClient {
         return summary.trim();
     }
 
-    // 添加手动HTTP请求作为备选方法
-    private String manualHttpRequest(String url, Map<String, Object> requestBody) {
-        try {
-            logger.info("尝试使用手动HTTP请求调用API: {}, 模型: {}", url, requestBody.get("model"));
-            
-            // 转换请求体为JSON
-            com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-            String jsonBody = mapper.writeValueAsString(requestBody);
-            logger.debug("请求体JSON: {}", jsonBody);
-            
-            // 创建URL连接
-            java.net.URL apiUrl = new java.net.URL(url);
-            java.net.HttpURLConnection connection = (java.net.HttpURLConnection) apiUrl.openConnection();
-            
-            // 设置请求方法和头部
-            connection.setRequestMethod("POST");
-            connection.setRequestProperty("Content-Type", "application/json");
-            connection.setRequestProperty("Accept", "application/json");
-            connection.setRequestProperty("Authorization", "Bearer " + apiKey);
-            connection.setRequestProperty("User-Agent", "JavaClient/1.0");
-            
-            // 启用输入/输出流
-            connection.setDoInput(true);
-            connection.setDoOutput(true);
-            
-            // 设置超时
-            connection.setConnectTimeout(10000);
-            connection.setReadTimeout(30000);
-            
-            // 发送请求体
-            try (java.io.OutputStream os = connection.getOutputStream()) {
-                byte[] input = jsonBody.getBytes("utf-8");
-                os.write(input, 0, input.length);
-            }
-            
-            // 获取响应
-            int responseCode = connection.getResponseCode();
-            logger.info("API响应状态码: {}", responseCode);
-            
-            // 读取响应
-            StringBuilder response = new StringBuilder();
-            try (java.io.BufferedReader br = new java.io.BufferedReader(
-                    new java.io.InputStreamReader(
-                            responseCode >= 400 ? connection.getErrorStream() : connection.getInputStream(), "utf-8"))) {
-                String responseLine;
-                while ((responseLine = br.readLine()) != null) {
-                    response.append(responseLine.trim());
-                }
-            }
-            
-            logger.debug("API原始响应: {}", response.toString());
-            
-            // 解析响应
-            if (responseCode >= 200 && responseCode < 300) {
-                Map<String, Object> responseMap = mapper.readValue(response.toString(), Map.class);
-                
-                if (responseMap.containsKey("choices")) {
-                    Object[] choices = (Object[]) responseMap.get("choices");
-                    if (choices.length > 0) {
-                        Map<String, Object> choice = (Map<String, Object>) choices[0];
-                        Map<String, Object> message = (Map<String, Object>) choice.get("message");
-                        String content = (String) message.get("content");
-                        return cleanSummary(content);
-                    }
-                }
-                
-                return "无法从响应中提取摘要";
-            } else {
-                return "API调用失败，状态码: " + responseCode + ", 响应: " + response.toString();
-            }
-        } catch (Exception e) {
-            logger.error("手动HTTP请求失败: {}", e.getMessage(), e);
-            return null;
-        }
-    }
-
     // 尝试使用OpenAI API作为备选
     private String tryOpenAIFallback(String content) {
         try {
@@ -564,47 +738,23 @@ public class DeepSeekClient {
             }
             
             // 创建OpenAI API请求
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("Authorization", "Bearer " + openaiApiKey);
-            
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("model", "gpt-3.5-turbo");
-            
-            List<Map<String, Object>> messages = new ArrayList<>();
-            Map<String, Object> systemMessage = new HashMap<>();
-            systemMessage.put("role", "system");
-            systemMessage.put("content", "生成一个30字以内的中文摘要，不要使用引导语");
-            messages.add(systemMessage);
-            
-            Map<String, Object> userMessage = new HashMap<>();
-            userMessage.put("role", "user");
-            userMessage.put("content", "请为以下内容生成30字以内的摘要：" + content);
-            messages.add(userMessage);
-            
-            requestBody.put("messages", messages);
-            requestBody.put("max_tokens", 50);
-            
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
+            ChatCompletionRequest requestBody = new ChatCompletionRequest("gpt-3.5-turbo", List.of(
+                    ChatMessage.system("生成一个30字以内的中文摘要，不要使用引导语"),
+                    ChatMessage.user("请为以下内容生成30字以内的摘要：" + content)), 50, null, null);
             
             // 发送请求到OpenAI API
-            Map response = restTemplate.postForObject("https://api.openai.com/v1/chat/completions", request, Map.class);
-            
-            if (response != null && response.containsKey("choices")) {
-                Object[] choices = (Object[]) response.get("choices");
-                if (choices.length > 0) {
-                    Map<String, Object> choice = (Map<String, Object>) choices[0];
-                    Map<String, Object> message = (Map<String, Object>) choice.get("message");
-                    String summaryContent = (String) message.get("content");
-                    
-                    // 清理并返回摘要
-                    summaryContent = cleanSummary(summaryContent);
-                    if (summaryContent.length() > 30) {
-                        summaryContent = summaryContent.substring(0, 30);
-                    }
-                    
-                    return summaryContent;
+            ChatCompletionResponse response = httpClient.postJson("https://api.openai.com/v1/chat/completions",
+                    openaiApiKey, requestBody, ChatCompletionResponse.class);
+            
+            String summaryContent = response != null ? response.firstContent() : null;
+            if (summaryContent != null) {
+                // 清理并返回摘要
+                summaryContent = cleanSummary(summaryContent);
+                if (summaryContent.length() > 30) {
+                    summaryContent = summaryContent.substring(0, 30);
                 }
+                
+                return summaryContent;
             }
             
             return null;
@@ -0,0 +1,169 @@
+package com.chictemp.backend.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * DeepSeek API端点及其健康状态
+ *
+ * 每个端点有独立的熔断器和按指数加权移动平均（EWMA）统计的延迟，
+ * 调用方按 {@link #ordered()} 的顺序尝试：可用且延迟低的端点排在前面，熔断中的排在最后。
+ */
+@Component
+public class DeepSeekEndpoints {
+    private static final Logger logger = LoggerFactory.getLogger(DeepSeekEndpoints.class);
+
+    private static final String COMPLETIONS_PATH = "/v1/chat/completions";
+    // EWMA平滑系数，越大越偏向最近的延迟
+    private static final double LATENCY_ALPHA = 0.3;
+    // 尚无统计数据时假定的延迟，让新端点有机会被尝试
+    private static final double INITIAL_LATENCY_MS = 1000;
+
+    private final List<Endpoint> endpoints;
+
+    public DeepSeekEndpoints(MeterRegistry meterRegistry,
+                             @Value("${deepseek.api.url}") String apiUrl,
+                             @Value("${deepseek.api.fallback-urls:https://api.deepseek.com,https://api.deepseek.ai}") List<String> fallbackUrls,
+                             @Value("${deepseek.circuit.failure-threshold:3}") int failureThreshold,
+                             @Value("${deepseek.circuit.open-ms:30000}") long openMillis) {
+        Set<String> urls = new LinkedHashSet<>();
+        urls.add(completionsUrl(apiUrl));
+        for (String url : fallbackUrls) {
+            if (url != null && !url.isBlank()) {
+                urls.add(completionsUrl(url));
+            }
+        }
+
+        List<Endpoint> list = new ArrayList<>();
+        for (String url : urls) {
+            Endpoint endpoint = new Endpoint(url, new CircuitBreaker(failureThreshold, openMillis), meterRegistry);
+            Gauge.builder("deepseek.endpoint.circuit.state", endpoint, e -> e.getState().getCode())
+                    .tag("endpoint", url)
+                    .description("0=closed, 1=half-open, 2=open")
+                    .register(meterRegistry);
+            Gauge.builder("deepseek.endpoint.latency.ewma", endpoint, Endpoint::getLatencyMillis)
+                    .tag("endpoint", url)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            list.add(endpoint);
+        }
+        this.endpoints = List.copyOf(list);
+        logger.info("DeepSeek API端点: {}", urls);
+    }
+
+    public List<Endpoint> all() {
+        return endpoints;
+    }
+
+    /**
+     * 按尝试顺序返回全部端点：熔断关闭的在前、半开的其次、打开的最后，同状态按延迟从低到高
+     */
+    public List<Endpoint> ordered() {
+        List<Endpoint> sorted = new ArrayList<>(endpoints);
+        sorted.sort(Comparator.<Endpoint>comparingInt(e -> e.getState().getCode())
+                .thenComparingDouble(Endpoint::getLatencyMillis));
+        return sorted;
+    }
+
+    private static String completionsUrl(String url) {
+        String trimmed = url.trim();
+        while (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return trimmed.endsWith(COMPLETIONS_PATH) ? trimmed : trimmed + COMPLETIONS_PATH;
+    }
+
+    public static class Endpoint {
+        private final String url;
+        private final CircuitBreaker breaker;
+        private final Counter successes;
+        private final Counter failures;
+        private final Counter rejections;
+        private volatile double latencyMillis = INITIAL_LATENCY_MS;
+
+        Endpoint(String url, CircuitBreaker breaker, MeterRegistry meterRegistry) {
+            this.url = url;
+            this.breaker = breaker;
+            this.successes = calls(meterRegistry, url, "success");
+            this.failures = calls(meterRegistry, url, "failure");
+            this.rejections = calls(meterRegistry, url, "rejected");
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * 熔断器允许时返回true，之后必须调用 recordSuccess、recordFailure 或 release 之一
+         */
+        public boolean tryAcquire() {
+            if (breaker.tryAcquire()) {
+                return true;
+            }
+            rejections.increment();
+            return false;
+        }
+
+        public void recordSuccess(long elapsedMillis) {
+            breaker.onSuccess();
+            successes.increment();
+            updateLatency(elapsedMillis);
+        }
+
+        public void recordFailure(long elapsedMillis) {
+            CircuitBreaker.State before = breaker.getState();
+            breaker.onFailure();
+            failures.increment();
+            updateLatency(elapsedMillis);
+            if (before != CircuitBreaker.State.OPEN && breaker.getState() == CircuitBreaker.State.OPEN) {
+                logger.warn("DeepSeek端点 {} 熔断打开", url);
+            }
+        }
+
+        public void release() {
+            breaker.release();
+        }
+
+        /**
+         * 记录预热探测结果：可达时更新延迟，不可达时直接熔断，请求到来时不再等待连接超时
+         */
+        public void recordProbe(boolean reachable, long elapsedMillis) {
+            if (reachable) {
+                updateLatency(elapsedMillis);
+            } else {
+                breaker.trip();
+                logger.warn("DeepSeek端点 {} 预热探测不可达，熔断打开", url);
+            }
+        }
+
+        public CircuitBreaker.State getState() {
+            return breaker.getState();
+        }
+
+        public double getLatencyMillis() {
+            return latencyMillis;
+        }
+
+        private synchronized void updateLatency(long elapsedMillis) {
+            latencyMillis = LATENCY_ALPHA * elapsedMillis + (1 - LATENCY_ALPHA) * latencyMillis;
+        }
+
+        private static Counter calls(MeterRegistry registry, String url, String result) {
+            return Counter.builder("deepseek.endpoint.calls")
+                    .tag("endpoint", url)
+                    .tag("result", result)
+                    .register(registry);
+        }
+    }
+}
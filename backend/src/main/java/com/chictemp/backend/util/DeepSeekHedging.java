@@ -0,0 +1,122 @@
+package com.chictemp.backend.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 对冲请求策略：主请求超过近期延迟的指定分位数仍未返回时，向下一个端点再发一次，先返回的结果胜出
+ *
+ * 额外请求受额度限制：每个请求增加 max-extra-ratio 的额度，每次对冲消耗1，
+ * 因此长期来看对冲请求数不超过总请求数的该比例。
+ */
+@Component
+public class DeepSeekHedging {
+    // 最近延迟样本数
+    private static final int WINDOW_SIZE = 256;
+    // 样本少于此数时使用默认延迟
+    private static final int MIN_SAMPLES = 20;
+    // 额度以千分之一为单位计算，避免浮点累加误差
+    private static final long HEDGE_COST = 1000;
+    // 额度上限，避免长时间空闲后积累大量额度造成突发
+    private static final long BUDGET_CAP = 10 * HEDGE_COST;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long defaultDelayMillis;
+    private final long minDelayMillis;
+    private final long creditPerRequest;
+    private final LatencyWindow latencies = new LatencyWindow(WINDOW_SIZE);
+
+    private long budget;
+
+    private final Counter unhedged;
+    private final Counter hedged;
+    private final Counter budgetExhausted;
+    private final Counter primaryWins;
+    private final Counter hedgeWins;
+
+    public DeepSeekHedging(MeterRegistry meterRegistry,
+                           @Value("${deepseek.hedge.enabled:false}") boolean enabled,
+                           @Value("${deepseek.hedge.percentile:0.95}") double percentile,
+                           @Value("${deepseek.hedge.default-delay-ms:3000}") long defaultDelayMillis,
+                           @Value("${deepseek.hedge.min-delay-ms:500}") long minDelayMillis,
+                           @Value("${deepseek.hedge.max-extra-ratio:0.1}") double maxExtraRatio) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.defaultDelayMillis = defaultDelayMillis;
+        this.minDelayMillis = minDelayMillis;
+        this.creditPerRequest = Math.round(maxExtraRatio * HEDGE_COST);
+
+        this.unhedged = requests(meterRegistry, "unhedged");
+        this.hedged = requests(meterRegistry, "hedged");
+        this.budgetExhausted = requests(meterRegistry, "budget_exhausted");
+        this.primaryWins = wins(meterRegistry, "primary");
+        this.hedgeWins = wins(meterRegistry, "hedge");
+        Gauge.builder("deepseek.hedge.delay", this, DeepSeekHedging::hedgeDelayMillis)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 主请求等待多久后发出对冲请求
+     */
+    public long hedgeDelayMillis() {
+        if (latencies.size() < MIN_SAMPLES) {
+            return defaultDelayMillis;
+        }
+        return Math.max(minDelayMillis, latencies.percentile(percentile));
+    }
+
+    /**
+     * 记录一次成功调用的延迟
+     */
+    public void recordLatency(long millis) {
+        latencies.record(millis);
+    }
+
+    /**
+     * 每个请求开始时调用，积累对冲额度
+     */
+    public synchronized void onRequest() {
+        budget = Math.min(BUDGET_CAP, budget + creditPerRequest);
+    }
+
+    /**
+     * 申请发出一次对冲请求
+     */
+    public synchronized boolean tryHedge() {
+        if (budget < HEDGE_COST) {
+            budgetExhausted.increment();
+            return false;
+        }
+        budget -= HEDGE_COST;
+        hedged.increment();
+        return true;
+    }
+
+    /**
+     * 主请求在对冲延迟内完成，未发对冲请求
+     */
+    public void recordUnhedged() {
+        unhedged.increment();
+    }
+
+    public void recordWin(boolean hedgeWon) {
+        (hedgeWon ? hedgeWins : primaryWins).increment();
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("deepseek.hedge.requests").tag("result", result).register(registry);
+    }
+
+    private static Counter wins(MeterRegistry registry, String winner) {
+        return Counter.builder("deepseek.hedge.wins").tag("winner", winner).register(registry);
+    }
+}
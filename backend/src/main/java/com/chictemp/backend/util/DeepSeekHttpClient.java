@@ -0,0 +1,402 @@
+package com.chictemp.backend.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 调用DeepSeek等大模型API的HTTP客户端
+ *
+ * 基于JDK HttpClient：连接和TLS会话在请求间复用，服务端支持时使用HTTP/2多路复用。
+ * 同时在途的请求数受信号量限制，每个请求都有截止时间，不会无限占用调用线程。
+ * 流式响应（SSE）按行读取，边收边回调，到截止时间由看门狗关闭响应体，服务端停止发送也不会一直阻塞。
+ */
+@Component
+public class DeepSeekHttpClient {
+    private static final Logger logger = LoggerFactory.getLogger(DeepSeekHttpClient.class);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Duration requestTimeout;
+    private final long acquireTimeoutMillis;
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    // 响应体读取的截止时间看门狗
+    private final ScheduledExecutorService streamWatchdog;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer acquireTimer;
+    private final Counter rejected;
+    private final Timer firstEventTimer;
+
+    public DeepSeekHttpClient(ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${deepseek.http.connect-timeout-ms:5000}") long connectTimeoutMillis,
+                              @Value("${deepseek.http.request-timeout-ms:30000}") long requestTimeoutMillis,
+                              @Value("${deepseek.http.max-concurrent:16}") int maxConcurrent,
+                              @Value("${deepseek.http.acquire-timeout-ms:2000}") long acquireTimeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent, true);
+        // 代理沿用系统属性（见DeepSeekClient.setProxyProperties）
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .proxy(ProxySelector.getDefault())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.streamWatchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "deepseek-stream-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.acquireTimer = Timer.builder("deepseek.http.pool.wait").register(meterRegistry);
+        this.rejected = Counter.builder("deepseek.http.pool.rejected").register(meterRegistry);
+        this.firstEventTimer = Timer.builder("deepseek.http.streams.first-event").register(meterRegistry);
+        Gauge.builder("deepseek.http.pool.active", permits, p -> maxConcurrent - p.availablePermits())
+                .register(meterRegistry);
+        Gauge.builder("deepseek.http.pool.max", () -> maxConcurrent).register(meterRegistry);
+
+        logger.info("DeepSeek HTTP客户端已创建, 最大并发={}, 连接超时={}ms, 请求超时={}ms",
+                maxConcurrent, connectTimeoutMillis, requestTimeoutMillis);
+    }
+
+    /**
+     * 以默认超时发送JSON POST请求
+     */
+    public <T> T postJson(String url, String apiKey, Object body, Class<T> responseType)
+            throws IOException, InterruptedException {
+        return postJson(url, apiKey, body, responseType, requestTimeout);
+    }
+
+    /**
+     * 发送JSON POST请求，响应体边接收边解析为responseType，不先读成字符串或字节数组
+     * timeout为本次请求的截止时间（不超过默认请求超时），包括读取响应体的时间
+     * 非2xx响应抛出 {@link HttpStatusException}，超时抛出 {@link HttpTimeoutException}
+     */
+    public <T> T postJson(String url, String apiKey, Object body, Class<T> responseType, Duration timeout)
+            throws IOException, InterruptedException {
+        URI uri = URI.create(url);
+        HttpRequest request = newRequest(uri, apiKey, body, timeout, "application/json");
+        long deadline = System.nanoTime() + capped(timeout).toNanos();
+        acquire();
+
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            // HttpRequest.timeout只管到收到响应头，响应体的读取由看门狗限时
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            InputStream in = response.body();
+            try (in; BodyDeadline watchdog = closeAtDeadline(in, deadline)) {
+                try {
+                    if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                        outcome = statusOutcome(response.statusCode());
+                        throw new HttpStatusException(response.statusCode(),
+                                new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                    }
+                    T json = objectMapper.readerFor(responseType)
+                            .without(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+                            .readValue(in);
+                    // 读完JSON之后剩余的空白，读到流末尾连接才能复用
+                    in.transferTo(OutputStream.nullOutputStream());
+                    outcome = "success";
+                    return json;
+                } catch (IOException e) {
+                    throw watchdog.expired() ? new HttpTimeoutException("响应体读取超过截止时间") : e;
+                }
+            }
+        } catch (HttpTimeoutException e) {
+            outcome = "timeout";
+            throw e;
+        } finally {
+            permits.release();
+            record("deepseek.http.requests", uri, outcome, start);
+        }
+    }
+
+    /**
+     * 异步发送JSON POST请求，用于对冲请求；取消返回的Future会中止底层请求并归还并发名额
+     * 并发已满时不等待，直接返回失败的Future
+     */
+    public <T> CompletableFuture<T> postJsonAsync(String url, String apiKey, Object body, Class<T> responseType,
+                                                  Duration timeout) {
+        URI uri = URI.create(url);
+        HttpRequest request;
+        try {
+            request = newRequest(uri, apiKey, body, timeout, "application/json");
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new IOException("DeepSeek请求并发已满(" + maxConcurrent + ")"));
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<byte[]>> exchange;
+        try {
+            exchange = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (RuntimeException e) {
+            permits.release();
+            return CompletableFuture.failedFuture(e);
+        }
+        exchange.whenComplete((response, error) -> {
+            permits.release();
+            String outcome;
+            if (error == null) {
+                outcome = response.statusCode() >= 200 && response.statusCode() < 300
+                        ? "success" : statusOutcome(response.statusCode());
+            } else if (exchange.isCancelled()) {
+                outcome = "cancelled";
+            } else {
+                outcome = unwrap(error) instanceof HttpTimeoutException ? "timeout" : "error";
+            }
+            record("deepseek.http.requests", uri, outcome, start);
+        });
+
+        // 异步请求在HttpClient线程上完成，整体接收后再解析，避免解析时阻塞等待网络
+        CompletableFuture<T> result = exchange.thenApply(response -> {
+            if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                throw new CompletionException(new HttpStatusException(response.statusCode(),
+                        new String(response.body(), StandardCharsets.UTF_8)));
+            }
+            try {
+                return objectMapper.readValue(response.body(), responseType);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 探测端点是否可达并预先建立连接（TLS握手、HTTP/2协商），之后的请求直接复用
+     * 任何HTTP响应（包括4xx）都说明可达，不占用并发名额
+     * @return HTTP状态码
+     */
+    public int probe(String url, Duration timeout) throws IOException, InterruptedException {
+        URI uri = URI.create(url);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(capped(timeout))
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            outcome = "reachable";
+            return status;
+        } catch (HttpTimeoutException e) {
+            outcome = "timeout";
+            throw e;
+        } finally {
+            record("deepseek.http.probes", uri, outcome, start);
+        }
+    }
+
+    /**
+     * 发送JSON POST请求并按SSE格式逐行读取响应，每收到一条data事件回调一次，收到[DONE]时结束
+     * 超过timeout时关闭响应体并抛出 {@link HttpTimeoutException}；回调抛出的异常会中止读取并关闭连接
+     */
+    public void streamEvents(String url, String apiKey, Object body, Duration timeout, Consumer<String> onEvent)
+            throws IOException, InterruptedException {
+        URI uri = URI.create(url);
+        HttpRequest request = newRequest(uri, apiKey, body, timeout, "text/event-stream");
+        long deadline = System.nanoTime() + capped(timeout).toNanos();
+        acquire();
+
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            InputStream in = response.body();
+            try (BodyDeadline watchdog = closeAtDeadline(in, deadline);
+                 BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                try {
+                    if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                        outcome = statusOutcome(response.statusCode());
+                        throw new HttpStatusException(response.statusCode(), reader.lines().collect(Collectors.joining("\n")));
+                    }
+                    boolean first = true;
+                    boolean done = false;
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (!line.startsWith("data:")) {
+                            continue;
+                        }
+                        String data = line.substring(5).trim();
+                        if ("[DONE]".equals(data)) {
+                            done = true;
+                            break;
+                        }
+                        if (data.isEmpty()) {
+                            continue;
+                        }
+                        if (first) {
+                            firstEventTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                            first = false;
+                        }
+                        onEvent.accept(data);
+                    }
+                    if (!done && watchdog.expired()) {
+                        throw new HttpTimeoutException("流式响应超过截止时间");
+                    }
+                } catch (IOException e) {
+                    throw watchdog.expired() ? new HttpTimeoutException("流式响应超过截止时间") : e;
+                }
+            }
+            outcome = "success";
+        } catch (HttpTimeoutException e) {
+            outcome = "timeout";
+            throw e;
+        } finally {
+            permits.release();
+            record("deepseek.http.streams", uri, outcome, start);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streamWatchdog.shutdownNow();
+    }
+
+    /**
+     * 到截止时间关闭响应体，阻塞在读取上的调用随即失败，不依赖服务端继续发送数据
+     */
+    private BodyDeadline closeAtDeadline(InputStream body, long deadlineNanos) {
+        BodyDeadline watchdog = new BodyDeadline();
+        watchdog.task = streamWatchdog.schedule(() -> {
+            watchdog.expired = true;
+            closeQuietly(body);
+        }, Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        return watchdog;
+    }
+
+    private static final class BodyDeadline implements AutoCloseable {
+        private volatile boolean expired;
+        private ScheduledFuture<?> task;
+
+        private boolean expired() {
+            return expired;
+        }
+
+        @Override
+        public void close() {
+            task.cancel(false);
+        }
+    }
+
+    private static void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException e) {
+            logger.debug("关闭流式响应失败: {}", e.getMessage());
+        }
+    }
+
+    private HttpRequest newRequest(URI uri, String apiKey, Object body, Duration timeout, String accept)
+            throws IOException {
+        return HttpRequest.newBuilder(uri)
+                .timeout(capped(timeout))
+                .header("Content-Type", "application/json")
+                .header("Accept", accept)
+                .header("Authorization", "Bearer " + apiKey)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private Duration capped(Duration timeout) {
+        return timeout.compareTo(requestTimeout) < 0 ? timeout : requestTimeout;
+    }
+
+    private void acquire() throws IOException, InterruptedException {
+        long waitStart = System.nanoTime();
+        if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            rejected.increment();
+            throw new IOException("DeepSeek请求并发已满(" + maxConcurrent + ")，等待" + acquireTimeoutMillis + "ms后放弃");
+        }
+        acquireTimer.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+    }
+
+    private void record(String name, URI uri, String outcome, long start) {
+        Timer.builder(name)
+                .tag("host", String.valueOf(uri.getHost()))
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static String statusOutcome(int statusCode) {
+        return "status_" + statusCode / 100 + "xx";
+    }
+
+    /**
+     * API返回非2xx状态码
+     */
+    public static class HttpStatusException extends IOException {
+        private final int statusCode;
+        private final String body;
+
+        public HttpStatusException(int statusCode, String body) {
+            super("API调用失败，状态码: " + statusCode + ", 响应: " + abbreviate(body));
+            this.statusCode = statusCode;
+            this.body = body;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        private static String abbreviate(String body) {
+            return body.length() > 200 ? body.substring(0, 200) + "..." : body;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.chictemp.backend.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 启动完成后在后台探测各DeepSeek端点：预先建立连接，并把结果写入端点健康状态
+ *
+ * 探测不阻塞启动，离线或有防火墙的环境中应用照常启动，不可达的端点直接熔断。
+ */
+@Component
+public class DeepSeekWarmup {
+    private static final Logger logger = LoggerFactory.getLogger(DeepSeekWarmup.class);
+
+    private final DeepSeekEndpoints endpoints;
+    private final DeepSeekHttpClient httpClient;
+    private final boolean enabled;
+    private final Duration timeout;
+
+    public DeepSeekWarmup(DeepSeekEndpoints endpoints,
+                          DeepSeekHttpClient httpClient,
+                          @Value("${deepseek.warmup.enabled:true}") boolean enabled,
+                          @Value("${deepseek.warmup.timeout-ms:5000}") long timeoutMillis) {
+        this.endpoints = endpoints;
+        this.httpClient = httpClient;
+        this.enabled = enabled;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmupOnStartup() {
+        if (enabled) {
+            start();
+        }
+    }
+
+    /**
+     * 在后台线程中探测全部端点，立即返回
+     */
+    public CompletableFuture<Void> start() {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                probeAll();
+                done.complete(null);
+            } catch (Throwable t) {
+                done.completeExceptionally(t);
+            }
+        }, "deepseek-warmup");
+        thread.setDaemon(true);
+        thread.start();
+        return done;
+    }
+
+    void probeAll() {
+        for (DeepSeekEndpoints.Endpoint endpoint : endpoints.all()) {
+            long start = System.currentTimeMillis();
+            try {
+                int status = httpClient.probe(endpoint.getUrl(), timeout);
+                long elapsed = System.currentTimeMillis() - start;
+                endpoint.recordProbe(true, elapsed);
+                logger.info("DeepSeek端点 {} 可达, 状态码 {}, 耗时 {}ms", endpoint.getUrl(), status, elapsed);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                endpoint.recordProbe(false, System.currentTimeMillis() - start);
+                logger.warn("DeepSeek端点 {} 不可达: {}", endpoint.getUrl(), e.getMessage());
+            }
+        }
+    }
+}
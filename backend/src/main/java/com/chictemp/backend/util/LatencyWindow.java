@@ -0,0 +1,45 @@
+package com.chictemp.backend.util;
+
+import java.util.Arrays;
+
+/**
+ * 保存最近N次调用延迟的环形缓冲区，用于估算延迟分位数
+ */
+public class LatencyWindow {
+    private final long[] samples;
+    private int next;
+    private int size;
+
+    public LatencyWindow(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    public synchronized void record(long millis) {
+        samples[next] = millis;
+        next = (next + 1) % samples.length;
+        if (size < samples.length) {
+            size++;
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @param quantile 0到1之间，如0.95
+     * @return 没有样本时返回-1
+     */
+    public long percentile(double quantile) {
+        long[] sorted;
+        synchronized (this) {
+            if (size == 0) {
+                return -1;
+            }
+            sorted = Arrays.copyOf(samples, size);
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
@@ -0,0 +1,118 @@
+package com.chictemp.backend.util;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 合并相同key的并发调用：同一时刻每个key只有一个调用在执行，其余调用方共享它的结果
+ *
+ * 每个调用方拿到自己的Future，取消或等待超时只影响自己；
+ * 所有调用方都放弃后，底层调用才会被取消（中断执行线程）。
+ * 底层调用另有整体超时，超时后同样被取消。调用结束后key即被移除，之后的请求会发起新调用。
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, Call> calls = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final long callTimeoutMillis;
+
+    public SingleFlight(ExecutorService executor, Duration callTimeout) {
+        this.executor = executor;
+        this.callTimeoutMillis = callTimeout.toMillis();
+    }
+
+    /**
+     * 加入key对应的进行中调用，没有则在线程池中发起新调用
+     */
+    public CompletableFuture<V> submit(K key, Supplier<V> loader) {
+        boolean[] created = new boolean[1];
+        Call call = calls.compute(key, (k, existing) -> {
+            if (existing != null && existing.acquire()) {
+                return existing;
+            }
+            created[0] = true;
+            return new Call();
+        });
+        if (created[0]) {
+            call.start(key, loader);
+        }
+
+        CompletableFuture<V> caller = new CompletableFuture<>();
+        call.result.whenComplete((value, error) -> {
+            if (error != null) {
+                caller.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            } else {
+                caller.complete(value);
+            }
+        });
+        caller.whenComplete((value, error) -> call.release());
+        return caller;
+    }
+
+    /**
+     * 当前正在执行的调用数
+     */
+    public int inFlight() {
+        return calls.size();
+    }
+
+    private final class Call {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        // 仍在等待结果的调用方数量，降为0后不再接受新的调用方
+        private final AtomicInteger waiters = new AtomicInteger(1);
+        private volatile Future<?> task;
+
+        private boolean acquire() {
+            while (true) {
+                int current = waiters.get();
+                if (current <= 0 || result.isDone()) {
+                    return false;
+                }
+                if (waiters.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private void start(K key, Supplier<V> loader) {
+            result.whenComplete((value, error) -> {
+                calls.remove(key, this);
+                Future<?> running = task;
+                if (error != null && running != null) {
+                    running.cancel(true);
+                }
+            });
+            result.orTimeout(callTimeoutMillis, TimeUnit.MILLISECONDS);
+            try {
+                task = executor.submit(() -> {
+                    try {
+                        result.complete(loader.get());
+                    } catch (Throwable t) {
+                        result.completeExceptionally(t);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            // 提交前调用已被取消或超时时，补一次取消
+            if (result.isCompletedExceptionally()) {
+                task.cancel(true);
+            }
+        }
+
+        private void release() {
+            if (waiters.decrementAndGet() == 0 && !result.isDone()) {
+                result.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.chictemp.backend.util;
+
+/**
+ * 摘要引擎，由 summary.engine 选择使用远程API还是本地抽取式摘要
+ */
+public interface SummaryEngine {
+
+    /**
+     * 生成不超过maxLength字的摘要
+     */
+    String summarize(String content, int maxLength);
+}
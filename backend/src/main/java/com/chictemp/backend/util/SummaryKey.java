@@ -0,0 +1,34 @@
+package com.chictemp.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * 摘要请求的内容寻址key，摘要缓存和请求合并共用
+ */
+public final class SummaryKey {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SummaryKey() {
+    }
+
+    /**
+     * 内容统一Unicode形式、合并连续空白后与长度和模型一起计算SHA-256
+     */
+    public static String of(String content, int maxLength, String model) {
+        String normalized = content == null ? "" : Normalizer.normalize(content, Normalizer.Form.NFC);
+        normalized = WHITESPACE.matcher(normalized.trim()).replaceAll(" ");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((model + '\n' + maxLength + '\n').getBytes(StandardCharsets.UTF_8));
+            digest.update(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256不可用", e);
+        }
+    }
+}
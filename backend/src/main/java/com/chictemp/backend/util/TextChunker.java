@@ -0,0 +1,119 @@
+package com.chictemp.backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 按句子边界把长文本切分成不超过指定token数的片段
+ *
+ * token数为估算值：中日韩文字每个字约1个token，其余字符约4个一个token，
+ * 用于控制单次请求的提示长度，不要求与模型的分词结果完全一致。
+ */
+public final class TextChunker {
+
+    private TextChunker() {
+    }
+
+    /**
+     * 估算文本的token数
+     */
+    public static int estimateTokens(CharSequence text) {
+        int cjk = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (BigramTokenizer.isCjk(text.charAt(i))) {
+                cjk++;
+            } else {
+                other++;
+            }
+        }
+        return cjk + (other + 3) / 4;
+    }
+
+    /**
+     * 按句子切分并依次装入片段，每个片段不超过maxTokens；单个句子超长时按字符硬切
+     */
+    public static List<String> chunk(String content, int maxTokens) {
+        List<String> chunks = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int currentTokens = 0;
+        for (String sentence : sentences(content)) {
+            int tokens = estimateTokens(sentence);
+            if (tokens > maxTokens) {
+                flush(chunks, current);
+                currentTokens = 0;
+                splitLongSentence(sentence, maxTokens, chunks);
+                continue;
+            }
+            if (currentTokens + tokens > maxTokens) {
+                flush(chunks, current);
+                currentTokens = 0;
+            }
+            current.append(sentence);
+            currentTokens += tokens;
+        }
+        flush(chunks, current);
+        return chunks;
+    }
+
+    /**
+     * 在句末标点和换行之后断句，标点保留在句子末尾
+     */
+    static List<String> sentences(String content) {
+        List<String> sentences = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < content.length(); i++) {
+            if (isSentenceEnd(content, i)) {
+                int end = i + 1;
+                // 连续的标点和右引号归入同一句
+                while (end < content.length() && isTrailing(content.charAt(end))) {
+                    end++;
+                }
+                sentences.add(content.substring(start, end));
+                start = end;
+                i = end - 1;
+            }
+        }
+        if (start < content.length()) {
+            sentences.add(content.substring(start));
+        }
+        return sentences;
+    }
+
+    private static boolean isSentenceEnd(String content, int i) {
+        char c = content.charAt(i);
+        switch (c) {
+            case '。', '！', '？', '；', '!', '?', '\n':
+                return true;
+            case '.':
+                // 英文句号后需跟空白或结尾，避免切开小数和网址
+                return i + 1 == content.length() || Character.isWhitespace(content.charAt(i + 1));
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isTrailing(char c) {
+        return c == '”' || c == '’' || c == '"' || c == '」' || c == '）' || c == ')'
+                || c == '。' || c == '！' || c == '？' || c == '!' || c == '?' || c == '\n';
+    }
+
+    private static void splitLongSentence(String sentence, int maxTokens, List<String> chunks) {
+        StringBuilder part = new StringBuilder();
+        for (int i = 0; i < sentence.length(); i++) {
+            part.append(sentence.charAt(i));
+            if (estimateTokens(part) >= maxTokens) {
+                chunks.add(part.toString());
+                part.setLength(0);
+            }
+        }
+        flush(chunks, part);
+    }
+
+    private static void flush(List<String> chunks, StringBuilder current) {
+        if (!current.toString().isBlank()) {
+            chunks.add(current.toString());
+        }
+        current.setLength(0);
+    }
+}
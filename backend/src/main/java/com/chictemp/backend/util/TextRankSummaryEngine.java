@@ -0,0 +1,265 @@
+package com.chictemp.backend.util;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 本地抽取式摘要：按句子切分后用TF-IDF向量的余弦相似度构建句子图，
+ * TextRank迭代得出句子得分，按得分选句、按原文顺序输出，不超过指定长度
+ *
+ * 句子过多时两两相似度的计算量太大，改用句子与全文词频的TF-IDF加权重合度打分
+ * 词元只使用整数编号（见 BigramTokenizer.tokenHashes），不创建词元字符串和哈希表
+ */
+@Component
+public class TextRankSummaryEngine implements SummaryEngine {
+
+    // 超过该句数时不构建句子图
+    static final int MAX_GRAPH_SENTENCES = 200;
+
+    private static final double DAMPING = 0.85;
+    private static final int MAX_ITERATIONS = 50;
+    private static final double CONVERGENCE = 1e-4;
+
+    @Override
+    public String summarize(String content, int maxLength) {
+        if (content == null || content.isBlank() || maxLength <= 0) {
+            return "";
+        }
+        List<Sentence> sentences = splitSentences(content);
+        if (sentences.isEmpty()) {
+            return truncate(content.strip(), maxLength);
+        }
+        if (sentences.size() == 1) {
+            return truncate(sentences.get(0).text, maxLength);
+        }
+
+        applyTfIdf(sentences);
+        double[] scores = sentences.size() <= MAX_GRAPH_SENTENCES
+                ? textRank(sentences)
+                : overlapScores(sentences);
+        return select(sentences, scores, maxLength);
+    }
+
+    private static List<Sentence> splitSentences(String content) {
+        List<Sentence> sentences = new ArrayList<>();
+        IntBuffer hashes = new IntBuffer();
+        for (String raw : TextChunker.sentences(content)) {
+            String text = raw.strip();
+            if (text.isEmpty()) {
+                continue;
+            }
+            hashes.size = 0;
+            BigramTokenizer.tokenHashes(text, hashes::add);
+            if (hashes.size == 0) {
+                continue;
+            }
+            sentences.add(new Sentence(text, hashes));
+        }
+        return sentences;
+    }
+
+    /**
+     * 词频乘以逆文档频率（以句子为文档），并计算向量长度
+     */
+    private static void applyTfIdf(List<Sentence> sentences) {
+        int total = 0;
+        for (Sentence sentence : sentences) {
+            total += sentence.terms.length;
+        }
+        // 所有句子去重后的词元排序后连续出现的次数即文档频率
+        int[] allTerms = new int[total];
+        int offset = 0;
+        for (Sentence sentence : sentences) {
+            System.arraycopy(sentence.terms, 0, allTerms, offset, sentence.terms.length);
+            offset += sentence.terms.length;
+        }
+        Arrays.sort(allTerms);
+
+        double n = sentences.size();
+        for (Sentence sentence : sentences) {
+            double norm = 0;
+            for (int i = 0; i < sentence.terms.length; i++) {
+                int df = frequency(allTerms, sentence.terms[i]);
+                sentence.weights[i] *= Math.log(1 + n / df);
+                sentence.documentFrequency[i] = df;
+                norm += sentence.weights[i] * sentence.weights[i];
+            }
+            sentence.norm = Math.sqrt(norm);
+        }
+    }
+
+    private static double[] textRank(List<Sentence> sentences) {
+        int n = sentences.size();
+        double[][] similarity = new double[n][n];
+        double[] outWeight = new double[n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double s = cosine(sentences.get(i), sentences.get(j));
+                similarity[i][j] = s;
+                similarity[j][i] = s;
+                outWeight[i] += s;
+                outWeight[j] += s;
+            }
+        }
+
+        double[] scores = new double[n];
+        double[] next = new double[n];
+        Arrays.fill(scores, 1.0);
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            double delta = 0;
+            for (int i = 0; i < n; i++) {
+                double rank = 0;
+                for (int j = 0; j < n; j++) {
+                    if (similarity[j][i] > 0) {
+                        rank += similarity[j][i] / outWeight[j] * scores[j];
+                    }
+                }
+                next[i] = (1 - DAMPING) + DAMPING * rank;
+                delta = Math.max(delta, Math.abs(next[i] - scores[i]));
+            }
+            double[] swap = scores;
+            scores = next;
+            next = swap;
+            if (delta < CONVERGENCE) {
+                break;
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * 句子中的词在全文出现得越普遍、在本句权重越高，得分越高，按句子向量长度归一
+     */
+    private static double[] overlapScores(List<Sentence> sentences) {
+        double[] scores = new double[sentences.size()];
+        for (int i = 0; i < scores.length; i++) {
+            Sentence sentence = sentences.get(i);
+            double score = 0;
+            for (int t = 0; t < sentence.terms.length; t++) {
+                score += sentence.weights[t] * sentence.documentFrequency[t];
+            }
+            scores[i] = sentence.norm > 0 ? score / sentence.norm : 0;
+        }
+        return scores;
+    }
+
+    /**
+     * 按得分从高到低选入放得下的句子，按原文顺序拼接；最高分句子单独也放不下时截断它
+     */
+    private static String select(List<Sentence> sentences, double[] scores, int maxLength) {
+        Integer[] order = new Integer[sentences.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> scores[a] != scores[b]
+                ? Double.compare(scores[b], scores[a]) : Integer.compare(a, b));
+
+        boolean[] chosen = new boolean[sentences.size()];
+        int length = 0;
+        for (int index : order) {
+            int sentenceLength = sentences.get(index).text.length();
+            if (length + sentenceLength <= maxLength) {
+                chosen[index] = true;
+                length += sentenceLength;
+            }
+        }
+        if (length == 0) {
+            return truncate(sentences.get(order[0]).text, maxLength);
+        }
+
+        StringBuilder summary = new StringBuilder(length);
+        for (int i = 0; i < chosen.length; i++) {
+            if (chosen[i]) {
+                summary.append(sentences.get(i).text);
+            }
+        }
+        return summary.toString();
+    }
+
+    private static double cosine(Sentence a, Sentence b) {
+        if (a.norm == 0 || b.norm == 0) {
+            return 0;
+        }
+        double dot = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.terms.length && j < b.terms.length) {
+            if (a.terms[i] == b.terms[j]) {
+                dot += a.weights[i++] * b.weights[j++];
+            } else if (a.terms[i] < b.terms[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return dot / (a.norm * b.norm);
+    }
+
+    private static int frequency(int[] sorted, int term) {
+        int index = Arrays.binarySearch(sorted, term);
+        int from = index;
+        while (from > 0 && sorted[from - 1] == term) {
+            from--;
+        }
+        int to = index;
+        while (to + 1 < sorted.length && sorted[to + 1] == term) {
+            to++;
+        }
+        return to - from + 1;
+    }
+
+    private static String truncate(String text, int maxLength) {
+        return text.length() > maxLength ? text.substring(0, maxLength) : text;
+    }
+
+    /**
+     * 句子及其去重排序后的词元哈希、词频（计算后为TF-IDF权重）
+     */
+    private static final class Sentence {
+        private final String text;
+        private final int[] terms;
+        private final double[] weights;
+        private final int[] documentFrequency;
+        private double norm;
+
+        private Sentence(String text, IntBuffer hashes) {
+            this.text = text;
+            int[] sorted = Arrays.copyOf(hashes.values, hashes.size);
+            Arrays.sort(sorted);
+            int unique = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    unique++;
+                }
+            }
+            this.terms = new int[unique];
+            this.weights = new double[unique];
+            this.documentFrequency = new int[unique];
+            int k = -1;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    terms[++k] = sorted[i];
+                }
+                weights[k]++;
+            }
+        }
+    }
+
+    /**
+     * 复用的int数组，收集一个句子的词元哈希
+     */
+    private static final class IntBuffer {
+        private int[] values = new int[64];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
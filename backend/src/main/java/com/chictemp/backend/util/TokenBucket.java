@@ -0,0 +1,64 @@
+package com.chictemp.backend.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 令牌桶限流：按固定速率生成令牌，最多积累burst个，每次调用消耗一个
+ */
+public class TokenBucket {
+    private final double tokensPerNano;
+    private final double capacity;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("令牌速率和容量必须大于0");
+        }
+        this.tokensPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = burst;
+        this.nanoClock = nanoClock;
+        this.tokens = burst;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    public boolean tryAcquire() {
+        return tryAcquireOrWait() == 0;
+    }
+
+    /**
+     * 尝试取得令牌，取不到时不等待
+     * @return 0表示已取得令牌，否则为下一个令牌生成前还需等待的纳秒数
+     */
+    public synchronized long tryAcquireOrWait() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return Math.max((long) Math.ceil((1 - tokens) / tokensPerNano), 1);
+    }
+
+    /**
+     * 阻塞直到取得令牌
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        while ((waitNanos = tryAcquireOrWait()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+}
@@ -19,7 +19,7 @@ CREATE TABLE IF NOT EXISTS blog_posts (
     cover_image_url VARCHAR(255),
     summary TEXT,
     content TEXT NOT NULL,
-    content_type VARCHAR(50) DEFAULT 'blog', -- 可选: blog, book, movie, music
+    content_type ENUM('blog', 'book', 'movie', 'music') NOT NULL DEFAULT 'blog', -- 取值见 ContentType
     artist_name VARCHAR(255), -- 音乐评论专用：艺术家名称
     album_name VARCHAR(255), -- 音乐评论专用：专辑名称
     album_image_url VARCHAR(255), -- 音乐评论专用：专辑封面图片URL
@@ -27,14 +27,19 @@ CREATE TABLE IF NOT EXISTS blog_posts (
     view_count INT DEFAULT 0, -- 浏览量计数
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-    FOREIGN KEY (author_id) REFERENCES users(id)
+    FOREIGN KEY (author_id) REFERENCES users(id),
+    INDEX idx_blog_posts_created (created_at, id), -- 游标分页
+    INDEX idx_blog_posts_author_created (author_id, created_at, id),
+    INDEX idx_blog_posts_type_created (content_type, created_at, id) -- 按类型分页
 );
 
 -- 标签表
 CREATE TABLE IF NOT EXISTS tags (
     id INT AUTO_INCREMENT PRIMARY KEY,
     name VARCHAR(50) NOT NULL UNIQUE,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    post_count INT NOT NULL DEFAULT 0, -- 使用该标签的文章数，随文章标签变化维护
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_tags_post_count (post_count, id) -- 热门标签
 );
 
 -- 文章标签关联表
@@ -45,7 +50,8 @@ CREATE TABLE IF NOT EXISTS post_tags (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (post_id) REFERENCES blog_posts(id) ON DELETE CASCADE,
     FOREIGN KEY (tag_id) REFERENCES tags(id) ON DELETE CASCADE,
-    UNIQUE (post_id, tag_id)
+    UNIQUE (post_id, tag_id),
+    INDEX idx_post_tags_tag_post (tag_id, post_id)
 );
 
 -- 文章摘要表
@@ -57,6 +63,42 @@ CREATE TABLE IF NOT EXISTS post_summaries (
     FOREIGN KEY (post_id) REFERENCES blog_posts(id) ON DELETE CASCADE
 );
 
+-- 摘要缓存表：按 (规范化内容, 最大长度, 模型) 的哈希保存生成结果
+CREATE TABLE IF NOT EXISTS summary_cache (
+    cache_key CHAR(64) PRIMARY KEY, -- SHA-256十六进制
+    model VARCHAR(64) NOT NULL,
+    max_length INT NOT NULL,
+    summary TEXT NOT NULL,
+    latency_ms BIGINT NOT NULL DEFAULT 0, -- 生成该摘要耗时，用于统计缓存节省的时间
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 异步摘要任务表：任务持久化，服务重启后未完成的任务会重新执行
+CREATE TABLE IF NOT EXISTS summary_jobs (
+    id CHAR(36) PRIMARY KEY, -- UUID
+    status ENUM('pending', 'running', 'succeeded', 'failed') NOT NULL DEFAULT 'pending',
+    content MEDIUMTEXT NOT NULL,
+    max_length INT NOT NULL,
+    summary TEXT,
+    error VARCHAR(500),
+    attempts INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP NULL,
+    finished_at TIMESTAMP NULL,
+    INDEX idx_summary_jobs_status_created (status, created_at)
+);
+
+-- 批处理任务进度表：记录处理到的位置，重启后从断点继续
+CREATE TABLE IF NOT EXISTS backfill_checkpoints (
+    name VARCHAR(64) PRIMARY KEY,
+    last_id INT NOT NULL DEFAULT 0,
+    status VARCHAR(16) NOT NULL,
+    processed BIGINT NOT NULL DEFAULT 0,
+    failed BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
 -- 初始数据：创建默认用户
 INSERT INTO users (username, password, name, bio) 
 VALUES ('admin', '$2a$10$X7GxU5rNT3p3FJFgQ5OvJeCzCL7KfoO4CIhB1Xw4X0N/D9KOzMT3K', '管理员', '博客系统管理员')
@@ -0,0 +1,10 @@
+-- 批处理任务进度表：记录处理到的位置，重启后从断点继续
+CREATE TABLE IF NOT EXISTS backfill_checkpoints (
+    name VARCHAR(64) PRIMARY KEY,
+    last_id INT NOT NULL DEFAULT 0,
+    status VARCHAR(16) NOT NULL,
+    processed BIGINT NOT NULL DEFAULT 0,
+    failed BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
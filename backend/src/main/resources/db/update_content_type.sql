@@ -0,0 +1,12 @@
+-- 内容类型规范化为小写枚举值，按类型分页查询不再需要 LOWER() 而能使用索引
+UPDATE blog_posts SET content_type = LOWER(TRIM(content_type))
+WHERE content_type IS NOT NULL AND content_type <> LOWER(TRIM(content_type));
+
+-- 空值和未知取值归为 blog
+UPDATE blog_posts SET content_type = 'blog'
+WHERE content_type IS NULL OR content_type NOT IN ('blog', 'book', 'movie', 'music');
+
+ALTER TABLE blog_posts
+    MODIFY COLUMN content_type ENUM('blog', 'book', 'movie', 'music') NOT NULL DEFAULT 'blog';
+
+ALTER TABLE blog_posts ADD INDEX idx_blog_posts_type_created (content_type, created_at, id);
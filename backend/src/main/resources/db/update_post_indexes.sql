@@ -0,0 +1,6 @@
+-- 为博客列表的游标分页 (created_at, id) 添加复合索引
+ALTER TABLE blog_posts ADD INDEX idx_blog_posts_created (created_at, id);
+ALTER TABLE blog_posts ADD INDEX idx_blog_posts_author_created (author_id, created_at, id);
+
+-- 按标签查询博客时先按 tag_id 定位关联
+ALTER TABLE post_tags ADD INDEX idx_post_tags_tag_post (tag_id, post_id);
@@ -0,0 +1,9 @@
+-- 摘要缓存表：相同内容重复生成摘要时不再调用远程API
+CREATE TABLE IF NOT EXISTS summary_cache (
+    cache_key CHAR(64) PRIMARY KEY, -- SHA-256十六进制
+    model VARCHAR(64) NOT NULL,
+    max_length INT NOT NULL,
+    summary TEXT NOT NULL,
+    latency_ms BIGINT NOT NULL DEFAULT 0, -- 生成该摘要耗时，用于统计缓存节省的时间
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
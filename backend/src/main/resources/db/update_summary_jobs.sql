@@ -0,0 +1,14 @@
+-- 异步摘要任务表：任务持久化，服务重启后未完成的任务会重新执行
+CREATE TABLE IF NOT EXISTS summary_jobs (
+    id CHAR(36) PRIMARY KEY, -- UUID
+    status ENUM('pending', 'running', 'succeeded', 'failed') NOT NULL DEFAULT 'pending',
+    content MEDIUMTEXT NOT NULL,
+    max_length INT NOT NULL,
+    summary TEXT,
+    error VARCHAR(500),
+    attempts INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP NULL,
+    finished_at TIMESTAMP NULL,
+    INDEX idx_summary_jobs_status_created (status, created_at)
+);
@@ -0,0 +1,6 @@
+-- 标签文章数改为物化列，热门标签查询不再对 post_tags 做 GROUP BY
+ALTER TABLE tags ADD COLUMN post_count INT NOT NULL DEFAULT 0 AFTER name;
+ALTER TABLE tags ADD INDEX idx_tags_post_count (post_count, id);
+
+-- 初始化已有标签的文章数
+UPDATE tags t SET t.post_count = (SELECT COUNT(*) FROM post_tags pt WHERE pt.tag_id = t.id);
@@ -0,0 +1,101 @@
+package com.chictemp.backend.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SummaryRateLimitInterceptorTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    /**
+     * 用户2个、IP 3个、全局5个令牌，令牌生成极慢，测试期间不会补充
+     */
+    private final SummaryRateLimitInterceptor interceptor = new SummaryRateLimitInterceptor(
+            Optional.empty(), new ObjectMapper(), registry, true,
+            0.001, 2, 0.001, 3, 0.001, 5, 100);
+
+    @Test
+    void userBucketIsExhaustedFirstAndAnswers429WithRetryAfter() throws Exception {
+        assertTrue(admit("alice", "10.0.0.1").admitted);
+        assertTrue(admit("alice", "10.0.0.1").admitted);
+
+        Result rejected = admit("alice", "10.0.0.1");
+
+        assertFalse(rejected.admitted);
+        assertEquals(429, rejected.response.getStatus());
+        assertTrue(Long.parseLong(rejected.response.getHeader("Retry-After")) > 0);
+        assertTrue(rejected.response.getContentAsString().contains("\"code\":429"));
+        assertEquals(1.0, count("rejected", "user"));
+        // 同一IP的其他用户仍可使用剩余的IP令牌
+        assertTrue(admit("bob", "10.0.0.1").admitted);
+    }
+
+    @Test
+    void ipBucketLimitsRotatingUserIds() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(admit("user" + i, "10.0.0.2").admitted);
+        }
+
+        assertFalse(admit("user9", "10.0.0.2").admitted);
+        assertEquals(1.0, count("rejected", "ip"));
+    }
+
+    @Test
+    void globalBucketCapsAllCallers() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(admit(null, "10.0.1." + i).admitted);
+        }
+
+        assertFalse(admit(null, "10.0.2.1").admitted);
+        assertEquals(5.0, count("admitted", "none"));
+        assertEquals(1.0, count("rejected", "global"));
+    }
+
+    @Test
+    void getRequestsAreNotLimited() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/summary/jobs/1");
+            assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), new Object()));
+        }
+    }
+
+    @Test
+    void storeFailureLetsRequestsThrough() throws Exception {
+        SummaryRateLimitInterceptor failing = new SummaryRateLimitInterceptor(
+                Optional.of((key, rate, burst) -> {
+                    throw new IllegalStateException("redis down");
+                }),
+                new ObjectMapper(), registry, true, 0.001, 1, 0.001, 1, 0.001, 1, 100);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/summary/generate");
+
+        assertTrue(failing.preHandle(request, new MockHttpServletResponse(), new Object()));
+    }
+
+    private Result admit(String user, String ip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/summary/generate");
+        request.setRemoteAddr(ip);
+        if (user != null) {
+            request.addHeader("User-Id", user);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        return new Result(interceptor.preHandle(request, response, new Object()), response);
+    }
+
+    private double count(String outcome, String limit) {
+        return registry.get("summary.ratelimit.requests").tag("outcome", outcome).tag("limit", limit)
+                .counter().count();
+    }
+
+    private record Result(boolean admitted, MockHttpServletResponse response) {
+    }
+}
@@ -0,0 +1,203 @@
+package com.chictemp.backend.service.impl;
+
+import com.chictemp.backend.dto.BlogPostCard;
+import com.chictemp.backend.dto.BlogPostRequest;
+import com.chictemp.backend.dto.CursorPage;
+import com.chictemp.backend.entity.BlogPost;
+import com.chictemp.backend.entity.PostTag;
+import com.chictemp.backend.entity.Tag;
+import com.chictemp.backend.entity.User;
+import com.chictemp.backend.mapper.BlogPostMapper;
+import com.chictemp.backend.mapper.PostTagMapper;
+import com.chictemp.backend.mapper.UserMapperExt;
+import com.chictemp.backend.service.PostCacheService;
+import com.chictemp.backend.service.RecommendService;
+import com.chictemp.backend.service.SearchService;
+import com.chictemp.backend.service.TagService;
+import com.chictemp.backend.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BlogPostServiceImplTest {
+
+    @Mock
+    private BlogPostMapper blogPostMapper;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private PostTagMapper postTagMapper;
+
+    @Mock
+    private UserMapperExt userMapperExt;
+
+    @Mock
+    private PostCacheService postCacheService;
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private RecommendService recommendService;
+
+    @Mock
+    private TagService tagService;
+
+    @InjectMocks
+    private BlogPostServiceImpl blogPostService;
+
+    @BeforeEach
+    void bypassCache() {
+        lenient().when(postCacheService.getList(anyString(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+    }
+
+    /**
+     * 列表补充信息的查询次数不随页大小增长
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 100})
+    void enrichmentQueryCountIsConstantPerPage(int pageSize) {
+        when(blogPostMapper.findAll(isNull(), eq(pageSize + 1))).thenReturn(posts(pageSize + 1));
+        when(userService.findByUsernames(anyCollection())).thenReturn(new ArrayList<>());
+        when(postTagMapper.findByPostIds(anyList())).thenReturn(new ArrayList<>());
+
+        CursorPage<BlogPostCard> result = blogPostService.findAll(null, pageSize);
+
+        assertEquals(pageSize, result.getItems().size());
+        assertNotNull(result.getNext());
+        verify(userService, times(1)).findByUsernames(anyCollection());
+        verify(postTagMapper, times(1)).findByPostIds(anyList());
+        verify(userService, never()).findByUsername(anyString());
+        verify(postTagMapper, never()).findByPostId(any());
+    }
+
+    @Test
+    void enrichmentAttachesAuthorsAndTagsToTheirPosts() {
+        List<BlogPostCard> page = posts(3);
+        when(blogPostMapper.findAll(isNull(), anyInt())).thenReturn(page);
+
+        User author = new User();
+        author.setUsername("user3");
+        when(userService.findByUsernames(anyCollection())).thenReturn(List.of(author));
+
+        Tag jazz = tag(10, "爵士");
+        Tag rock = tag(11, "摇滚");
+        when(postTagMapper.findByPostIds(anyList())).thenReturn(List.of(relation(2, 10), relation(2, 11)));
+        when(tagService.getByIds(List.of(10, 11))).thenReturn(List.of(jazz, rock));
+
+        CursorPage<BlogPostCard> result = blogPostService.findAll(null, 10);
+
+        BlogPostCard withTags = page.get(1);
+        assertSame(author, withTags.getAuthor());
+        // 标签按名称排序
+        assertEquals(List.of(rock, jazz), withTags.getTags());
+        assertTrue(page.get(0).getTags().isEmpty());
+        assertEquals(0, page.get(0).getLikeCount());
+        assertNull(result.getNext());
+    }
+
+    @Test
+    void contentTypeLookupIsOneNormalizedQuery() {
+        when(blogPostMapper.findByContentType("music", null, 21)).thenReturn(new ArrayList<>());
+
+        blogPostService.findByContentType(" MUSIC ", null, 20);
+        blogPostService.findByContentType("podcast", null, 20);
+
+        verify(blogPostMapper, times(1)).findByContentType(anyString(), any(), anyInt());
+    }
+
+    /**
+     * 更新标签时只增删有变化的关联，关联写入的语句数不随标签数增长
+     * 标签名解析见 TagServiceImplTest
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void tagUpdateOnlyWritesChangedRelations(int tagCount) {
+        BlogPost post = new BlogPost();
+        post.setId(1);
+        when(blogPostMapper.findById(1)).thenReturn(post);
+
+        List<String> names = new ArrayList<>();
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (int i = 0; i < tagCount; i++) {
+            names.add("tag" + i);
+            ids.add(i + 1);
+        }
+        when(tagService.resolveOrCreate(names)).thenReturn(ids);
+        // 文章当前只关联一个将被移除的旧标签
+        when(postTagMapper.findByPostId(1)).thenReturn(List.of(relation(1, 999)));
+
+        BlogPostRequest request = new BlogPostRequest();
+        request.setTags(names);
+
+        blogPostService.update(1, request);
+
+        verify(tagService, times(1)).resolveOrCreate(names);
+        verify(postTagMapper, times(1)).deleteRelations(eq(1), eq(Set.of(999)));
+        verify(postTagMapper, times(1)).insertRelations(eq(1), argThat(added -> added.size() == tagCount));
+        verify(tagService, times(1)).updatePostCounts(argThat(added -> added.size() == tagCount), eq(Set.of(999)));
+        verify(postTagMapper, never()).deleteByPostId(any());
+        verify(postTagMapper, never()).insertRelation(any(), any());
+    }
+
+    private static List<BlogPostCard> posts(int count) {
+        List<BlogPostCard> posts = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            BlogPostCard post = new BlogPostCard();
+            post.setId(i);
+            post.setAuthorId(i % 7 + 1);
+            post.setCreatedAt(LocalDateTime.of(2025, 1, 1, 12, 0).minusMinutes(i));
+            posts.add(post);
+        }
+        return posts;
+    }
+
+    private static Tag tag(int id, String name) {
+        Tag tag = new Tag();
+        tag.setId(id);
+        tag.setName(name);
+        return tag;
+    }
+
+    private static PostTag relation(int postId, int tagId) {
+        PostTag relation = new PostTag();
+        relation.setPostId(postId);
+        relation.setTagId(tagId);
+        return relation;
+    }
+}
@@ -0,0 +1,65 @@
+package com.chictemp.backend.service.impl;
+
+import com.chictemp.backend.entity.BlogPost;
+import com.chictemp.backend.entity.PostSummary;
+import com.chictemp.backend.mapper.PostSummaryMapper;
+import com.chictemp.backend.service.BlogPostService;
+import com.chictemp.backend.util.DeepSeekClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DeepSeekServiceImplTest {
+
+    @Mock
+    private PostSummaryMapper postSummaryMapper;
+
+    @Mock
+    private BlogPostService blogPostService;
+
+    @Mock
+    private DeepSeekClient deepSeekClient;
+
+    @InjectMocks
+    private DeepSeekServiceImpl deepSeekService;
+
+    @BeforeEach
+    void setUp() {
+        BlogPost post = new BlogPost();
+        post.setId(7);
+        post.setContent("正文");
+        when(blogPostService.findById(7)).thenReturn(post);
+    }
+
+    @Test
+    void apiSummaryFailureIsNotSaved() {
+        when(deepSeekClient.generateSummaryWithoutFallback("正文", 30)).thenReturn(null);
+
+        assertThrows(IllegalStateException.class, () -> deepSeekService.generateApiSummary(7));
+
+        verify(postSummaryMapper, never()).insert(any());
+        verify(deepSeekClient, never()).generateSummary(anyString());
+    }
+
+    @Test
+    void apiSummaryIsSaved() {
+        when(deepSeekClient.generateSummaryWithoutFallback("正文", 30)).thenReturn("API摘要");
+
+        PostSummary summary = deepSeekService.generateApiSummary(7);
+
+        assertEquals("API摘要", summary.getContent());
+        verify(postSummaryMapper).insert(summary);
+    }
+}
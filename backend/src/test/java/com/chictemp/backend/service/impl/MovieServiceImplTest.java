@@ -0,0 +1,53 @@
+package com.chictemp.backend.service.impl;
+
+import com.chictemp.backend.mapper.MovieMapper;
+import com.chictemp.backend.service.ViewCounterService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MovieServiceImplTest {
+
+    @Mock
+    private MovieMapper movieMapper;
+
+    @Mock
+    private ViewCounterService viewCounterService;
+
+    @InjectMocks
+    private MovieServiceImpl movieService;
+
+    @Test
+    void viewOfUnknownMovieIsNotCounted() {
+        when(movieMapper.countById(404)).thenReturn(0);
+
+        assertEquals(-1, movieService.incrementViewCount(404));
+        verify(viewCounterService, never()).increment(any(), anyInt());
+    }
+
+    @Test
+    void returnsPendingViewsFromCounter() {
+        when(movieMapper.countById(7)).thenReturn(1);
+        when(viewCounterService.increment(ViewCounterService.Target.MOVIE, 7)).thenReturn(3L);
+
+        assertEquals(3, movieService.incrementViewCount(7));
+    }
+
+    @Test
+    void droppedViewIsNotReportedAsSuccess() {
+        when(movieMapper.countById(7)).thenReturn(1);
+        when(viewCounterService.increment(ViewCounterService.Target.MOVIE, 7)).thenReturn(0L);
+
+        assertEquals(0, movieService.incrementViewCount(7));
+    }
+}
@@ -0,0 +1,64 @@
+package com.chictemp.backend.service.impl;
+
+import com.chictemp.backend.dto.CursorPage;
+import com.chictemp.backend.entity.MusicBlog;
+import com.chictemp.backend.mapper.MusicBlogMapper;
+import com.chictemp.backend.util.PageCursor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MusicBlogServiceImplTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    @Mock
+    private MusicBlogMapper musicBlogMapper;
+
+    @InjectMocks
+    private MusicBlogServiceImpl musicBlogService;
+
+    @Test
+    void extraRowBecomesNextCursorAndNextPageContinuesAfterIt() {
+        when(musicBlogMapper.findCards(isNull(), eq(3))).thenReturn(blogs(10, 3));
+
+        CursorPage<MusicBlog> first = musicBlogService.findCards(null, 2);
+
+        assertEquals(List.of(10, 9), first.getItems().stream().map(MusicBlog::getId).toList());
+        assertEquals(PageCursor.encode(BASE.minusMinutes(1), 9), first.getNext());
+
+        when(musicBlogMapper.findCards(argThat(cursor -> cursor != null && cursor.getId() == 9), eq(3)))
+                .thenReturn(blogs(8, 1));
+
+        CursorPage<MusicBlog> last = musicBlogService.findCards(first.getNext(), 2);
+
+        assertEquals(List.of(8), last.getItems().stream().map(MusicBlog::getId).toList());
+        assertNull(last.getNext());
+    }
+
+    // 从 firstId 起ID递减、创建时间依次早一分钟的音乐博客
+    private static List<MusicBlog> blogs(int firstId, int count) {
+        List<MusicBlog> blogs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            MusicBlog blog = new MusicBlog();
+            blog.setId(firstId - i);
+            blog.setCreatedAt(BASE.minusMinutes(10 - firstId + i));
+            blogs.add(blog);
+        }
+        return blogs;
+    }
+}
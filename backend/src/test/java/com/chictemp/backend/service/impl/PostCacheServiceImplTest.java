@@ -0,0 +1,149 @@
+package com.chictemp.backend.service.impl;
+
+import com.chictemp.backend.cache.InMemoryCacheStore;
+import com.chictemp.backend.cache.RemoteCacheStore;
+import com.chictemp.backend.dto.BlogPostCard;
+import com.chictemp.backend.dto.CursorPage;
+import com.chictemp.backend.entity.BlogPost;
+import com.chictemp.backend.entity.Tag;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 两个实例共用一个内存版二级缓存，模拟两个节点共用Redis
+ */
+class PostCacheServiceImplTest {
+
+    private final RemoteCacheStore sharedStore = new InMemoryCacheStore();
+    private final MeterRegistry registryA = new SimpleMeterRegistry();
+    private final PostCacheServiceImpl nodeA = newNode(registryA);
+    private final PostCacheServiceImpl nodeB = newNode(new SimpleMeterRegistry());
+
+    @Test
+    void postIsLoadedOnceAndServedFromLocalThenRemoteTier() {
+        AtomicInteger loads = new AtomicInteger();
+
+        nodeA.getPost(1, () -> load(loads, 1));
+        nodeA.getPost(1, () -> load(loads, 1));
+        BlogPost fromRemote = nodeB.getPost(1, () -> load(loads, 1));
+
+        assertEquals(1, loads.get());
+        assertEquals("post-1", fromRemote.getTitle());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 12, 0), fromRemote.getCreatedAt());
+        assertEquals(1.0, counter(registryA, "post", "l1", "hit"));
+        assertEquals(1.0, counter(registryA, "post", "l2", "miss"));
+    }
+
+    @Test
+    void evictPostForcesReloadOnEveryNode() {
+        AtomicInteger loads = new AtomicInteger();
+        nodeA.getPost(1, () -> load(loads, 1));
+
+        nodeA.evictPost(1);
+        nodeA.getPost(1, () -> load(loads, 1));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictListsInvalidatesRemoteListsByGeneration() {
+        AtomicInteger loads = new AtomicInteger();
+        nodeA.getList("all:null:20", () -> page(loads));
+        nodeB.getList("all:null:20", () -> page(loads));
+        assertEquals(1, loads.get());
+
+        nodeA.evictLists();
+        CursorPage<BlogPostCard> reloaded = nodeA.getList("all:null:20", () -> page(loads));
+
+        assertEquals(2, loads.get());
+        assertEquals("card", reloaded.getItems().get(0).getTitle());
+    }
+
+    @Test
+    void missingPostIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertNull(nodeA.getPost(404, () -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        nodeA.getPost(404, () -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void callersCannotMutateLocallyCachedObjects() {
+        AtomicInteger loads = new AtomicInteger();
+        BlogPost first = nodeA.getPost(1, () -> {
+            BlogPost post = load(loads, 1);
+            post.setTags(new ArrayList<>(List.of(tag(7, "爵士"))));
+            return post;
+        });
+        first.setTitle("changed");
+        first.getTags().get(0).setName("changed");
+        first.getTags().clear();
+
+        BlogPost second = nodeA.getPost(1, () -> load(loads, 1));
+        assertEquals(1, loads.get());
+        assertEquals("post-1", second.getTitle());
+        assertEquals("爵士", second.getTags().get(0).getName());
+
+        CursorPage<BlogPostCard> page = nodeA.getList("all:null:20", () -> page(loads));
+        page.getItems().get(0).setTitle("changed");
+        page.setNext("changed");
+
+        CursorPage<BlogPostCard> cached = nodeA.getList("all:null:20", () -> page(loads));
+        assertEquals("card", cached.getItems().get(0).getTitle());
+        assertNull(cached.getNext());
+    }
+
+    private PostCacheServiceImpl newNode(MeterRegistry registry) {
+        return new PostCacheServiceImpl(JsonMapper.builder().findAndAddModules().build(), registry,
+                Optional.of(sharedStore), 100, 30, 600);
+    }
+
+    private static BlogPost load(AtomicInteger loads, int id) {
+        loads.incrementAndGet();
+        BlogPost post = new BlogPost();
+        post.setId(id);
+        post.setTitle("post-" + id);
+        post.setCreatedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+        return post;
+    }
+
+    private static Tag tag(int id, String name) {
+        Tag tag = new Tag();
+        tag.setId(id);
+        tag.setName(name);
+        return tag;
+    }
+
+    private static CursorPage<BlogPostCard> page(AtomicInteger loads) {
+        loads.incrementAndGet();
+        BlogPostCard card = new BlogPostCard();
+        card.setId(1);
+        card.setTitle("card");
+        return new CursorPage<>(List.of(card), null);
+    }
+
+    private static double counter(MeterRegistry registry, String cache, String tier, String result) {
+        return registry.get("blog.cache.requests")
+                .tag("cache", cache).tag("tier", tier).tag("result", result)
+                .counter().count();
+    }
+}
@@ -0,0 +1,84 @@
+package com.chictemp.backend.service.impl;
+
+import com.chictemp.backend.entity.BlogPost;
+import com.chictemp.backend.entity.PostTag;
+import com.chictemp.backend.entity.Tag;
+import com.chictemp.backend.mapper.BlogPostMapper;
+import com.chictemp.backend.mapper.PostTagMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendServiceImplTest {
+
+    @Mock
+    private BlogPostMapper blogPostMapper;
+
+    @Mock
+    private PostTagMapper postTagMapper;
+
+    @InjectMocks
+    private RecommendServiceImpl recommendService;
+
+    @Test
+    void postsSharingMoreTagsRankFirstAndTagChangesApplyIncrementally() {
+        LocalDateTime now = LocalDateTime.now();
+        when(blogPostMapper.findRankingStats()).thenReturn(List.of(
+                stats(1, 10, now), stats(2, 10, now), stats(3, 10, now), stats(4, 1000, now)));
+        // 1:{爵士,蓝调}  2:{爵士,蓝调}  3:{爵士}  4:{摇滚}
+        when(postTagMapper.findAllRelations()).thenReturn(List.of(
+                relation(1, 10), relation(1, 11), relation(2, 10), relation(2, 11), relation(3, 10), relation(4, 20)));
+
+        recommendService.rebuild();
+
+        assertEquals(List.of(2, 3), recommendService.recommend(1, 2));
+        // 没有相似文章时用热门文章补齐
+        assertEquals(List.of(2, 3, 4), recommendService.recommend(1, 3));
+
+        // 文章3改为只带摇滚标签后不再与文章1相似
+        BlogPost updated = stats(3, 10, now);
+        updated.setTags(new ArrayList<>(List.of(tag(20))));
+        recommendService.updatePost(updated);
+        recommendService.applyPendingUpdates();
+
+        List<Integer> similarToOne = recommendService.recommend(1, 1);
+        assertEquals(List.of(2), similarToOne);
+        assertEquals(4, recommendService.recommend(3, 1).get(0));
+
+        recommendService.removePost(2);
+        recommendService.applyPendingUpdates();
+        assertFalse(recommendService.recommend(1, 5).contains(2));
+    }
+
+    private static BlogPost stats(int id, int views, LocalDateTime createdAt) {
+        BlogPost post = new BlogPost();
+        post.setId(id);
+        post.setViewCount(views);
+        post.setCreatedAt(createdAt);
+        return post;
+    }
+
+    private static PostTag relation(int postId, int tagId) {
+        PostTag relation = new PostTag();
+        relation.setPostId(postId);
+        relation.setTagId(tagId);
+        return relation;
+    }
+
+    private static Tag tag(int id) {
+        Tag tag = new Tag();
+        tag.setId(id);
+        return tag;
+    }
+}
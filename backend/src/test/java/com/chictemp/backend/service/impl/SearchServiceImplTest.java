@@ -0,0 +1,97 @@
+package com.chictemp.backend.service.impl;
+
+import com.chictemp.backend.dto.SearchResult;
+import com.chictemp.backend.entity.BlogPost;
+import com.chictemp.backend.mapper.BlogPostMapper;
+import com.chictemp.backend.util.BigramTokenizer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchServiceImplTest {
+
+    @Mock
+    private BlogPostMapper blogPostMapper;
+
+    @InjectMocks
+    private SearchServiceImpl searchService;
+
+    @Test
+    void tokenizerSplitsChineseIntoBigramsAndLowercasesWords() {
+        assertEquals(List.of("爵士", "士乐", "jazz", "2025", "好"), BigramTokenizer.tokenize("爵士乐 Jazz-2025，好"));
+    }
+
+    @Test
+    void titleMatchRanksAboveContentMatchAndIsHighlighted() {
+        List<BlogPost> posts = List.of(
+                post(1, "周末随笔", "今天听了一张爵士乐专辑，感觉不错"),
+                post(2, "爵士乐入门", "从摇滚转向爵士乐的一些体会"),
+                post(3, "摇滚现场", "和爵无关"));
+        when(blogPostMapper.findByIds(anyList())).thenAnswer(invocation -> {
+            List<Integer> ids = invocation.getArgument(0);
+            List<BlogPost> found = new ArrayList<>();
+            for (BlogPost post : posts) {
+                if (ids.contains(post.getId())) {
+                    found.add(post);
+                }
+            }
+            return found;
+        });
+        posts.forEach(searchService::index);
+
+        SearchResult result = searchService.search("爵士乐", 1, 10);
+
+        assertEquals(2, result.getTotal());
+        assertEquals(2, result.getHits().get(0).getId());
+        assertEquals(1, result.getHits().get(1).getId());
+        assertTrue(result.getHits().get(1).getHighlight().contains("<em>爵士乐</em>"));
+
+        searchService.remove(2);
+        assertEquals(1, searchService.search("爵士乐", 1, 10).getTotal());
+    }
+
+    @Test
+    void changesAppliedDuringRebuildSurviveTheSwap() {
+        BlogPost updated = post(1, "爵士乐现场", "更新后的正文");
+        BlogPost created = post(2, "爵士乐入门", "重建期间新发布的文章");
+        when(blogPostMapper.findBatchAfterId(0, 500)).thenAnswer(invocation -> {
+            // 重建读取旧数据的同时，文章被修改、新文章发布
+            searchService.index(updated);
+            searchService.index(created);
+            return List.of(post(1, "周末随笔", "旧的正文"));
+        });
+        when(blogPostMapper.findById(1)).thenReturn(updated);
+        when(blogPostMapper.findById(2)).thenReturn(created);
+        when(blogPostMapper.findByIds(anyList())).thenAnswer(invocation -> {
+            List<BlogPost> found = new ArrayList<>();
+            for (Integer id : invocation.<List<Integer>>getArgument(0)) {
+                found.add(id == 1 ? updated : created);
+            }
+            return found;
+        });
+
+        assertEquals(2, searchService.rebuild());
+
+        assertEquals(2, searchService.search("爵士乐", 1, 10).getTotal());
+        assertEquals(0, searchService.search("随笔", 1, 10).getTotal());
+    }
+
+    private static BlogPost post(int id, String title, String content) {
+        BlogPost post = new BlogPost();
+        post.setId(id);
+        post.setTitle(title);
+        post.setContent(content);
+        return post;
+    }
+}
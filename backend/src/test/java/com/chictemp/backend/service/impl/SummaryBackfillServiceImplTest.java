@@ -0,0 +1,142 @@
+package com.chictemp.backend.service.impl;
+
+import com.chictemp.backend.entity.BackfillCheckpoint;
+import com.chictemp.backend.mapper.BackfillCheckpointMapper;
+import com.chictemp.backend.mapper.BlogPostMapper;
+import com.chictemp.backend.service.DeepSeekService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SummaryBackfillServiceImplTest {
+
+    @Mock
+    private BlogPostMapper blogPostMapper;
+
+    @Mock
+    private BackfillCheckpointMapper checkpointMapper;
+
+    @Mock
+    private DeepSeekService deepSeekService;
+
+    private SummaryBackfillServiceImpl service;
+    // upsert时保存进度快照，检查每批之后保存的内容
+    private final List<String> saved = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        service = new SummaryBackfillServiceImpl(blogPostMapper, checkpointMapper, deepSeekService,
+                new SimpleMeterRegistry(), 1000, 2, 3);
+        doAnswer(invocation -> {
+            BackfillCheckpoint checkpoint = invocation.getArgument(0);
+            saved.add(checkpoint.getStatus() + ":" + checkpoint.getLastId() + ":" + checkpoint.getProcessed()
+                    + ":" + checkpoint.getFailed());
+            return null;
+        }).when(checkpointMapper).upsert(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void resumesAfterCheckpointAndSavesProgressPerBatch() throws Exception {
+        when(blogPostMapper.findIdsMissingSummary(10, 3)).thenReturn(List.of(11, 12, 13));
+        when(blogPostMapper.findIdsMissingSummary(13, 3)).thenReturn(List.of(20));
+        when(blogPostMapper.findIdsMissingSummary(20, 3)).thenReturn(List.of());
+        when(deepSeekService.generateApiSummary(12)).thenThrow(new IllegalStateException("API摘要生成失败"));
+
+        service.run(checkpoint(10, 5, 1));
+
+        verify(deepSeekService, times(4)).generateApiSummary(anyInt());
+        verify(deepSeekService, never()).generateSummary(anyInt());
+        assertEquals(List.of("running:13:7:2", "running:20:8:2", "completed:20:8:2"), saved);
+    }
+
+    @Test
+    void stopSavesProgressWithoutFetchingMore() throws Exception {
+        when(blogPostMapper.findIdsMissingSummary(0, 3)).thenAnswer(invocation -> {
+            service.stop();
+            return List.of(1, 2);
+        });
+
+        service.run(checkpoint(0, 0, 0));
+
+        verify(blogPostMapper, times(1)).findIdsMissingSummary(anyInt(), anyInt());
+        assertEquals(List.of("running:2:2:0", "stopped:2:2:0"), saved);
+    }
+
+    @Test
+    void shutdownInterruptsRunAndKeepsCheckpointRunning() throws Exception {
+        when(checkpointMapper.findByName(SummaryBackfillServiceImpl.CHECKPOINT_NAME)).thenReturn(checkpoint(0, 0, 0));
+        when(blogPostMapper.findIdsMissingSummary(0, 3)).thenReturn(List.of(1, 2));
+        CountDownLatch entered = new CountDownLatch(2);
+        when(deepSeekService.generateApiSummary(anyInt())).thenAnswer(invocation -> {
+            entered.countDown();
+            // 模拟一直没有返回的API调用，只能被中断
+            new CountDownLatch(1).await();
+            return null;
+        });
+
+        service.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        service.shutdown();
+
+        assertFalse(service.status().isRunning());
+        // 只有启动时保存的running进度，没有保存未完成的批次，也没有标记为stopped
+        assertEquals(List.of("running:0:0:0"), saved);
+    }
+
+    @Test
+    void completedRunStartsOverFromTheBeginning() throws Exception {
+        BackfillCheckpoint completed = checkpoint(500, 40, 3);
+        completed.setStatus(SummaryBackfillServiceImpl.STATUS_COMPLETED);
+        when(checkpointMapper.findByName(SummaryBackfillServiceImpl.CHECKPOINT_NAME)).thenReturn(completed);
+        when(blogPostMapper.findIdsMissingSummary(eq(0), anyInt())).thenReturn(List.of());
+
+        service.start();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (service.status().isRunning() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        ArgumentCaptor<BackfillCheckpoint> captor = ArgumentCaptor.forClass(BackfillCheckpoint.class);
+        verify(checkpointMapper, times(2)).upsert(captor.capture());
+        assertEquals(0, captor.getValue().getLastId());
+        verify(blogPostMapper, never()).findIdsMissingSummary(eq(500), anyInt());
+    }
+
+    private static BackfillCheckpoint checkpoint(int lastId, long processed, long failed) {
+        BackfillCheckpoint checkpoint = new BackfillCheckpoint();
+        checkpoint.setName(SummaryBackfillServiceImpl.CHECKPOINT_NAME);
+        checkpoint.setStatus(SummaryBackfillServiceImpl.STATUS_RUNNING);
+        checkpoint.setLastId(lastId);
+        checkpoint.setProcessed(processed);
+        checkpoint.setFailed(failed);
+        return checkpoint;
+    }
+}
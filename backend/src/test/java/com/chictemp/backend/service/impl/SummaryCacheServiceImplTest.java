@@ -0,0 +1,59 @@
+package com.chictemp.backend.service.impl;
+
+import com.chictemp.backend.entity.SummaryCacheEntry;
+import com.chictemp.backend.mapper.SummaryCacheMapper;
+import com.chictemp.backend.util.SummaryKey;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SummaryCacheServiceImplTest {
+
+    @Mock
+    private SummaryCacheMapper summaryCacheMapper;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void keyIgnoresWhitespaceButNotLengthOrModel() {
+        String key = SummaryKey.of("人生 苦短\n\n我用  Java ", 30, "deepseek-chat");
+
+        assertEquals(key, SummaryKey.of("  人生 苦短 我用 Java", 30, "deepseek-chat"));
+        assertNotEquals(key, SummaryKey.of("人生 苦短 我用 Java", 50, "deepseek-chat"));
+        assertNotEquals(key, SummaryKey.of("人生 苦短 我用 Java", 30, "deepseek-reasoner"));
+    }
+
+    @Test
+    void hitsAreServedFromMemoryThenDatabaseAndCountSavedLatency() {
+        SummaryCacheServiceImpl cache = new SummaryCacheServiceImpl(summaryCacheMapper, registry, 100, 3600);
+
+        assertNull(cache.get("正文", 30, "deepseek-chat"));
+        cache.put("正文", 30, "deepseek-chat", "摘要", 1200);
+        assertEquals("摘要", cache.get("正文", 30, "deepseek-chat"));
+
+        // 另一个实例只能从数据库命中，命中后放入进程内缓存
+        SummaryCacheEntry stored = new SummaryCacheEntry();
+        stored.setSummary("摘要");
+        stored.setLatencyMs(800L);
+        when(summaryCacheMapper.findByKey(anyString())).thenReturn(stored);
+        SummaryCacheServiceImpl other = new SummaryCacheServiceImpl(summaryCacheMapper, new SimpleMeterRegistry(), 100, 3600);
+        assertEquals("摘要", other.get("正文", 30, "deepseek-chat"));
+        assertEquals("摘要", other.get("正文", 30, "deepseek-chat"));
+
+        verify(summaryCacheMapper, times(2)).findByKey(anyString());
+        assertEquals(1200.0, registry.get("summary.cache.latency.saved").counter().count());
+        assertEquals(0.5, registry.get("summary.cache.hit.ratio").gauge().value());
+    }
+}
@@ -0,0 +1,126 @@
+package com.chictemp.backend.service.impl;
+
+import com.chictemp.backend.entity.SummaryJob;
+import com.chictemp.backend.mapper.SummaryJobMapper;
+import com.chictemp.backend.util.DeepSeekClient;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SummaryJobServiceImplTest {
+
+    @Mock
+    private SummaryJobMapper summaryJobMapper;
+
+    @Mock
+    private DeepSeekClient deepSeekClient;
+
+    private final List<Runnable> queued = new ArrayList<>();
+
+    @Test
+    void submitReturnsBeforeTheSummaryIsGenerated() {
+        SummaryJobServiceImpl service = service(queued::add);
+
+        SummaryJob job = service.submit("内容", null);
+
+        assertEquals("pending", job.getStatus());
+        assertEquals(SummaryJobServiceImpl.DEFAULT_MAX_LENGTH, job.getMaxLength());
+        assertEquals(1, queued.size());
+        verify(summaryJobMapper).insert(job);
+        verify(deepSeekClient, never()).generateSummary(anyString(), anyInt());
+
+        SummaryJob stored = stored(job.getId());
+        when(summaryJobMapper.markRunning(job.getId())).thenReturn(1);
+        when(summaryJobMapper.findById(job.getId())).thenReturn(stored);
+        when(deepSeekClient.generateSummary("内容", 30)).thenReturn("摘要");
+        queued.get(0).run();
+
+        verify(summaryJobMapper).markSucceeded(job.getId(), "摘要");
+    }
+
+    @Test
+    void jobClaimedByAnotherInstanceIsSkipped() {
+        SummaryJobServiceImpl service = service(Runnable::run);
+        when(summaryJobMapper.markRunning(anyString())).thenReturn(0);
+
+        service.submit("内容", 30);
+
+        verify(summaryJobMapper, never()).findById(anyString());
+        verify(deepSeekClient, never()).generateSummary(anyString(), anyInt());
+    }
+
+    @Test
+    void failureIsRecordedOnTheJob() {
+        SummaryJobServiceImpl service = service(Runnable::run);
+        when(summaryJobMapper.markRunning(anyString())).thenReturn(1);
+        when(summaryJobMapper.findById(anyString())).thenAnswer(invocation -> stored(invocation.getArgument(0)));
+        when(deepSeekClient.generateSummary(anyString(), anyInt())).thenThrow(new IllegalStateException("上游不可用"));
+
+        service.submit("内容", 30);
+
+        verify(summaryJobMapper).markFailed(anyString(), eq("上游不可用"));
+        verify(summaryJobMapper, never()).markSucceeded(anyString(), any());
+    }
+
+    @Test
+    void invalidRequestsAreRejectedWithoutPersisting() {
+        SummaryJobServiceImpl service = service(queued::add);
+
+        assertThrows(IllegalArgumentException.class, () -> service.submit("  ", 30));
+        assertThrows(IllegalArgumentException.class, () -> service.submit("内容", 0));
+
+        verify(summaryJobMapper, never()).insert(any());
+    }
+
+    /**
+     * 队列满时停止本轮投递，任务留在数据库中，下一轮再投
+     */
+    @Test
+    void pendingJobsAreRequeuedAndDispatchedUntilQueueIsFull() {
+        SummaryJobServiceImpl service = service(task -> {
+            if (queued.size() >= 2) {
+                throw new RejectedExecutionException("full");
+            }
+            queued.add(task);
+        });
+        when(summaryJobMapper.requeueStale(any(), eq(3))).thenReturn(1);
+        when(summaryJobMapper.findPendingIds(anyInt())).thenReturn(List.of("a", "b", "c", "d"));
+
+        service.dispatchPending();
+        service.dispatchPending();
+
+        assertEquals(2, queued.size());
+        verify(summaryJobMapper, times(2)).failExhausted(any(), eq(3));
+    }
+
+    private SummaryJobServiceImpl service(Executor executor) {
+        return new SummaryJobServiceImpl(summaryJobMapper, deepSeekClient, executor, 600000, 3, 1000);
+    }
+
+    private static SummaryJob stored(String id) {
+        SummaryJob job = new SummaryJob();
+        job.setId(id);
+        job.setStatus("running");
+        job.setContent("内容");
+        job.setMaxLength(30);
+        return job;
+    }
+}
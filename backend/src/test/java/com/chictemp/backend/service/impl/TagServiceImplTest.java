@@ -0,0 +1,204 @@
+package com.chictemp.backend.service.impl;
+
+import com.chictemp.backend.entity.PostTag;
+import com.chictemp.backend.entity.Tag;
+import com.chictemp.backend.mapper.PostTagMapper;
+import com.chictemp.backend.mapper.TagMapper;
+import com.chictemp.backend.service.PostCacheService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TagServiceImplTest {
+
+    @Mock
+    private TagMapper tagMapper;
+
+    @Mock
+    private PostTagMapper postTagMapper;
+
+    @Mock
+    private PostCacheService postCacheService;
+
+    @InjectMocks
+    private TagServiceImpl tagService;
+
+    @Test
+    void popularTagsAreServedFromMemoryUntilCountsChange() {
+        when(tagMapper.findPopular(TagServiceImpl.POPULAR_CACHE_SIZE)).thenReturn(tags(3));
+
+        assertEquals(2, tagService.findPopular(2).size());
+        assertEquals(3, tagService.findPopular(10).size());
+        verify(tagMapper, times(1)).findPopular(anyInt());
+
+        tagService.updatePostCounts(Set.of(1), null);
+        tagService.findPopular(10);
+
+        verify(tagMapper).adjustPostCounts(eq(Set.of(1)), eq(1));
+        verify(tagMapper, never()).adjustPostCounts(isNull(), anyInt());
+        verify(tagMapper, times(2)).findPopular(anyInt());
+    }
+
+    @Test
+    void popularListLoadedDuringInvalidationIsNotServedAfterwards() {
+        List<Tag> stale = tags(3);
+        List<Tag> fresh = tags(2);
+        // 第一次查询返回前，另一处的写入让缓存失效
+        when(tagMapper.findPopular(TagServiceImpl.POPULAR_CACHE_SIZE)).thenAnswer(invocation -> {
+            tagService.updatePostCounts(Set.of(1), null);
+            return stale;
+        }).thenReturn(fresh);
+
+        assertEquals(3, tagService.findPopular(10).size());
+        assertEquals(2, tagService.findPopular(10).size());
+        assertEquals(2, tagService.findPopular(10).size());
+        verify(tagMapper, times(2)).findPopular(anyInt());
+    }
+
+    @Test
+    void renamingOrDeletingTagEvictsCachedPostsCarryingIt() {
+        when(postTagMapper.findByTagId(1)).thenReturn(List.of(relation(10, 1), relation(11, 1)));
+        when(postTagMapper.findByTagId(2)).thenReturn(List.of(relation(12, 2)));
+
+        Tag renamed = new Tag();
+        renamed.setName("爵士乐");
+        tagService.update(1, renamed);
+        verify(postCacheService).evictPost(10);
+        verify(postCacheService).evictPost(11);
+        verify(postCacheService, times(1)).evictLists();
+
+        tagService.delete(2);
+        verify(postCacheService).evictPost(12);
+        verify(postCacheService, times(2)).evictLists();
+    }
+
+    @Test
+    void repairRecountsInIdRangeBatches() {
+        List<Integer> firstBatch = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            firstBatch.add(i);
+        }
+        when(tagMapper.findIdsAfter(0, 500)).thenReturn(firstBatch);
+        when(tagMapper.findIdsAfter(500, 500)).thenReturn(List.of(501, 502));
+        when(tagMapper.recountPostCounts(1, 500)).thenReturn(500);
+        when(tagMapper.recountPostCounts(501, 502)).thenReturn(2);
+
+        assertEquals(502, tagService.repairPostCounts());
+    }
+
+    /**
+     * 标签名解析只对字典中缺失的名称访问数据库，且不随标签数增长
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void resolveOrCreateBatchesMissingNamesAndThenHitsDictionary(int tagCount) {
+        // 库中已有一半标签
+        List<Tag> existing = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < tagCount; i++) {
+            if (i < tagCount / 2) {
+                existing.add(tag(i + 1, "tag" + i));
+                // 大小写和首尾空白不同也能命中
+                names.add(" TAG" + i + " ");
+            } else {
+                names.add("tag" + i);
+            }
+        }
+        when(tagMapper.findAll()).thenReturn(existing);
+        when(tagMapper.findByNames(anyCollection())).thenAnswer(invocation -> {
+            List<Tag> created = new ArrayList<>();
+            for (Object name : invocation.<Collection<?>>getArgument(0)) {
+                created.add(tag(1000 + created.size(), (String) name));
+            }
+            return created;
+        });
+
+        Set<Integer> ids = tagService.resolveOrCreate(names);
+
+        assertEquals(tagCount, ids.size());
+        verify(tagMapper, times(1)).findAll();
+        verify(tagMapper, times(1)).insertIgnoreBatch(argThat(missing -> missing.size() == tagCount - tagCount / 2));
+        verify(tagMapper, times(1)).findByNames(anyCollection());
+
+        // 新建的标签已进入字典，再次解析不访问数据库
+        assertEquals(ids, tagService.resolveOrCreate(names));
+        verify(tagMapper, never()).findByName(anyString());
+        verifyNoMoreInteractions(tagMapper);
+    }
+
+    @Test
+    void controllerWritesUpdateDictionaryAtomically() {
+        when(tagMapper.findAll()).thenReturn(List.of(tag(1, "爵士")));
+        tagService.reloadDictionary();
+
+        Tag rock = new Tag();
+        rock.setName("摇滚");
+        doAnswer(invocation -> {
+            invocation.<Tag>getArgument(0).setId(2);
+            return null;
+        }).when(tagMapper).insert(rock);
+        tagService.create(rock);
+        assertEquals(2, tagService.findIdByName("摇滚"));
+
+        Tag renamed = new Tag();
+        renamed.setName("爵士乐");
+        tagService.update(1, renamed);
+        assertNull(tagService.findIdByName("爵士"));
+        assertEquals("爵士乐", tagService.getById(1).getName());
+
+        tagService.delete(2);
+        assertNull(tagService.findIdByName("摇滚"));
+        verify(tagMapper, never()).findByIds(anyCollection());
+    }
+
+    private static Tag tag(int id, String name) {
+        Tag tag = new Tag();
+        tag.setId(id);
+        tag.setName(name);
+        return tag;
+    }
+
+    private static List<Tag> tags(int count) {
+        List<Tag> tags = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Tag tag = new Tag();
+            tag.setId(i);
+            tag.setName("tag" + i);
+            tag.setPostCount(10 - i);
+            tags.add(tag);
+        }
+        return tags;
+    }
+
+    private static PostTag relation(int postId, int tagId) {
+        PostTag relation = new PostTag();
+        relation.setPostId(postId);
+        relation.setTagId(tagId);
+        return relation;
+    }
+}
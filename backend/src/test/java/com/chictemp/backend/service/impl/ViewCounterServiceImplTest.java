@@ -0,0 +1,125 @@
+package com.chictemp.backend.service.impl;
+
+import com.chictemp.backend.dto.ViewCountDelta;
+import com.chictemp.backend.mapper.ViewCountMapper;
+import com.chictemp.backend.service.ViewCounterService.Target;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class ViewCounterServiceImplTest {
+
+    @Mock
+    private ViewCountMapper viewCountMapper;
+
+    // 每次写回调用的表名和增量快照，mapper收到的是subList视图，需要复制
+    private final List<String> tables = new ArrayList<>();
+    private final List<Map<Integer, Long>> writes = new ArrayList<>();
+    // 为true时模拟数据库写入失败
+    private boolean failing;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            if (failing) {
+                throw new IllegalStateException("数据库不可用");
+            }
+            List<ViewCountDelta> deltas = invocation.getArgument(1);
+            Map<Integer, Long> copy = new TreeMap<>();
+            deltas.forEach(delta -> copy.put(delta.getId(), delta.getDelta()));
+            tables.add(invocation.getArgument(0));
+            writes.add(copy);
+            return deltas.size();
+        }).when(viewCountMapper).incrementViewCounts(anyString(), anyList());
+    }
+
+    @Test
+    void flushWritesOneStatementPerTableAndBatch() {
+        ViewCounterServiceImpl counter = new ViewCounterServiceImpl(viewCountMapper, 10_000, 3);
+        for (int id = 1; id <= 501; id++) {
+            counter.increment(Target.POST, id);
+        }
+        assertEquals(2, counter.increment(Target.POST, 1));
+        counter.increment(Target.MOVIE, 7);
+
+        assertEquals(502, counter.flush());
+
+        assertEquals(List.of("blog_posts", "blog_posts", "movies"), tables);
+        assertEquals(500, writes.get(0).size());
+        assertEquals(1, writes.get(1).size());
+        long postViews = writes.get(0).values().stream().mapToLong(Long::longValue).sum()
+                + writes.get(1).values().stream().mapToLong(Long::longValue).sum();
+        assertEquals(502, postViews);
+        assertEquals(Map.of(7, 1L), writes.get(2));
+
+        // 已写回的增量不会再次写入
+        assertEquals(0, counter.flush());
+        assertEquals(3, writes.size());
+    }
+
+    @Test
+    void failedWriteIsRetriedOnNextFlushThenDropped() {
+        ViewCounterServiceImpl counter = new ViewCounterServiceImpl(viewCountMapper, 10_000, 1);
+        counter.increment(Target.MUSIC, 3);
+        counter.increment(Target.MUSIC, 3);
+
+        failing = true;
+        assertEquals(0, counter.flush());
+
+        // 失败的增量放回计数器，与之后的浏览合并写回
+        failing = false;
+        counter.increment(Target.MUSIC, 3);
+        assertEquals(1, counter.flush());
+        assertEquals(List.of(Map.of(3, 3L)), writes);
+
+        // 连续失败超过上限后丢弃，不再重试
+        counter.increment(Target.MUSIC, 4);
+        failing = true;
+        counter.flush();
+        counter.flush();
+        failing = false;
+        assertEquals(0, counter.flush());
+        assertEquals(1, writes.size());
+    }
+
+    @Test
+    void idleCountersArePrunedAndNewIdsAreCappedMeanwhile() {
+        ViewCounterServiceImpl counter = new ViewCounterServiceImpl(viewCountMapper, 2, 3);
+        counter.increment(Target.POST, 1);
+        counter.increment(Target.POST, 2);
+
+        assertEquals(0, counter.increment(Target.POST, 3));
+
+        // 第一次刷新写回并清零，下一个周期仍没有浏览的计数器被删除
+        counter.flush();
+        counter.flush();
+        assertEquals(1, counter.increment(Target.POST, 3));
+        counter.flush();
+        assertEquals(Map.of(3, 1L), writes.get(writes.size() - 1));
+    }
+
+    @Test
+    void shutdownFlushesRemainingViews() {
+        ViewCounterServiceImpl counter = new ViewCounterServiceImpl(viewCountMapper, 10_000, 3);
+        counter.increment(Target.POST, 9);
+        counter.increment(Target.POST, 9);
+
+        counter.flushOnShutdown();
+
+        assertEquals(List.of("blog_posts"), tables);
+        assertEquals(List.of(Map.of(9, 2L)), writes);
+    }
+}
@@ -0,0 +1,36 @@
+package com.chictemp.backend.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ChatStreamParserTest {
+
+    private final ChatStreamParser parser = new ChatStreamParser(new ObjectMapper());
+
+    @Test
+    void extractsDeltaContentAndSkipsOtherFields() throws IOException {
+        String chunk = "{\"id\":\"c1\",\"object\":\"chat.completion.chunk\",\"usage\":{\"tokens\":[1,2]},"
+                + "\"choices\":[{\"index\":0,\"logprobs\":null,\"delta\":{\"role\":\"assistant\",\"content\":\"人生\\n苦短\"}}]}";
+
+        assertEquals("人生\n苦短", parser.deltaContent(chunk));
+    }
+
+    @Test
+    void chunksWithoutContentYieldNull() throws IOException {
+        assertNull(parser.deltaContent("{\"choices\":[{\"delta\":{\"role\":\"assistant\"}}]}"));
+        assertNull(parser.deltaContent("{\"choices\":[{\"delta\":{},\"finish_reason\":\"stop\"}]}"));
+        assertNull(parser.deltaContent("{\"choices\":[]}"));
+        assertNull(parser.deltaContent("[]"));
+    }
+
+    @Test
+    void malformedChunkIsReported() {
+        assertThrows(IOException.class, () -> parser.deltaContent("{\"choices\":[{\"delta\":"));
+    }
+}
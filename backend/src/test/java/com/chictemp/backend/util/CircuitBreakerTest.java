@@ -0,0 +1,87 @@
+package com.chictemp.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final CircuitBreaker breaker = new CircuitBreaker(3, 30_000, now::get);
+
+    @Test
+    void opensAfterConsecutiveFailuresAndRejectsUntilOpenTimeElapses() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+
+        now.addAndGet(30_000);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+
+    @Test
+    void successResetsTheFailureCount() {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void halfOpenAllowsOneProbeThatClosesOrReopens() {
+        open();
+        now.addAndGet(30_000);
+
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        now.addAndGet(30_000);
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void releasedOrAbandonedProbeDoesNotBlockTheBreaker() {
+        open();
+        now.addAndGet(30_000);
+
+        assertTrue(breaker.tryAcquire());
+        breaker.release();
+        assertTrue(breaker.tryAcquire());
+
+        // 探测调用一直没有结束
+        now.addAndGet(30_000);
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void jitteredBackoffStaysWithinTheExponentialCeiling() {
+        for (int attempt = 0; attempt < 40; attempt++) {
+            long ceiling = Math.min(2_000, 200L << Math.min(attempt, 20));
+            for (int i = 0; i < 100; i++) {
+                long delay = Backoff.jitteredDelay(attempt, 200, 2_000);
+                assertTrue(delay >= 0 && delay <= ceiling, "attempt " + attempt + " delay " + delay);
+            }
+        }
+    }
+
+    private void open() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.chictemp.backend.util;
+
+import com.chictemp.backend.service.SummaryCacheService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 对冲请求：两个延迟不同的模拟端点，主端点慢、备用端点快
+ */
+class DeepSeekClientHedgingTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService summaryExecutor = Executors.newFixedThreadPool(2);
+    private final ExecutorService chunkExecutor = Executors.newFixedThreadPool(2);
+    private MockDeepSeekServer slow;
+    private MockDeepSeekServer fast;
+    private DeepSeekEndpoints endpoints;
+
+    @AfterEach
+    void stop() {
+        summaryExecutor.shutdownNow();
+        chunkExecutor.shutdownNow();
+        slow.close();
+        fast.close();
+    }
+
+    @Test
+    void fasterHedgeWinsAndSlowPrimaryIsCancelledWithoutTrippingItsBreaker() throws Exception {
+        DeepSeekClient client = client(3000, 1.0);
+
+        String summary = client.generateSummaryWithoutFallback("对冲请求测试内容", 30);
+
+        assertTrue(summary.startsWith(MockDeepSeekServer.MARKER), summary);
+        assertEquals(1, slow.getRequests());
+        assertEquals(1, fast.getRequests());
+        assertEquals(1.0, registry.get("deepseek.hedge.wins").tag("winner", "hedge").counter().count());
+        // 落败的主请求被取消，底层HTTP请求中止
+        assertEquals(1, registry.get("deepseek.http.requests").tag("outcome", "cancelled").timer().count());
+        // 取消只归还熔断器名额，不计为失败：阈值为1时计一次失败就会熔断
+        DeepSeekEndpoints.Endpoint primary = endpoints.all().get(0);
+        assertEquals(CircuitBreaker.State.CLOSED, primary.getState());
+        assertTrue(primary.tryAcquire());
+        primary.release();
+    }
+
+    @Test
+    void exhaustedBudgetWaitsForPrimaryWithoutHedging() throws Exception {
+        DeepSeekClient client = client(600, 0);
+
+        String summary = client.generateSummaryWithoutFallback("对冲额度耗尽测试内容", 30);
+
+        assertTrue(summary.startsWith(MockDeepSeekServer.MARKER), summary);
+        assertEquals(1, slow.getRequests());
+        assertEquals(0, fast.getRequests());
+        assertEquals(1.0, registry.get("deepseek.hedge.requests").tag("result", "budget_exhausted").counter().count());
+        assertEquals(0.0, registry.get("deepseek.hedge.requests").tag("result", "hedged").counter().count());
+    }
+
+    @Test
+    void fastPrimaryIsNotHedged() throws Exception {
+        slow = new MockDeepSeekServer(0).latency(20, 20);
+        fast = new MockDeepSeekServer(0).latency(20, 20);
+        DeepSeekClient client = client(slow, fast, 1.0);
+
+        String summary = client.generateSummaryWithoutFallback("不需要对冲的内容", 30);
+
+        assertTrue(summary.startsWith(MockDeepSeekServer.MARKER), summary);
+        assertEquals(0, fast.getRequests());
+        assertEquals(1.0, registry.get("deepseek.hedge.requests").tag("result", "unhedged").counter().count());
+    }
+
+    /**
+     * 主端点固定延迟 primaryLatencyMillis，备用端点50ms，对冲延迟200ms
+     */
+    private DeepSeekClient client(long primaryLatencyMillis, double maxExtraRatio) throws IOException {
+        slow = new MockDeepSeekServer(0).latency(primaryLatencyMillis, primaryLatencyMillis);
+        fast = new MockDeepSeekServer(0).latency(50, 50);
+        return client(slow, fast, maxExtraRatio);
+    }
+
+    private DeepSeekClient client(MockDeepSeekServer primary, MockDeepSeekServer fallback, double maxExtraRatio) {
+        endpoints = new DeepSeekEndpoints(registry, primary.getBaseUrl(), List.of(fallback.getBaseUrl()), 1, 30_000);
+        DeepSeekClient client = new DeepSeekClient();
+        ReflectionTestUtils.setField(client, "apiKey", "key");
+        ReflectionTestUtils.setField(client, "summaryEngine", "api");
+        ReflectionTestUtils.setField(client, "localEngine", new TextRankSummaryEngine());
+        ReflectionTestUtils.setField(client, "summaryCacheService", mock(SummaryCacheService.class));
+        ReflectionTestUtils.setField(client, "summaryExecutor", summaryExecutor);
+        ReflectionTestUtils.setField(client, "summaryChunkExecutor", chunkExecutor);
+        ReflectionTestUtils.setField(client, "waitTimeoutMillis", 10_000L);
+        ReflectionTestUtils.setField(client, "callTimeoutMillis", 10_000L);
+        ReflectionTestUtils.setField(client, "httpClient",
+                new DeepSeekHttpClient(new ObjectMapper(), registry, 1000, 10_000, 8, 1000));
+        ReflectionTestUtils.setField(client, "endpoints", endpoints);
+        ReflectionTestUtils.setField(client, "hedging", new DeepSeekHedging(registry, true, 0.95, 200, 50, maxExtraRatio));
+        ReflectionTestUtils.setField(client, "maxAttempts", 4);
+        ReflectionTestUtils.setField(client, "attemptsPerEndpoint", 2);
+        ReflectionTestUtils.setField(client, "retryBaseDelayMillis", 10L);
+        ReflectionTestUtils.setField(client, "retryMaxDelayMillis", 10L);
+        ReflectionTestUtils.setField(client, "chunkThresholdTokens", 6000);
+        ReflectionTestUtils.setField(client, "chunkMaxTokens", 3000);
+        ReflectionTestUtils.setField(client, "chunkPartialLength", 150);
+        ReflectionTestUtils.setField(client, "meterRegistry", registry);
+        ReflectionTestUtils.invokeMethod(client, "initSingleFlight");
+        return client;
+    }
+}
@@ -0,0 +1,45 @@
+package com.chictemp.backend.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class DeepSeekEndpointsTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final DeepSeekEndpoints endpoints = new DeepSeekEndpoints(registry, "https://primary/",
+            List.of("https://a", "https://primary", " "), 2, 30_000);
+
+    @Test
+    void urlsAreNormalizedAndDeduplicated() {
+        assertEquals(List.of("https://primary/v1/chat/completions", "https://a/v1/chat/completions"), urls());
+    }
+
+    @Test
+    void fasterEndpointIsTriedFirstAndOpenCircuitsLast() {
+        DeepSeekEndpoints.Endpoint primary = endpoints.ordered().get(0);
+        DeepSeekEndpoints.Endpoint fallback = endpoints.ordered().get(1);
+
+        primary.recordSuccess(3_000);
+        fallback.recordSuccess(100);
+        assertEquals(List.of("https://a/v1/chat/completions", "https://primary/v1/chat/completions"), urls());
+
+        fallback.recordFailure(100);
+        fallback.recordFailure(100);
+        assertFalse(fallback.tryAcquire());
+        assertEquals("https://primary/v1/chat/completions", endpoints.ordered().get(0).getUrl());
+        assertEquals(2.0, registry.get("deepseek.endpoint.circuit.state")
+                .tag("endpoint", "https://a/v1/chat/completions").gauge().value());
+        assertEquals(1.0, registry.get("deepseek.endpoint.calls")
+                .tag("endpoint", "https://a/v1/chat/completions").tag("result", "rejected").counter().count());
+    }
+
+    private List<String> urls() {
+        return endpoints.ordered().stream().map(DeepSeekEndpoints.Endpoint::getUrl).toList();
+    }
+}
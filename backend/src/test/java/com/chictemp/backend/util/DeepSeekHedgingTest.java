@@ -0,0 +1,62 @@
+package com.chictemp.backend.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeepSeekHedgingTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final DeepSeekHedging hedging = new DeepSeekHedging(registry, true, 0.95, 3000, 500, 0.1);
+
+    @Test
+    void delayFollowsRecentLatencyPercentileOnceEnoughSamples() {
+        assertEquals(3000, hedging.hedgeDelayMillis());
+
+        for (int i = 1; i <= 100; i++) {
+            hedging.recordLatency(i * 10L);
+        }
+        assertEquals(950, hedging.hedgeDelayMillis());
+
+        for (int i = 0; i < 256; i++) {
+            hedging.recordLatency(10);
+        }
+        assertEquals(500, hedging.hedgeDelayMillis());
+    }
+
+    /**
+     * 对冲请求数不超过总请求数的10%
+     */
+    @Test
+    void extraLoadIsCappedByBudget() {
+        int hedges = 0;
+        for (int i = 0; i < 1000; i++) {
+            hedging.onRequest();
+            if (hedging.tryHedge()) {
+                hedges++;
+            }
+        }
+
+        assertEquals(100, hedges);
+        assertEquals(hedges, registry.get("deepseek.hedge.requests").tag("result", "hedged").counter().count());
+    }
+
+    @Test
+    void idleBudgetIsBounded() {
+        for (int i = 0; i < 10_000; i++) {
+            hedging.onRequest();
+        }
+        int burst = 0;
+        while (hedging.tryHedge()) {
+            burst++;
+        }
+
+        assertTrue(burst <= 10, "burst=" + burst);
+        assertFalse(hedging.tryHedge());
+        assertEquals(1.0, registry.get("deepseek.hedge.requests").tag("result", "budget_exhausted").counter().count());
+    }
+}
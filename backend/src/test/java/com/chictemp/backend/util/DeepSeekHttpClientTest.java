@@ -0,0 +1,274 @@
+package com.chictemp.backend.util;
+
+import com.chictemp.backend.dto.ChatCompletionRequest;
+import com.chictemp.backend.dto.ChatCompletionResponse;
+import com.chictemp.backend.dto.ChatMessage;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 对本地模拟的API服务发送请求
+ */
+class DeepSeekHttpClientTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch releaseSlow = new CountDownLatch(1);
+    private HttpServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/ok", exchange -> {
+            String auth = exchange.getRequestHeaders().getFirst("Authorization");
+            byte[] request = exchange.getRequestBody().readAllBytes();
+            respond(exchange, 200, "{\"auth\":\"" + auth + "\",\"length\":" + request.length
+                    + ",\"choices\":[{\"message\":{\"content\":\"摘要\"}}]}");
+        });
+        server.createContext("/error", exchange -> respond(exchange, 429, "{\"error\":{\"message\":\"rate limited\"}}"));
+        server.createContext("/stream", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            for (String data : List.of("{\"n\":1}", "{\"n\":2}", "[DONE]", "{\"n\":3}")) {
+                exchange.getResponseBody().write((": keep-alive\n\ndata: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+                exchange.getResponseBody().flush();
+            }
+            exchange.close();
+        });
+        server.createContext("/stall", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            exchange.getResponseBody().write("data: {\"n\":1}\n\n".getBytes(StandardCharsets.UTF_8));
+            exchange.getResponseBody().flush();
+            // 发出一条事件后不再发送，也不关闭连接
+            try {
+                releaseSlow.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.createContext("/stall-body", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, 0);
+            exchange.getResponseBody().write("{\"auth\":\"key\",".getBytes(StandardCharsets.UTF_8));
+            exchange.getResponseBody().flush();
+            // 响应头和半个JSON之后不再发送，也不关闭连接
+            try {
+                releaseSlow.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                releaseSlow.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "{}");
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        releaseSlow.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void postsJsonAndParsesResponse() throws Exception {
+        DeepSeekHttpClient client = client(4, 1000);
+
+        Echo response = client.postJson(baseUrl + "/ok", "key", Map.of("model", "deepseek-chat"), Echo.class);
+
+        assertEquals("Bearer key", response.auth());
+        assertTrue(response.length() > 0);
+        assertEquals(1, response.choices().size());
+        assertEquals(1, registry.get("deepseek.http.requests").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void decodesTypedChatCompletionAndSkipsUnknownFields() throws Exception {
+        DeepSeekHttpClient client = client(4, 1000);
+        ChatCompletionRequest request = new ChatCompletionRequest("deepseek-chat",
+                List.of(ChatMessage.user("内容")), 60, 0.5, null);
+
+        ChatCompletionResponse response = client.postJson(baseUrl + "/ok", "key", request,
+                ChatCompletionResponse.class);
+
+        assertEquals("摘要", response.firstContent());
+        assertNull(response.error());
+    }
+
+    @Test
+    void requestRecordOmitsUnsetFields() throws Exception {
+        ChatCompletionRequest request = new ChatCompletionRequest("deepseek-chat",
+                List.of(ChatMessage.system("s")), 60, null, null);
+
+        Map<?, ?> json = new ObjectMapper().readValue(new ObjectMapper().writeValueAsString(request), Map.class);
+
+        assertEquals(Set.of("model", "messages", "max_tokens"), json.keySet());
+        assertEquals(60, json.get("max_tokens"));
+        assertTrue(new ObjectMapper().writeValueAsString(request.streaming()).contains("\"stream\":true"));
+    }
+
+    @Test
+    void streamDeliversEachEventUntilDone() throws Exception {
+        DeepSeekHttpClient client = client(4, 1000);
+        List<String> events = new ArrayList<>();
+
+        client.streamEvents(baseUrl + "/stream", "key", Map.of("stream", true), Duration.ofSeconds(5), events::add);
+
+        assertEquals(List.of("{\"n\":1}", "{\"n\":2}"), events);
+        assertEquals(1, registry.get("deepseek.http.streams").tag("outcome", "success").timer().count());
+        assertEquals(1, registry.get("deepseek.http.streams.first-event").timer().count());
+        assertEquals(0.0, registry.get("deepseek.http.pool.active").gauge().value());
+    }
+
+    @Test
+    void streamDeadlineHoldsWhenServerStopsSending() {
+        DeepSeekHttpClient client = client(4, 1000);
+        List<String> events = new ArrayList<>();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThrows(HttpTimeoutException.class,
+                () -> client.streamEvents(baseUrl + "/stall", "key", Map.of("stream", true),
+                        Duration.ofMillis(300), events::add)));
+
+        assertEquals(List.of("{\"n\":1}"), events);
+        assertEquals(1, registry.get("deepseek.http.streams").tag("outcome", "timeout").timer().count());
+        assertEquals(0.0, registry.get("deepseek.http.pool.active").gauge().value());
+    }
+
+    @Test
+    void nonSuccessStatusIsReportedWithBody() {
+        DeepSeekHttpClient client = client(4, 1000);
+
+        DeepSeekHttpClient.HttpStatusException error = assertThrows(DeepSeekHttpClient.HttpStatusException.class,
+                () -> client.postJson(baseUrl + "/error", "key", Map.of(), Echo.class));
+
+        assertEquals(429, error.getStatusCode());
+        assertTrue(error.getBody().contains("rate limited"));
+        assertEquals(1, registry.get("deepseek.http.requests").tag("outcome", "status_4xx").timer().count());
+    }
+
+    @Test
+    void requestDeadlineBoundsSlowResponses() {
+        DeepSeekHttpClient client = client(4, 1000);
+
+        long start = System.nanoTime();
+        assertThrows(HttpTimeoutException.class,
+                () -> client.postJson(baseUrl + "/slow", "key", Map.of(), Echo.class, Duration.ofMillis(200)));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 5000, "elapsed " + elapsedMillis + "ms");
+        assertEquals(1, registry.get("deepseek.http.requests").tag("outcome", "timeout").timer().count());
+        assertEquals(0.0, registry.get("deepseek.http.pool.active").gauge().value());
+    }
+
+    @Test
+    void requestDeadlineCoversStalledResponseBody() {
+        DeepSeekHttpClient client = client(4, 1000);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThrows(HttpTimeoutException.class,
+                () -> client.postJson(baseUrl + "/stall-body", "key", Map.of(), Echo.class, Duration.ofMillis(300))));
+
+        assertEquals(1, registry.get("deepseek.http.requests").tag("outcome", "timeout").timer().count());
+        assertEquals(0.0, registry.get("deepseek.http.pool.active").gauge().value());
+    }
+
+    @Test
+    void cancellingAsyncRequestReleasesItsSlot() throws Exception {
+        DeepSeekHttpClient client = client(1, 100);
+
+        CompletableFuture<Echo> slow = client.postJsonAsync(baseUrl + "/slow", "key", Map.of(), Echo.class,
+                Duration.ofSeconds(5));
+        assertEquals(1.0, registry.get("deepseek.http.pool.active").gauge().value());
+        slow.cancel(true);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (registry.get("deepseek.http.pool.active").gauge().value() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0.0, registry.get("deepseek.http.pool.active").gauge().value());
+        Echo next = client.postJsonAsync(baseUrl + "/ok", "key", Map.of(), Echo.class, Duration.ofSeconds(5))
+                .get(5, TimeUnit.SECONDS);
+        assertEquals(1, next.choices().size());
+        assertEquals(1, registry.get("deepseek.http.requests").tag("outcome", "cancelled").timer().count());
+    }
+
+    @Test
+    void concurrencyIsBoundedByPoolSize() throws Exception {
+        DeepSeekHttpClient client = client(1, 100);
+        CompletableFuture<Echo> holding = CompletableFuture.supplyAsync(() -> {
+            try {
+                return client.postJson(baseUrl + "/slow", "key", Map.of(), Echo.class);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        long deadline = System.currentTimeMillis() + 5000;
+        while (registry.get("deepseek.http.pool.active").gauge().value() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        IOException rejected = assertThrows(IOException.class, () -> client.postJson(baseUrl + "/ok", "key", Map.of(), Echo.class));
+        releaseSlow.countDown();
+        holding.get(5, TimeUnit.SECONDS);
+
+        assertTrue(rejected.getMessage().contains("并发已满"));
+        assertEquals(1.0, registry.get("deepseek.http.pool.rejected").counter().count());
+        assertEquals(1, client.postJson(baseUrl + "/ok", "key", Map.of(), Echo.class).choices().size());
+    }
+
+    /**
+     * /ok 的响应：回显的认证头和请求体长度
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record Echo(String auth, int length, List<Object> choices) {
+    }
+
+    private DeepSeekHttpClient client(int maxConcurrent, long acquireTimeoutMillis) {
+        return new DeepSeekHttpClient(new ObjectMapper(), registry, 1000, 5000, maxConcurrent, acquireTimeoutMillis);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
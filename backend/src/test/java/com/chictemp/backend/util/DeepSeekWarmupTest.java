@@ -0,0 +1,107 @@
+package com.chictemp.backend.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 预热在后台进行，启动相关的Bean创建不等待网络
+ */
+class DeepSeekWarmupTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private HttpServer server;
+    // 接受连接但从不响应，模拟被防火墙拦截的端点
+    private ServerSocket blackhole;
+
+    @AfterEach
+    void stop() throws IOException {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (blackhole != null) {
+            blackhole.close();
+        }
+    }
+
+    @Test
+    void startReturnsBeforeProbeCompletes() throws Exception {
+        CountDownLatch probed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            probed.countDown();
+            try {
+                // 测试放行之前探测一直得不到响应
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(405, -1);
+            exchange.close();
+        });
+        server.start();
+        DeepSeekEndpoints endpoints = new DeepSeekEndpoints(registry,
+                "http://127.0.0.1:" + server.getAddress().getPort(), List.of(), 3, 30_000);
+
+        CompletableFuture<Void> probing = new DeepSeekWarmup(endpoints, httpClient(), true, 5000).start();
+
+        assertFalse(probing.isDone());
+        assertTrue(probed.await(5, TimeUnit.SECONDS));
+        assertFalse(probing.isDone());
+        release.countDown();
+        probing.get(5, TimeUnit.SECONDS);
+        assertEquals(CircuitBreaker.State.CLOSED, endpoints.all().get(0).getState());
+    }
+
+    @Test
+    void unreachableEndpointOpensCircuit() throws Exception {
+        blackhole = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        String url = "http://127.0.0.1:" + blackhole.getLocalPort();
+        DeepSeekEndpoints endpoints = new DeepSeekEndpoints(registry, url, List.of(), 3, 30_000);
+
+        new DeepSeekWarmup(endpoints, httpClient(), true, 500).start().get(5, TimeUnit.SECONDS);
+
+        assertEquals(CircuitBreaker.State.OPEN, endpoints.all().get(0).getState());
+        assertEquals(1, registry.get("deepseek.http.probes").tag("outcome", "timeout").timer().count());
+    }
+
+    @Test
+    void reachableEndpointKeepsCircuitClosedAndRecordsLatency() throws Exception {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(405, -1);
+            exchange.close();
+        });
+        server.start();
+        DeepSeekEndpoints endpoints = new DeepSeekEndpoints(registry,
+                "http://127.0.0.1:" + server.getAddress().getPort(), List.of(), 3, 30_000);
+
+        new DeepSeekWarmup(endpoints, httpClient(), true, 2000).start().get(5, TimeUnit.SECONDS);
+
+        DeepSeekEndpoints.Endpoint endpoint = endpoints.all().get(0);
+        assertEquals(CircuitBreaker.State.CLOSED, endpoint.getState());
+        assertTrue(endpoint.getLatencyMillis() < 1000);
+        assertTrue(endpoint.tryAcquire());
+    }
+
+    private DeepSeekHttpClient httpClient() {
+        return new DeepSeekHttpClient(new ObjectMapper(), registry, 1000, 5000, 4, 1000);
+    }
+}
@@ -0,0 +1,220 @@
+package com.chictemp.backend.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本地模拟的DeepSeek服务，实现 /v1/chat/completions 的普通和流式（SSE）响应，
+ * 用于在不调用付费API的情况下压测摘要链路
+ *
+ * 响应延迟服从对数正态分布，由中位数和p99确定；按errorRate的概率返回errorStatus错误
+ * 生成的摘要以 MARKER 开头，压测时据此区分API摘要和本地兜底摘要
+ *
+ * 单独运行：以测试classpath运行main方法，例如
+ * --port=18080 --median-ms=800 --p99-ms=5000 --error-rate=0.05
+ * 应用启动时加 --deepseek.api.url=http://127.0.0.1:18080 --deepseek.api.fallback-urls= 指向它，
+ * 压测时再加 --summary.rate-limit.enabled=false 关闭摘要接口限流
+ */
+public class MockDeepSeekServer implements AutoCloseable {
+
+    public static final String MARKER = "模拟摘要";
+
+    // 标准正态分布的99分位数
+    private static final double Z_99 = 2.326;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "mock-deepseek");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final HttpServer server;
+
+    private volatile long medianMillis;
+    private volatile long p99Millis;
+    private volatile double errorRate;
+    private volatile int errorStatus = 503;
+    private volatile int streamChunks = 8;
+
+    public MockDeepSeekServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * 响应延迟的中位数和p99（毫秒），两者相同时为固定延迟
+     */
+    public MockDeepSeekServer latency(long medianMillis, long p99Millis) {
+        this.medianMillis = medianMillis;
+        this.p99Millis = Math.max(medianMillis, p99Millis);
+        return this;
+    }
+
+    public MockDeepSeekServer errors(double errorRate, int errorStatus) {
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        return this;
+    }
+
+    /**
+     * 流式响应拆成的片段数，首包之后的延迟平均分到各片段之间
+     */
+    public MockDeepSeekServer streamChunks(int streamChunks) {
+        this.streamChunks = Math.max(1, streamChunks);
+        return this;
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            // 启动预热的探测请求
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            if (!exchange.getRequestURI().getPath().endsWith("/chat/completions")) {
+                respond(exchange, 404, "{\"error\":{\"message\":\"not found\"}}");
+                return;
+            }
+            long id = requests.incrementAndGet();
+            Map<?, ?> request = objectMapper.readValue(exchange.getRequestBody(), Map.class);
+            long delay = sampleLatency();
+
+            if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+                errors.incrementAndGet();
+                sleep(delay);
+                respond(exchange, errorStatus, "{\"error\":{\"message\":\"mock error\",\"type\":\"server_error\"}}");
+                return;
+            }
+
+            String content = MARKER + "第" + id + "号";
+            if (Boolean.TRUE.equals(request.get("stream"))) {
+                stream(exchange, id, content, delay);
+            } else {
+                sleep(delay);
+                respond(exchange, 200, objectMapper.writeValueAsString(completion(id, request.get("model"), content)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 首包在一半延迟后到达，其余片段在剩下的延迟内陆续发送
+     */
+    private void stream(HttpExchange exchange, long id, String content, long delay)
+            throws IOException, InterruptedException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        sleep(delay / 2);
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream body = exchange.getResponseBody();
+        int size = (content.length() + streamChunks - 1) / streamChunks;
+        for (int start = 0; start < content.length(); start += size) {
+            String piece = content.substring(start, Math.min(content.length(), start + size));
+            Map<String, Object> chunk = Map.of(
+                    "id", "mock-" + id,
+                    "object", "chat.completion.chunk",
+                    "choices", List.of(Map.of("index", 0, "delta", Map.of("content", piece))));
+            body.write(("data: " + objectMapper.writeValueAsString(chunk) + "\n\n").getBytes(StandardCharsets.UTF_8));
+            body.flush();
+            sleep(delay / 2 / streamChunks);
+        }
+        body.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+        body.flush();
+    }
+
+    private static Map<String, Object> completion(long id, Object model, String content) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", "mock-" + id);
+        response.put("object", "chat.completion");
+        response.put("model", model);
+        response.put("choices", List.of(Map.of(
+                "index", 0,
+                "message", Map.of("role", "assistant", "content", content),
+                "finish_reason", "stop")));
+        response.put("usage", Map.of("prompt_tokens", 0, "completion_tokens", content.length()));
+        return response;
+    }
+
+    private long sampleLatency() {
+        if (medianMillis <= 0) {
+            return 0;
+        }
+        double sigma = Math.log((double) p99Millis / medianMillis) / Z_99;
+        return Math.round(medianMillis * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+
+    private static void sleep(long millis) throws InterruptedException {
+        if (millis > 0) {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    /**
+     * 解析 --key=value 形式的命令行参数
+     */
+    static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        MockDeepSeekServer server = new MockDeepSeekServer(Integer.parseInt(options.getOrDefault("port", "18080")))
+                .latency(Long.parseLong(options.getOrDefault("median-ms", "800")),
+                        Long.parseLong(options.getOrDefault("p99-ms", "5000")))
+                .errors(Double.parseDouble(options.getOrDefault("error-rate", "0")),
+                        Integer.parseInt(options.getOrDefault("error-status", "503")))
+                .streamChunks(Integer.parseInt(options.getOrDefault("stream-chunks", "8")));
+        System.out.printf("mock DeepSeek listening on %s%n", server.getBaseUrl());
+        Thread.currentThread().join();
+    }
+}
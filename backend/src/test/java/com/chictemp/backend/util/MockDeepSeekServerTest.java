@@ -0,0 +1,99 @@
+package com.chictemp.backend.util;
+
+import com.chictemp.backend.dto.ChatCompletionRequest;
+import com.chictemp.backend.dto.ChatCompletionResponse;
+import com.chictemp.backend.dto.ChatMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 模拟服务与真实客户端之间的协议兼容性
+ */
+class MockDeepSeekServerTest {
+
+    private MockDeepSeekServer server;
+    private DeepSeekHttpClient client;
+    private String completionsUrl;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = new MockDeepSeekServer(0);
+        client = new DeepSeekHttpClient(new ObjectMapper(), new SimpleMeterRegistry(), 1000, 5000, 4, 1000);
+        completionsUrl = server.getBaseUrl() + "/v1/chat/completions";
+    }
+
+    @AfterEach
+    void stop() {
+        server.close();
+    }
+
+    @Test
+    void answersChatCompletionWithMarkedSummary() throws Exception {
+        ChatCompletionResponse response = client.postJson(completionsUrl, "sk-test", request(false),
+                ChatCompletionResponse.class);
+
+        assertTrue(response.firstContent().startsWith(MockDeepSeekServer.MARKER));
+        assertEquals("stop", response.choices().get(0).finishReason());
+        assertEquals(1, server.getRequests());
+    }
+
+    @Test
+    void streamsDeltasThatReassembleIntoSummary() throws Exception {
+        server.streamChunks(3);
+        StringBuilder summary = new StringBuilder();
+        ChatStreamParser parser = new ChatStreamParser(new ObjectMapper());
+
+        client.streamEvents(completionsUrl, "sk-test", request(true), Duration.ofSeconds(5),
+                chunk -> {
+                    try {
+                        String delta = parser.deltaContent(chunk);
+                        if (delta != null) {
+                            summary.append(delta);
+                        }
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+
+        assertEquals(MockDeepSeekServer.MARKER + "第1号", summary.toString());
+    }
+
+    @Test
+    void failsAtConfiguredErrorRate() {
+        server.errors(1.0, 429);
+
+        DeepSeekHttpClient.HttpStatusException error = assertThrows(DeepSeekHttpClient.HttpStatusException.class,
+                () -> client.postJson(completionsUrl, "sk-test", request(false), ChatCompletionResponse.class));
+
+        assertEquals(429, error.getStatusCode());
+        assertEquals(1, server.getErrors());
+    }
+
+    @Test
+    void latencyFollowsConfiguredMedian() throws Exception {
+        server.latency(50, 50);
+
+        long start = System.nanoTime();
+        client.postJson(completionsUrl, "sk-test", request(false), ChatCompletionResponse.class);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis >= 50, "elapsed=" + elapsedMillis);
+    }
+
+    private static ChatCompletionRequest request(boolean stream) {
+        ChatCompletionRequest request = new ChatCompletionRequest("deepseek-chat",
+                List.of(ChatMessage.user("测试内容")), 60, null, null);
+        return stream ? request.streaming() : request;
+    }
+}
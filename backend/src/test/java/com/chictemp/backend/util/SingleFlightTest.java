@@ -0,0 +1,152 @@
+package com.chictemp.backend.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>(executor, Duration.ofSeconds(5));
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 并发的相同请求只调用一次加载函数
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100})
+    void concurrentCallersShareOneLoad(int callers) throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            futures.add(singleFlight.submit("same", () -> {
+                loads.incrementAndGet();
+                await(release);
+                return "summary";
+            }));
+        }
+        release.countDown();
+        for (CompletableFuture<String> future : futures) {
+            assertEquals("summary", future.get(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void finishedCallIsNotReused() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.submit("key", () -> "v" + loads.incrementAndGet()).get(5, TimeUnit.SECONDS);
+        waitUntilIdle();
+        String second = singleFlight.submit("key", () -> "v" + loads.incrementAndGet()).get(5, TimeUnit.SECONDS);
+
+        assertEquals("v2", second);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void oneCallerCancellingDoesNotAffectOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = singleFlight.submit("key", () -> {
+            await(release);
+            return "summary";
+        });
+        CompletableFuture<String> second = singleFlight.submit("key", () -> "unused");
+
+        first.cancel(false);
+        release.countDown();
+
+        assertEquals("summary", second.get(5, TimeUnit.SECONDS));
+        assertThrows(CancellationException.class, first::join);
+    }
+
+    @Test
+    void cancellingAllCallersInterruptsTheLoad() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<String> first = singleFlight.submit("key", () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "late";
+        });
+        CompletableFuture<String> second = singleFlight.submit("key", () -> "unused");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        first.cancel(false);
+        second.cancel(false);
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        waitUntilIdle();
+    }
+
+    @Test
+    void callTimeoutFailsAllCallersAndFreesTheKey() throws Exception {
+        SingleFlight<String, String> shortCalls = new SingleFlight<>(executor, Duration.ofMillis(50));
+        CompletableFuture<String> slow = shortCalls.submit("key", () -> {
+            await(new CountDownLatch(1));
+            return "never";
+        });
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> slow.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        assertEquals("fresh", shortCalls.submit("key", () -> "fresh").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void loaderExceptionIsPropagated() {
+        CompletableFuture<String> failed = singleFlight.submit("key", () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertFalse(failed.isCancelled());
+    }
+
+    private void waitUntilIdle() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (singleFlight.inFlight() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
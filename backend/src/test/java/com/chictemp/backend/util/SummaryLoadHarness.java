@@ -0,0 +1,199 @@
+package com.chictemp.backend.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按固定速率（开环，不等待上一个请求返回）调用 /api/summary/generate，
+ * 统计吞吐、延迟分位数、错误率和本地兜底摘要比例
+ *
+ * 配合 MockDeepSeekServer 使用：返回内容不以 MockDeepSeekServer.MARKER 开头的视为本地兜底摘要
+ * 每个请求的内容带序号，避免命中摘要缓存
+ *
+ * 运行：以测试classpath运行main方法，例如
+ * --url=http://127.0.0.1:8080/api/summary/generate --rps=20 --duration-s=60 --content-chars=800
+ */
+public class SummaryLoadHarness {
+
+    private static final String FILLER = "分布式系统中的缓存一致性需要在延迟和正确性之间权衡。";
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final URI url;
+    private final int rps;
+    private final Duration duration;
+    private final int contentChars;
+    private final int maxLength;
+    private final Duration requestTimeout;
+
+    public SummaryLoadHarness(URI url, int rps, Duration duration, int contentChars, int maxLength,
+                              Duration requestTimeout) {
+        this.url = url;
+        this.rps = rps;
+        this.duration = duration;
+        this.contentChars = contentChars;
+        this.maxLength = maxLength;
+        this.requestTimeout = requestTimeout;
+    }
+
+    public Report run() throws InterruptedException {
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        List<Long> latencies = new ArrayList<>();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong fallbacks = new AtomicLong();
+        AtomicLong sequence = new AtomicLong();
+        long total = (long) rps * duration.toSeconds();
+        CountDownLatch scheduled = new CountDownLatch((int) total);
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        long start = System.nanoTime();
+        ScheduledFuture<?> ticks = scheduler.scheduleAtFixedRate(() -> {
+            long id = sequence.incrementAndGet();
+            if (id > total) {
+                return;
+            }
+            scheduled.countDown();
+            long sentAt = System.nanoTime();
+            CompletableFuture<Void> call = httpClient.sendAsync(request(id), HttpResponse.BodyHandlers.ofString())
+                    .handle((response, error) -> {
+                        long elapsed = System.nanoTime() - sentAt;
+                        synchronized (latencies) {
+                            latencies.add(elapsed);
+                        }
+                        if (error != null || response.statusCode() / 100 != 2) {
+                            errors.incrementAndGet();
+                        } else if (!response.body().startsWith(MockDeepSeekServer.MARKER)) {
+                            fallbacks.incrementAndGet();
+                        }
+                        return null;
+                    });
+            synchronized (pending) {
+                pending.add(call);
+            }
+        }, 0, TimeUnit.SECONDS.toNanos(1) / rps, TimeUnit.NANOSECONDS);
+
+        // 调度线程偶有延迟时多等一秒，保证按计划发出全部请求
+        try {
+            scheduled.await(duration.toMillis() + 1000, TimeUnit.MILLISECONDS);
+        } finally {
+            ticks.cancel(false);
+            scheduler.shutdown();
+        }
+        scheduler.awaitTermination(1, TimeUnit.SECONDS);
+        CompletableFuture<?>[] calls;
+        synchronized (pending) {
+            calls = pending.toArray(new CompletableFuture<?>[0]);
+        }
+        CompletableFuture.allOf(calls).join();
+        long elapsedNanos = System.nanoTime() - start;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Report(sorted.length, errors.get(), fallbacks.get(), elapsedNanos, sorted);
+    }
+
+    private HttpRequest request(long id) {
+        StringBuilder content = new StringBuilder("第").append(id).append("篇。");
+        while (content.length() < contentChars) {
+            content.append(FILLER);
+        }
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(Map.of("content", content.toString(), "maxLength", maxLength));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return HttpRequest.newBuilder(url)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    /**
+     * 压测结果
+     */
+    public static final class Report {
+        private final long completed;
+        private final long errors;
+        private final long fallbacks;
+        private final long elapsedNanos;
+        private final long[] sortedLatencies;
+
+        Report(long completed, long errors, long fallbacks, long elapsedNanos, long[] sortedLatencies) {
+            this.completed = completed;
+            this.errors = errors;
+            this.fallbacks = fallbacks;
+            this.elapsedNanos = elapsedNanos;
+            this.sortedLatencies = sortedLatencies;
+        }
+
+        public long getCompleted() {
+            return completed;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public double getThroughput() {
+            return completed / (elapsedNanos / 1e9);
+        }
+
+        /**
+         * 兜底率按成功响应计算，错误不计入
+         */
+        public double getFallbackRate() {
+            long succeeded = completed - errors;
+            return succeeded > 0 ? (double) fallbacks / succeeded : 0;
+        }
+
+        public long percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return TimeUnit.NANOSECONDS.toMillis(sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))]);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("completed=%d errors=%d (%.1f%%) fallback=%.1f%% throughput=%.1f/s "
+                            + "p50=%dms p95=%dms p99=%dms max=%dms",
+                    completed, errors, completed > 0 ? 100.0 * errors / completed : 0, 100 * getFallbackRate(),
+                    getThroughput(), percentileMillis(0.50), percentileMillis(0.95), percentileMillis(0.99),
+                    percentileMillis(1.0));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = MockDeepSeekServer.options(args);
+        SummaryLoadHarness harness = new SummaryLoadHarness(
+                URI.create(options.getOrDefault("url", "http://127.0.0.1:8080/api/summary/generate")),
+                Integer.parseInt(options.getOrDefault("rps", "10")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration-s", "30"))),
+                Integer.parseInt(options.getOrDefault("content-chars", "800")),
+                Integer.parseInt(options.getOrDefault("max-length", "30")),
+                Duration.ofMillis(Long.parseLong(options.getOrDefault("timeout-ms", "120000"))));
+        System.out.println(harness.run());
+    }
+}
@@ -0,0 +1,64 @@
+package com.chictemp.backend.util;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 用一个交替返回API摘要和兜底摘要的本地接口检验压测统计
+ */
+class SummaryLoadHarnessTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api/summary/generate", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            int n = calls.incrementAndGet();
+            int status = n % 10 == 0 ? 500 : 200;
+            String body = n % 2 == 0 ? MockDeepSeekServer.MARKER + n : "本地摘要" + n;
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void sendsAtFixedRateAndReportsFallbackRate() throws Exception {
+        URI url = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/api/summary/generate");
+        SummaryLoadHarness harness = new SummaryLoadHarness(url, 40, Duration.ofSeconds(1), 200, 30,
+                Duration.ofSeconds(5));
+
+        SummaryLoadHarness.Report report = harness.run();
+
+        assertEquals(40, report.getCompleted());
+        assertEquals(4, report.getErrors());
+        // 36个成功响应中，奇数序号的20个是兜底摘要
+        assertEquals(20.0 / 36, report.getFallbackRate(), 1e-9);
+        assertTrue(report.percentileMillis(0.5) <= report.percentileMillis(0.99));
+    }
+}
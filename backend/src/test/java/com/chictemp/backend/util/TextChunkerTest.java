@@ -0,0 +1,65 @@
+package com.chictemp.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextChunkerTest {
+
+    @Test
+    void estimatesCjkPerCharAndAsciiPerFourChars() {
+        assertEquals(4, TextChunker.estimateTokens("深度求索"));
+        assertEquals(2, TextChunker.estimateTokens("deepseek"));
+        assertEquals(3, TextChunker.estimateTokens("摘要abcd"));
+        assertEquals(0, TextChunker.estimateTokens(""));
+    }
+
+    @Test
+    void splitsOnSentenceBoundariesKeepingPunctuation() {
+        List<String> sentences = TextChunker.sentences("第一句。第二句！“第三句？”Version 1.5 is out. Next\n最后");
+
+        assertEquals(List.of("第一句。", "第二句！", "“第三句？”", "Version 1.5 is out.", " Next\n", "最后"), sentences);
+    }
+
+    @Test
+    void packsSentencesWithoutExceedingBudgetAndLosesNothing() {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            content.append("这是第").append(i).append("个句子，用来测试分段。");
+        }
+
+        List<String> chunks = TextChunker.chunk(content.toString(), 100);
+
+        assertTrue(chunks.size() > 1);
+        for (String chunk : chunks) {
+            assertTrue(TextChunker.estimateTokens(chunk) <= 100);
+            assertTrue(chunk.endsWith("。"));
+        }
+        assertEquals(content.toString(), String.join("", chunks));
+    }
+
+    @Test
+    void hardSplitsSentenceLongerThanBudget() {
+        String longSentence = "长".repeat(250);
+
+        List<String> chunks = TextChunker.chunk("短句。" + longSentence + "。结尾。", 100);
+
+        assertEquals("短句。", chunks.get(0));
+        assertEquals(100, chunks.get(1).length());
+        assertEquals(100, chunks.get(2).length());
+        assertEquals("长".repeat(50) + "。", chunks.get(3));
+        assertEquals("结尾。", chunks.get(4));
+    }
+
+    @Test
+    void chunkingLargePostKeepsAllText() {
+        String post = "分布式系统中的一致性问题需要仔细权衡。".repeat(20_000);
+
+        List<String> chunks = TextChunker.chunk(post, 3000);
+
+        assertEquals(post.length(), chunks.stream().mapToInt(String::length).sum());
+    }
+}
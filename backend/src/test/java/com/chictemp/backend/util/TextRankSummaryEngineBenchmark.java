@@ -0,0 +1,76 @@
+package com.chictemp.backend.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地摘要引擎的吞吐量，按输入大小（KB）分组；吞吐量除以KB数即每KB吞吐
+ *
+ * 运行：先 mvn test-compile，再以测试classpath运行本类的main方法
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextRankSummaryEngineBenchmark {
+
+    private static final String[] WORDS = {
+            "缓存", "数据库", "一致性", "向量", "检索", "模型", "摘要", "延迟",
+            "吞吐", "索引", "分布式", "事务", "cache", "latency", "index", "query"
+    };
+
+    @Param({"1", "8", "64"})
+    private int kilobytes;
+
+    private final TextRankSummaryEngine engine = new TextRankSummaryEngine();
+
+    private String content;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder();
+        // 中文字符按UTF-8约3字节计
+        while (text.length() * 3 < kilobytes * 1024) {
+            int words = 4 + random.nextInt(8);
+            for (int i = 0; i < words; i++) {
+                text.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            text.append(random.nextBoolean() ? "。" : "！");
+        }
+        content = text.toString();
+    }
+
+    @Benchmark
+    public String summarize() {
+        return engine.summarize(content, 100);
+    }
+
+    @Benchmark
+    public int chunk() {
+        return TextChunker.chunk(content, 3000).size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TextRankSummaryEngineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
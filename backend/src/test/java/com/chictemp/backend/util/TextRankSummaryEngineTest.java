@@ -0,0 +1,96 @@
+package com.chictemp.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextRankSummaryEngineTest {
+
+    private final TextRankSummaryEngine engine = new TextRankSummaryEngine();
+
+    @Test
+    void tokenHashesEncodeTokensExactly() {
+        String text = "DeepSeek发布了新模型，V3 版本支持长文本。";
+        List<Integer> expected = new ArrayList<>();
+        for (String token : BigramTokenizer.tokenize(text)) {
+            expected.add(token.length() == 2 && BigramTokenizer.isCjk(token.charAt(0))
+                    ? token.charAt(0) << 16 | token.charAt(1)
+                    : token.hashCode());
+        }
+        List<Integer> hashes = new ArrayList<>();
+
+        BigramTokenizer.tokenHashes(text, hashes::add);
+
+        assertEquals(expected, hashes);
+    }
+
+    @Test
+    void distinctCjkBigramsNeverShareHash() {
+        // 31 * c1 + c2 下这两个二元组的哈希相同
+        String first = "中文";
+        String second = "" + (char) ('中' + 1) + (char) ('文' - 31);
+        List<Integer> hashes = new ArrayList<>();
+
+        BigramTokenizer.tokenHashes(first + "，" + second, hashes::add);
+
+        assertEquals(2, hashes.size());
+        assertNotEquals(hashes.get(0), hashes.get(1));
+    }
+
+    @Test
+    void picksCentralSentenceOverOffTopicOnes() {
+        String content = "今天天气不错。"
+                + "向量数据库用于存储文本向量并支持相似度检索。"
+                + "相似度检索依赖向量数据库中的文本向量索引。"
+                + "文本向量索引让向量数据库的相似度检索更快。"
+                + "午饭吃了面条。";
+
+        String summary = engine.summarize(content, 25);
+
+        assertTrue(summary.contains("向量数据库"), summary);
+        assertFalse(summary.contains("天气"), summary);
+        assertFalse(summary.contains("面条"), summary);
+        assertTrue(summary.length() <= 25);
+    }
+
+    @Test
+    void keepsSelectedSentencesInOriginalOrder() {
+        String content = "缓存可以降低数据库压力。缓存失效策略决定数据新鲜度。数据库压力过大会拖慢缓存重建。";
+
+        String summary = engine.summarize(content, 100);
+
+        assertEquals(content, summary);
+    }
+
+    @Test
+    void truncatesWhenNoSentenceFits() {
+        String summary = engine.summarize("这是一个没有标点而且非常非常长的句子用来测试截断", 10);
+
+        assertEquals(10, summary.length());
+    }
+
+    @Test
+    void emptyContentGivesEmptySummary() {
+        assertEquals("", engine.summarize("", 30));
+        assertEquals("", engine.summarize("   ", 30));
+    }
+
+    @Test
+    void longPostUsesOverlapScoringWithinLength() {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < TextRankSummaryEngine.MAX_GRAPH_SENTENCES * 2; i++) {
+            content.append("第").append(i).append("段讨论分布式缓存的一致性。");
+        }
+
+        String summary = engine.summarize(content.toString(), 50);
+
+        assertFalse(summary.isEmpty());
+        assertTrue(summary.length() <= 50);
+    }
+}
@@ -0,0 +1,71 @@
+package com.chictemp.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final TokenBucket bucket = new TokenBucket(2, 3, now::get);
+
+    @Test
+    void burstIsAvailableImmediatelyThenRefillsAtRate() {
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(499));
+        assertFalse(bucket.tryAcquire());
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(bucket.tryAcquire());
+    }
+
+    @Test
+    void tokensDoNotAccumulateBeyondBurst() {
+        now.addAndGet(TimeUnit.MINUTES.toNanos(10));
+
+        int acquired = 0;
+        while (bucket.tryAcquire()) {
+            acquired++;
+        }
+        assertEquals(3, acquired);
+    }
+
+    @Test
+    void acquireBlocksUntilATokenIsAvailable() throws InterruptedException {
+        TokenBucket realTime = new TokenBucket(20, 1);
+        realTime.acquire();
+
+        long start = System.nanoTime();
+        realTime.acquire();
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(waitedMillis >= 40, "waited " + waitedMillis + "ms");
+    }
+
+    @Test
+    void tryAcquireOrWaitReportsTimeUntilNextToken() {
+        bucket.tryAcquire();
+        bucket.tryAcquire();
+        bucket.tryAcquire();
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), bucket.tryAcquireOrWait(), 10);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(300), bucket.tryAcquireOrWait(), 10);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(300));
+        assertEquals(0, bucket.tryAcquireOrWait());
+    }
+
+    @Test
+    void invalidRateIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+    }
+}